@@ -0,0 +1,25 @@
+package com.example.studentrecordsystem.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of benchmarks.jar. Runs JMH with the given options and, unless a result format was
+ * chosen on the command line, writes the results as JSON ({@code jmh-result.json}, or the file
+ * given with {@code -rff}) so runs of different releases can be compared.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.add("-rf");
+            options.add("json");
+        }
+        org.openjdk.jmh.Main.main(options.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.studentrecordsystem.benchmark;
+
+import com.example.studentrecordsystem.model.Student;
+import com.example.studentrecordsystem.model.StudentSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * The search field's filter: building the predicate for a query with {@link StudentSearchIndex}
+ * and applying it to every row, as the FilteredList does on each keystroke. The per-row
+ * lower-case-and-contains predicate the field used before the index is measured alongside.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FilterBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    // Short (scanned), common name, ID prefix, major
+    @Param({"li", "smith", "s00012", "physics"})
+    public String query;
+
+    private List<Student> students;
+    private StudentSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        students = SyntheticStudents.generate(rows);
+        index = new StudentSearchIndex();
+        index.rebuild(students);
+    }
+
+    @Benchmark
+    public int indexedFilter() {
+        return count(index.predicateFor(query));
+    }
+
+    @Benchmark
+    public int scanFilter() {
+        String lowerCaseFilter = query.toLowerCase();
+        return count(student ->
+                (student.getStudentId() != null && student.getStudentId().toLowerCase().contains(lowerCaseFilter)) ||
+                (student.getFirstName() != null && student.getFirstName().toLowerCase().contains(lowerCaseFilter)) ||
+                (student.getLastName() != null && student.getLastName().toLowerCase().contains(lowerCaseFilter)) ||
+                (student.getEmail() != null && student.getEmail().toLowerCase().contains(lowerCaseFilter)) ||
+                (student.getMajor() != null && student.getMajor().toLowerCase().contains(lowerCaseFilter)));
+    }
+
+    private int count(Predicate<Student> predicate) {
+        int matches = 0;
+        for (Student student : students) {
+            if (predicate.test(student)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.studentrecordsystem.benchmark;
+
+import com.example.studentrecordsystem.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load generator for the server mode ({@code ServerCommand}): each client sends a request,
+ * waits for the answer and sends the next, for a fixed time. Reports throughput and latency
+ * percentiles per request type.
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.studentrecordsystem.benchmark.HttpLoadGenerator [options]
+ *   --url URL             default: http://127.0.0.1:8080
+ *   --clients N           concurrent clients, default 64
+ *   --seconds N           measured time, default 30 (after a 5 second warm-up)
+ *   --write-percent N     share of requests that are updates, default 10
+ * </pre>
+ * The mix is lookups by ID, page reads and searches, plus updates that write a student back with
+ * the values it already has, so the data is unchanged afterwards. IDs and search terms are taken
+ * from the first pages of the table, so it must not be empty (load it with ImportCommand or a
+ * {@code POST /students/_batch}). Latencies include the client side, so run it on the same machine.
+ */
+public final class HttpLoadGenerator {
+
+    private static final int WARMUP_SECONDS = 5;
+    private static final int SAMPLE_ROWS = 1000;
+    private static final Pattern STUDENT_OBJECT = Pattern.compile("\\{\"student_id\":\"[^}]*}");
+    private static final Pattern STUDENT_ID = Pattern.compile("\"student_id\":\"([^\"]+)\"");
+    private static final Pattern LAST_NAME = Pattern.compile("\"last_name\":\"([^\"]+)\"");
+    private static final Pattern NEXT_CURSOR = Pattern.compile("\"next\":\"([^\"]+)\"");
+
+    private HttpLoadGenerator() {
+    }
+
+    private enum RequestType { GET_BY_ID, PAGE, SEARCH, UPDATE }
+
+    public static void main(String[] args) throws Exception {
+        String url = "http://127.0.0.1:8080";
+        int clients = 64;
+        int seconds = 30;
+        int writePercent = 10;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--url" -> url = args[++i];
+                    case "--clients" -> clients = Integer.parseInt(args[++i]);
+                    case "--seconds" -> seconds = Integer.parseInt(args[++i]);
+                    case "--write-percent" -> writePercent = Integer.parseInt(args[++i]);
+                    default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(e.getMessage() == null ? "Missing option value" : e.getMessage());
+            System.err.println("Usage: HttpLoadGenerator [--url URL] [--clients N] [--seconds N] [--write-percent N]");
+            System.exit(2);
+            return;
+        }
+        String base = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+
+        // One connection per client thread; HTTP/2 would need TLS or an upgrade the server doesn't do
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Sample sample = Sample.load(client, base);
+        if (sample.students.isEmpty()) {
+            System.err.println("No students at " + base + "/students; load some data first.");
+            System.exit(1);
+            return;
+        }
+        System.out.printf("Sampled %,d students; %d clients, %d%% writes, %d s warm-up + %d s%n",
+                sample.students.size(), clients, writePercent, WARMUP_SECONDS, seconds);
+
+        Map<RequestType, LatencyHistogram> histograms = new LinkedHashMap<>();
+        for (RequestType type : RequestType.values()) {
+            histograms.put(type, new LatencyHistogram());
+        }
+        LatencyHistogram overall = new LatencyHistogram();
+        AtomicLong errors = new AtomicLong();
+        long warmupEnd = System.nanoTime() + WARMUP_SECONDS * 1_000_000_000L;
+        long end = warmupEnd + seconds * 1_000_000_000L;
+
+        List<Thread> threads = new ArrayList<>(clients);
+        for (int c = 0; c < clients; c++) {
+            SplittableRandom random = new SplittableRandom(SyntheticStudents.DEFAULT_SEED + c);
+            int writes = writePercent;
+            threads.add(Thread.ofVirtual().name("load-", c).start(() -> {
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    RequestType type = pickType(random, writes);
+                    boolean ok = send(client, sample.request(base, type, random));
+                    long done = System.nanoTime();
+                    if (now >= warmupEnd) {
+                        histograms.get(type).record(done - now);
+                        overall.record(done - now);
+                        if (!ok) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        System.out.printf("%-10s %10s %10s %10s %10s %10s %10s%n",
+                "request", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (Map.Entry<RequestType, LatencyHistogram> entry : histograms.entrySet()) {
+            printRow(entry.getKey().name(), entry.getValue().snapshot(), seconds);
+        }
+        printRow("all", overall.snapshot(), seconds);
+        System.out.printf("%,d errors%n", errors.get());
+    }
+
+    private static RequestType pickType(SplittableRandom random, int writePercent) {
+        if (random.nextInt(100) < writePercent) {
+            return RequestType.UPDATE;
+        }
+        int read = random.nextInt(10);
+        return read < 6 ? RequestType.GET_BY_ID : read < 8 ? RequestType.PAGE : RequestType.SEARCH;
+    }
+
+    private static boolean send(HttpClient client, HttpRequest request) {
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            return response.statusCode() < 400;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void printRow(String name, LatencyHistogram.Snapshot s, int seconds) {
+        System.out.printf("%-10s %,10d %,10.1f %10.3f %10.3f %10.3f %10.3f%n", name, s.count(),
+                (double) s.count() / seconds, s.p50Nanos() / 1e6, s.p90Nanos() / 1e6, s.p99Nanos() / 1e6,
+                s.maxNanos() / 1e6);
+    }
+
+    /**
+     * Students read from the server before the run, as the raw JSON objects the server returned.
+     */
+    private record Sample(List<String> students, List<String> ids, List<String> lastNames, List<String> cursors) {
+
+        static Sample load(HttpClient client, String base) throws IOException, InterruptedException {
+            List<String> students = new ArrayList<>();
+            List<String> ids = new ArrayList<>();
+            List<String> lastNames = new ArrayList<>();
+            List<String> cursors = new ArrayList<>();
+            cursors.add("");
+            String cursor = "";
+            while (students.size() < SAMPLE_ROWS) {
+                HttpRequest request = HttpRequest.newBuilder(
+                        URI.create(base + "/students?limit=100" + (cursor.isEmpty() ? "" : "&after=" + cursor)))
+                        .GET().build();
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    throw new IOException("GET /students answered " + response.statusCode() + ": " + response.body());
+                }
+                String body = response.body();
+                Matcher objects = STUDENT_OBJECT.matcher(body);
+                while (objects.find()) {
+                    String json = objects.group();
+                    Matcher id = STUDENT_ID.matcher(json);
+                    if (id.find()) {
+                        students.add(json);
+                        ids.add(id.group(1));
+                        Matcher lastName = LAST_NAME.matcher(json);
+                        if (lastName.find()) {
+                            lastNames.add(lastName.group(1));
+                        }
+                    }
+                }
+                Matcher next = NEXT_CURSOR.matcher(body);
+                if (!next.find()) {
+                    break;
+                }
+                cursor = next.group(1);
+                cursors.add(cursor);
+            }
+            return new Sample(students, ids, lastNames, cursors);
+        }
+
+        HttpRequest request(String base, RequestType type, SplittableRandom random) {
+            int i = random.nextInt(students.size());
+            return switch (type) {
+                case GET_BY_ID -> HttpRequest.newBuilder(URI.create(base + "/students/" + ids.get(i))).GET().build();
+                case PAGE -> {
+                    String cursor = cursors.get(random.nextInt(cursors.size()));
+                    yield HttpRequest.newBuilder(URI.create(base + "/students?limit=100"
+                            + (cursor.isEmpty() ? "" : "&after=" + cursor))).GET().build();
+                }
+                case SEARCH -> {
+                    String term = lastNames.isEmpty() ? "a" : lastNames.get(random.nextInt(lastNames.size()));
+                    yield HttpRequest.newBuilder(URI.create(base + "/students/_search?limit=20&q="
+                            + URLEncoder.encode(term, StandardCharsets.UTF_8))).GET().build();
+                }
+                case UPDATE -> HttpRequest.newBuilder(URI.create(base + "/students/" + ids.get(i)))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(students.get(i)))
+                        .build();
+            };
+        }
+    }
+}
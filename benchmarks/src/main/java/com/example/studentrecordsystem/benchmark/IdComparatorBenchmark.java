@@ -0,0 +1,79 @@
+package com.example.studentrecordsystem.benchmark;
+
+import com.example.studentrecordsystem.view.LegacyIdComparator;
+import com.example.studentrecordsystem.view.NaturalIdComparator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting shuffled student IDs with the ID column's {@link NaturalIdComparator}, against the
+ * regex-based {@link LegacyIdComparator} it replaced (the same one NaturalIdComparatorTest checks
+ * it against, from the application's test jar) and plain String ordering as a floor. The IDs mix prefixes and unpadded numbers of different lengths
+ * (S7, S12, cs104, ...) so the comparator's digit handling is actually exercised.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class IdComparatorBenchmark {
+
+    private static final String[] PREFIXES = {"S", "s", "CS", "cs", "ENG", "A"};
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(SyntheticStudents.DEFAULT_SEED);
+        ids = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            ids[i] = PREFIXES[random.nextInt(PREFIXES.length)] + (i + 1);
+        }
+        // Fisher-Yates, so the sort starts from a random order
+        for (int i = rows - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            String swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+    }
+
+    @Benchmark
+    public String[] naturalSort() {
+        String[] sorted = ids.clone();
+        Arrays.sort(sorted, NaturalIdComparator.INSTANCE);
+        return sorted;
+    }
+
+    @Benchmark
+    public String[] legacySort() {
+        String[] sorted = ids.clone();
+        Arrays.sort(sorted, LegacyIdComparator.INSTANCE);
+        return sorted;
+    }
+
+    @Benchmark
+    public String[] stringSort() {
+        String[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
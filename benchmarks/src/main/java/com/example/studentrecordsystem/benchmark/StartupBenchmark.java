@@ -0,0 +1,157 @@
+package com.example.studentrecordsystem.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Startup-time benchmark: starts the application several times and reports the time to first
+ * frame and to first data (see {@code StartupTimes}), per launch variant. Not a JMH benchmark, since
+ * each measurement is a fresh JVM.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.example.studentrecordsystem.benchmark.StartupBenchmark [options]
+ *   --runs N               measured starts per variant, default 10 (after one unmeasured start)
+ *   --variant NAME=CMD     a command that starts the application; repeat to compare several.
+ *                          Default: default="mvn -q javafx:run" and cds="mvn -q -Pcds javafx:run"
+ *   --db FILE              database the application opens, default: its own default
+ * </pre>
+ * Run it from the project root with a display. Each start gets {@code -Dsrs.startup.report=true
+ * -Dsrs.startup.exitAfterFirstData=true} through {@code JDK_JAVA_OPTIONS}, so the application
+ * prints its milestones and exits by itself. The times are measured inside the application's JVM
+ * from its own start, so the launcher (Maven, for the default variants) doesn't count. The
+ * unmeasured first start also creates the CDS archive if the cds variant has none yet.
+ */
+public final class StartupBenchmark {
+
+    private static final Pattern MILESTONE = Pattern.compile("^Startup: (.+) at (\\d+) ms$");
+    private static final String FIRST_FRAME = "first frame";
+    private static final String FIRST_DATA = "first data";
+    private static final long RUN_TIMEOUT_SECONDS = 120;
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = 10;
+        String db = null;
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--runs" -> runs = Integer.parseInt(args[++i]);
+                    case "--db" -> db = args[++i];
+                    case "--variant" -> {
+                        String variant = args[++i];
+                        int eq = variant.indexOf('=');
+                        if (eq <= 0 || eq == variant.length() - 1) {
+                            throw new IllegalArgumentException("Expected --variant NAME=COMMAND, got: " + variant);
+                        }
+                        variants.put(variant.substring(0, eq), command(variant.substring(eq + 1)));
+                    }
+                    default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(e.getMessage() == null ? "Missing option value" : e.getMessage());
+            System.err.println("Usage: StartupBenchmark [--runs N] [--variant NAME=COMMAND]... [--db FILE]");
+            System.exit(2);
+            return;
+        }
+        if (variants.isEmpty()) {
+            variants.put("default", command("mvn -q javafx:run"));
+            variants.put("cds", command("mvn -q -Pcds javafx:run"));
+        }
+        String javaOptions = "-Dsrs.startup.report=true -Dsrs.startup.exitAfterFirstData=true"
+                + (db == null ? "" : " -Dsrs.db.file=" + Path.of(db).toAbsolutePath());
+
+        System.out.printf("%-10s %6s %13s %13s %13s %13s %13s %13s%n", "variant", "runs",
+                "frame p50 ms", "frame min", "frame max", "data p50 ms", "data min", "data max");
+        for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+            start(variant.getValue(), javaOptions); // Warm-up: file cache, and the CDS archive if missing
+            List<Long> frames = new ArrayList<>();
+            List<Long> data = new ArrayList<>();
+            for (int run = 0; run < runs; run++) {
+                Map<String, Long> milestones = start(variant.getValue(), javaOptions);
+                if (milestones.containsKey(FIRST_FRAME) && milestones.containsKey(FIRST_DATA)) {
+                    frames.add(milestones.get(FIRST_FRAME));
+                    data.add(milestones.get(FIRST_DATA));
+                } else {
+                    System.err.println(variant.getKey() + ": run " + (run + 1) + " reported " + milestones);
+                }
+            }
+            printRow(variant.getKey(), frames, data);
+        }
+    }
+
+    private static List<String> command(String line) {
+        List<String> command = new ArrayList<>(Arrays.asList(line.trim().split("\\s+")));
+        if (System.getProperty("os.name", "").startsWith("Windows")) {
+            command.addAll(0, List.of("cmd", "/c")); // mvn is a batch file there
+        }
+        return command;
+    }
+
+    /**
+     * Starts the application once and waits for it to exit.
+     * @return The milestones it printed, in milliseconds since its JVM started.
+     */
+    private static Map<String, Long> start(List<String> command, String javaOptions)
+            throws IOException, InterruptedException {
+        ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true);
+        String inherited = builder.environment().get("JDK_JAVA_OPTIONS");
+        builder.environment().put("JDK_JAVA_OPTIONS",
+                inherited == null || inherited.isBlank() ? javaOptions : inherited + " " + javaOptions);
+        Process process = builder.start();
+        Map<String, Long> milestones = new ConcurrentHashMap<>();
+        // Read on another thread so a start that hangs can still be timed out below
+        Thread reader = Thread.ofVirtual().start(() -> {
+            try (BufferedReader in = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    Matcher matcher = MILESTONE.matcher(line.trim());
+                    if (matcher.matches()) {
+                        milestones.put(matcher.group(1), Long.parseLong(matcher.group(2)));
+                    }
+                }
+            } catch (IOException e) {
+                // The process was killed; keep what it printed
+            }
+        });
+        if (!process.waitFor(RUN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            System.err.println("Start did not exit within " + RUN_TIMEOUT_SECONDS + " s: " + String.join(" ", command));
+            process.descendants().forEach(ProcessHandle::destroyForcibly); // The JVM Maven forked, too
+            process.destroyForcibly();
+        }
+        reader.join();
+        return milestones;
+    }
+
+    private static void printRow(String name, List<Long> frames, List<Long> data) {
+        if (frames.isEmpty()) {
+            System.out.printf("%-10s %6d %13s%n", name, 0, "no complete runs");
+            return;
+        }
+        frames.sort(null);
+        data.sort(null);
+        System.out.printf("%-10s %6d %13d %13d %13d %13d %13d %13d%n", name, frames.size(),
+                median(frames), frames.get(0), frames.get(frames.size() - 1),
+                median(data), data.get(0), data.get(data.size() - 1));
+    }
+
+    private static long median(List<Long> sorted) {
+        int n = sorted.size();
+        return n % 2 == 1 ? sorted.get(n / 2) : (sorted.get(n / 2 - 1) + sorted.get(n / 2)) / 2;
+    }
+}
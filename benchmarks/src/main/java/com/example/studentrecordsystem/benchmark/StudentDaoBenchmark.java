@@ -0,0 +1,229 @@
+package com.example.studentrecordsystem.benchmark;
+
+import com.example.studentrecordsystem.dao.BatchRowResult;
+import com.example.studentrecordsystem.dao.StudentDAO;
+import com.example.studentrecordsystem.dao.StudentPageKey;
+import com.example.studentrecordsystem.dao.StudentStatistics;
+import com.example.studentrecordsystem.dao.StudentStatisticsDAO;
+import com.example.studentrecordsystem.model.Student;
+import com.example.studentrecordsystem.util.DatabaseUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every {@link StudentDAO} operation against a table of 1k, 100k and 1M synthetic students.
+ * <p>
+ * Each trial runs in its own forked JVM on a private copy of a pre-built database, so the write
+ * benchmarks can't affect other trials. The pre-built databases are generated once (through the
+ * DAO, with the application's schema and migrations) and kept in {@code srs.bench.dataDir}
+ * (default {@code target/bench-data}); delete them after a schema change.
+ * The write benchmarks leave the row count unchanged: updates rewrite existing rows and the
+ * insert benchmark deletes what it adds.
+ * <p>
+ * Other database settings go through the usual properties, e.g.
+ * {@code -jvmArgsAppend -Dsrs.pragma.profile=default} to compare against the non-WAL PRAGMAs.
+ * Don't run with {@code -f 0}: the database file is fixed when {@link DatabaseUtil} is first loaded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StudentDaoBenchmark {
+
+    private static final Path DATA_DIR = Path.of(System.getProperty("srs.bench.dataDir", "target/bench-data"));
+    // Generated and inserted this many at a time when building a database
+    private static final int GENERATE_CHUNK = 50_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int LOOKUP_BATCH = 100;
+    private static final int WRITE_BATCH = 500;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private Path databaseFile;
+    private StudentDAO dao;
+    private SplittableRandom random;
+    private StudentPageKey middleKey;
+    private int nextNewIndex;
+    private List<Student> upsertBatch;
+
+    // --- Fixture ---
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Files.createDirectories(DATA_DIR);
+        Path template = DATA_DIR.resolve("students-" + rows + ".db");
+        databaseFile = Files.createTempFile(DATA_DIR, "trial-" + rows + "-", ".db");
+        boolean haveTemplate = Files.exists(template);
+        if (haveTemplate) {
+            Files.copy(template, databaseFile, StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(databaseFile); // Let SQLite create it
+        }
+        System.setProperty("srs.db.file", databaseFile.toString());
+
+        DatabaseUtil.initializeDatabase();
+        dao = new StudentDAO();
+        if (!haveTemplate) {
+            populate();
+            // Closing the pool checkpoints the WAL, so the file alone is the complete database
+            DatabaseUtil.shutdown();
+            Files.copy(databaseFile, template, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (dao.countStudents() != rows) {
+            throw new IllegalStateException(template + " doesn't have " + rows + " rows; delete it to rebuild");
+        }
+
+        random = new SplittableRandom(SyntheticStudents.DEFAULT_SEED);
+        middleKey = dao.getPageBoundary(null, rows / 2);
+        nextNewIndex = rows;
+    }
+
+    private void populate() {
+        SplittableRandom generator = new SplittableRandom(SyntheticStudents.DEFAULT_SEED);
+        for (int start = 0; start < rows; start += GENERATE_CHUNK) {
+            int end = Math.min(rows, start + GENERATE_CHUNK);
+            List<Student> chunk = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                chunk.add(SyntheticStudents.next(generator, i));
+            }
+            for (BatchRowResult result : dao.addStudents(chunk, 5_000, false)) {
+                if (!result.isWritten()) {
+                    throw new IllegalStateException("Generated row rejected: " + result);
+                }
+            }
+        }
+        System.out.println("Generated " + rows + " students in " + databaseFile);
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareBatch() {
+        // A run of existing rows with new values, so each upsert is all updates
+        int start = rows <= WRITE_BATCH ? 0 : random.nextInt(rows - WRITE_BATCH);
+        upsertBatch = new ArrayList<>(WRITE_BATCH);
+        for (int i = start; i < Math.min(rows, start + WRITE_BATCH); i++) {
+            upsertBatch.add(SyntheticStudents.next(random, i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        DatabaseUtil.shutdown();
+        Files.deleteIfExists(databaseFile);
+        Files.deleteIfExists(Path.of(databaseFile + "-wal"));
+        Files.deleteIfExists(Path.of(databaseFile + "-shm"));
+    }
+
+    private String randomId() {
+        return SyntheticStudents.studentId(random.nextInt(rows));
+    }
+
+    // --- Reads ---
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Student> getAllStudents() {
+        return dao.getAllStudents();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long streamStudents(Blackhole blackhole) throws SQLException, IOException {
+        return dao.streamStudents(1_000, (studentId, firstName, lastName, email, major) -> {
+            blackhole.consume(studentId);
+            blackhole.consume(email);
+        });
+    }
+
+    @Benchmark
+    public int countStudents() {
+        return dao.countStudents();
+    }
+
+    @Benchmark
+    public List<Student> firstPage() {
+        return dao.getStudentsPage(null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Student> middlePage() {
+        return dao.getStudentsPage(middleKey, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public StudentPageKey pageBoundaryToMiddle() {
+        return dao.getPageBoundary(null, rows / 2);
+    }
+
+    @Benchmark
+    public List<Student> search() {
+        return dao.search("smith", PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Student findById() {
+        return dao.findById(randomId());
+    }
+
+    @Benchmark
+    public Map<String, Student> findByIds() {
+        List<String> ids = new ArrayList<>(LOOKUP_BATCH);
+        for (int i = 0; i < LOOKUP_BATCH; i++) {
+            ids.add(randomId());
+        }
+        return dao.findByIds(ids);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public StudentStatistics loadStatistics() throws SQLException {
+        // A new instance has nothing cached, so this always runs the GROUP BY queries
+        return new StudentStatisticsDAO().getStatistics();
+    }
+
+    // --- Writes ---
+
+    @Benchmark
+    public Student updateStudent() {
+        int index = random.nextInt(rows);
+        return dao.updateStudentReturning(SyntheticStudents.next(random, index));
+    }
+
+    @Benchmark
+    public Student addAndDeleteStudent() {
+        int index = nextNewIndex++;
+        dao.addStudentReturning(SyntheticStudents.next(random, index));
+        return dao.deleteStudentReturning(SyntheticStudents.studentId(index));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<BatchRowResult> upsertStudents() {
+        return dao.upsertStudents(upsertBatch);
+    }
+}
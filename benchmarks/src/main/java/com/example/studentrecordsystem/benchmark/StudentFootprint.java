@@ -0,0 +1,69 @@
+package com.example.studentrecordsystem.benchmark;
+
+import com.example.studentrecordsystem.model.StringDictionary;
+import com.example.studentrecordsystem.model.Student;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Heap footprint of loaded students, measured with JOL: the Student layout, and the bytes per row
+ * of a list of students as read from the database (every value its own String, as JDBC returns
+ * them), with a String per row for the major and with the majors shared through
+ * {@link StringDictionary#MAJORS} as StudentDAO loads them, and then with their JavaFX properties
+ * created. Not a JMH benchmark.
+ * <pre>
+ * java -Xmx4g -Djdk.attach.allowAttachSelf -cp benchmarks/target/benchmarks.jar \
+ *     com.example.studentrecordsystem.benchmark.StudentFootprint [rows, default 1000000]
+ * </pre>
+ */
+public final class StudentFootprint {
+
+    private StudentFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.println(ClassLayout.parseClass(Student.class).toPrintable());
+
+        List<Student> students = load(rows, false);
+        report("major per row", students, rows);
+        students = null; // Only one list at a time has to fit in the heap
+        students = load(rows, true);
+        report("as loaded", students, rows);
+        for (Student student : students) {
+            student.studentIdProperty();
+            student.firstNameProperty();
+            student.lastNameProperty();
+            student.emailProperty();
+            student.majorProperty();
+        }
+        report("all properties created", students, rows);
+    }
+
+    private static List<Student> load(int rows, boolean shareMajors) {
+        List<Student> students = new ArrayList<>(rows);
+        for (Student generated : SyntheticStudents.generate(rows)) {
+            String major = copy(generated.getMajor());
+            students.add(new Student(copy(generated.getStudentId()), copy(generated.getFirstName()),
+                    copy(generated.getLastName()), copy(generated.getEmail()),
+                    shareMajors ? StringDictionary.MAJORS.canonical(major) : major));
+        }
+        return students;
+    }
+
+    // A String of its own, like every value JDBC reads
+    private static String copy(String value) {
+        return value == null ? null : new String(value.toCharArray());
+    }
+
+    private static void report(String label, List<Student> students, int rows) {
+        GraphLayout layout = GraphLayout.parseInstance(students.toArray());
+        long total = layout.totalSize();
+        long strings = layout.getClassSizes().count(String.class) + layout.getClassSizes().count(byte[].class);
+        System.out.printf("%-24s %,8d bytes/row (%,d without the strings)%n",
+                label + ":", total / rows, (total - strings) / rows);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.studentrecordsystem.benchmark;
+
+import com.example.studentrecordsystem.model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one {@link Student}: constructing it as the DAO does for every row read, and then
+ * asking for its properties as the table cells do when the row is shown.
+ * Run with {@code -prof gc} to see the bytes allocated per student.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StudentModelBenchmark {
+
+    // Enough distinct values that the JIT can't treat them as constants
+    private static final int SAMPLES = 1024;
+
+    private String[][] values;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Student> students = SyntheticStudents.generate(SAMPLES);
+        values = new String[SAMPLES][];
+        for (int i = 0; i < SAMPLES; i++) {
+            Student s = students.get(i);
+            values[i] = new String[]{s.getStudentId(), s.getFirstName(), s.getLastName(), s.getEmail(), s.getMajor()};
+        }
+    }
+
+    private String[] nextValues() {
+        String[] row = values[next];
+        next = (next + 1) & (SAMPLES - 1);
+        return row;
+    }
+
+    @Benchmark
+    public Student construct() {
+        String[] row = nextValues();
+        return new Student(row[0], row[1], row[2], row[3], row[4]);
+    }
+
+    @Benchmark
+    public void constructAndShow(Blackhole blackhole) {
+        String[] row = nextValues();
+        Student student = new Student(row[0], row[1], row[2], row[3], row[4]);
+        blackhole.consume(student.studentIdProperty());
+        blackhole.consume(student.firstNameProperty());
+        blackhole.consume(student.lastNameProperty());
+        blackhole.consume(student.emailProperty());
+        blackhole.consume(student.majorProperty());
+    }
+}
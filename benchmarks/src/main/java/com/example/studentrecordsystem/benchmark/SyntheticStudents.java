@@ -0,0 +1,81 @@
+package com.example.studentrecordsystem.benchmark;
+
+import com.example.studentrecordsystem.model.Student;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Generates repeatable, valid student records for the benchmarks.
+ * <p>
+ * The same seed and count always give the same students. Names, majors and email domains come
+ * from small pools so filters, GROUP BY queries and the search index see realistic repetition,
+ * and a share of the rows leave the optional email and major empty.
+ */
+public final class SyntheticStudents {
+
+    public static final long DEFAULT_SEED = 20240501L;
+
+    private static final String[] FIRST_NAMES = {
+            "Alice", "Bob", "Carlos", "Diana", "Ethan", "Fatima", "George", "Hannah", "Ivan", "Julia",
+            "Kenji", "Laura", "Mohammed", "Nora", "Oliver", "Priya", "Quinn", "Rosa", "Samuel", "Tara"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Garcia", "Nguyen", "Brown", "Patel", "Miller", "Wilson", "Kim", "Lopez",
+            "O'Brien", "Anderson", "Thomas", "Martin", "Lee", "Walker", "Young", "Allen", "Wright", "Scott"};
+    private static final String[] MAJORS = {
+            "Computer Science", "Mathematics", "Physics", "Biology", "Chemistry",
+            "History", "Economics", "Psychology", "Engineering", "Philosophy"};
+    private static final String[] EMAIL_DOMAINS = {
+            "example.com", "university.edu", "mail.example.org", "students.example.net"};
+
+    // Percent of rows without an email / without a major
+    private static final int MISSING_EMAIL_PERCENT = 10;
+    private static final int MISSING_MAJOR_PERCENT = 5;
+
+    private SyntheticStudents() {
+    }
+
+    /**
+     * @return The ID of the {@code index}-th generated student (S0000001, S0000002, ...).
+     */
+    public static String studentId(int index) {
+        return String.format(Locale.ROOT, "S%07d", index + 1);
+    }
+
+    /**
+     * Generates {@code count} students with the default seed.
+     */
+    public static List<Student> generate(int count) {
+        return generate(count, DEFAULT_SEED);
+    }
+
+    /**
+     * Generates {@code count} students; student i gets the ID {@link #studentId(int) studentId(i)}.
+     */
+    public static List<Student> generate(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            students.add(next(random, i));
+        }
+        return students;
+    }
+
+    /**
+     * Generates one student for the given index, drawing its values from {@code random}.
+     */
+    public static Student next(SplittableRandom random, int index) {
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String email = null;
+        if (random.nextInt(100) >= MISSING_EMAIL_PERCENT) {
+            // The index keeps emails unique, as the partial unique index requires
+            email = (firstName + "." + lastName).toLowerCase(Locale.ROOT).replace("'", "") + index
+                    + "@" + EMAIL_DOMAINS[random.nextInt(EMAIL_DOMAINS.length)];
+        }
+        String major = random.nextInt(100) >= MISSING_MAJOR_PERCENT ? MAJORS[random.nextInt(MAJORS.length)] : null;
+        return new Student(studentId(index), firstName, lastName, email, major);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.studentrecordsystem.benchmark;
+
+import com.example.studentrecordsystem.model.Student;
+import com.example.studentrecordsystem.model.StudentValidator;
+import com.example.studentrecordsystem.model.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validating a whole batch, as the importer and the batch writes do: {@link StudentValidator#validateAll}
+ * (parallel from {@code srs.validation.parallelThreshold} records) against checking one record
+ * after another. At 1M rows the score is the time to validate a million records.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ValidationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private List<Student> students;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        students = SyntheticStudents.generate(rows);
+    }
+
+    @Benchmark
+    public List<ValidationResult> validateAll() {
+        return StudentValidator.validateAll(students, true);
+    }
+
+    @Benchmark
+    public int validateSequentially() {
+        int invalid = 0;
+        for (Student student : students) {
+            if (!StudentValidator.validate(student).isValid()) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+}
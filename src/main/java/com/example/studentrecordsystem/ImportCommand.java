@@ -0,0 +1,97 @@
+package com.example.studentrecordsystem;
+
+import com.example.studentrecordsystem.dao.DaoExecutor;
+import com.example.studentrecordsystem.dao.StudentDAO;
+import com.example.studentrecordsystem.io.ImportFormat;
+import com.example.studentrecordsystem.io.ImportReport;
+import com.example.studentrecordsystem.io.StudentImporter;
+import com.example.studentrecordsystem.util.DatabaseUtil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Headless bulk import, for loading large files without the UI:
+ * <pre>
+ * java -cp ... com.example.studentrecordsystem.ImportCommand [options] FILE
+ *   --upsert          overwrite existing students instead of rejecting them as duplicates
+ *   --format csv|json default: from the file extension
+ *   --rejects FILE    default: FILE.rejects.csv
+ *   --batch-size N    rows per transaction
+ *   --validators N    validation threads
+ * </pre>
+ * Exits with 0 on success, 1 if the import failed, 2 on bad arguments. Each batch is its own
+ * transaction, so stopping the process keeps the batches committed so far.
+ */
+public class ImportCommand {
+
+    public static void main(String[] args) {
+        boolean upsert = false;
+        ImportFormat format = null;
+        Path rejects = null;
+        int batchSize = StudentImporter.DEFAULT_BATCH_SIZE;
+        int validators = StudentImporter.DEFAULT_VALIDATOR_THREADS;
+        Path file = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--upsert" -> upsert = true;
+                    case "--format" -> format = ImportFormat.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                    case "--rejects" -> rejects = Path.of(args[++i]);
+                    case "--batch-size" -> batchSize = Integer.parseInt(args[++i]);
+                    case "--validators" -> validators = Integer.parseInt(args[++i]);
+                    default -> {
+                        if (args[i].startsWith("--") || file != null) {
+                            throw new IllegalArgumentException("Unknown argument: " + args[i]);
+                        }
+                        file = Path.of(args[i]);
+                    }
+                }
+            }
+            if (file == null) {
+                throw new IllegalArgumentException("No input file given");
+            }
+            if (!Files.isReadable(file)) {
+                throw new IllegalArgumentException("Cannot read " + file);
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(e.getMessage() == null ? "Missing option value" : e.getMessage());
+            System.err.println("Usage: ImportCommand [--upsert] [--format csv|json] [--rejects FILE] "
+                    + "[--batch-size N] [--validators N] FILE");
+            System.exit(2);
+            return;
+        }
+        if (format == null) {
+            format = ImportFormat.fromFileName(file);
+        }
+        if (rejects == null) {
+            rejects = file.resolveSibling(file.getFileName() + ".rejects.csv");
+        }
+
+        int exitCode = 0;
+        DatabaseUtil.initializeDatabase();
+        StudentImporter importer = new StudentImporter(new StudentDAO(), upsert, batchSize, validators,
+                StudentImporter.DEFAULT_QUEUE_CAPACITY);
+        long[] lastReport = {0};
+        try {
+            ImportReport report = importer.importFile(file, format, rejects, (bytesRead, totalBytes, rowsRead) -> {
+                long now = System.nanoTime();
+                if (now - lastReport[0] >= 1_000_000_000L) {
+                    lastReport[0] = now;
+                    System.out.printf("%,d rows read (%d%%)%n", rowsRead,
+                            totalBytes == 0 ? 100 : bytesRead * 100 / totalBytes);
+                }
+            });
+            System.out.println(report.summary());
+        } catch (IOException e) {
+            System.err.println("Import failed: " + e.getMessage());
+            exitCode = 1;
+        } finally {
+            DaoExecutor.shutdown();
+            DatabaseUtil.shutdown();
+        }
+        System.exit(exitCode);
+    }
+}
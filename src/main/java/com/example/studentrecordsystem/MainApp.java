@@ -1,7 +1,12 @@
 package com.example.studentrecordsystem;
 
+import com.example.studentrecordsystem.dao.DaoExecutor;
+import com.example.studentrecordsystem.dao.StudentDAO;
+import com.example.studentrecordsystem.metrics.Metrics;
+import com.example.studentrecordsystem.metrics.StartupTimes;
 import com.example.studentrecordsystem.util.DatabaseUtil;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.layout.BorderPane;
@@ -19,12 +24,26 @@ public class MainApp extends Application {
         this.primaryStage = primaryStage;
         this.primaryStage.setTitle("Student Record System");
 
-        // Initialize Database (create table if needed)
-        DatabaseUtil.initializeDatabase();
+        // Initialize Database (create table if needed) in the background while the window comes up;
+        // the controller's first load waits for it inside DatabaseUtil.getConnection
+        DatabaseUtil.initializeDatabaseAsync(DaoExecutor.get())
+                .thenRun(() -> StartupTimes.mark(StartupTimes.DATABASE_READY));
 
         initRootLayout();
     }
 
+    @Override
+    public void stop() {
+        // Let running DAO calls finish, then release pooled database connections on exit
+        DaoExecutor.shutdown();
+        System.out.println("Student lookups: " + StudentDAO.getCacheStats());
+        String operations = Metrics.report();
+        if (!operations.isEmpty()) {
+            System.out.print("Operation latencies:" + System.lineSeparator() + operations);
+        }
+        DatabaseUtil.shutdown();
+    }
+
     /**
      * Initializes the root layout.
      */
@@ -39,6 +58,14 @@ public class MainApp extends Application {
             // Show the scene containing the root layout.
             Scene scene = new Scene(rootLayout);
             primaryStage.setScene(scene);
+            scene.addPostLayoutPulseListener(new Runnable() {
+                @Override
+                public void run() {
+                    // Runs after the first pulse's layout, just before it is drawn
+                    StartupTimes.mark(StartupTimes.FIRST_FRAME);
+                    Platform.runLater(() -> scene.removePostLayoutPulseListener(this)); // Not during the pulse
+                }
+            });
 
             // Give the controller access to the main app if needed (optional)
             // MainViewController controller = loader.getController();
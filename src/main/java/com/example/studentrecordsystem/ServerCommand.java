@@ -0,0 +1,114 @@
+package com.example.studentrecordsystem;
+
+import com.example.studentrecordsystem.dao.DaoExecutor;
+import com.example.studentrecordsystem.dao.StudentDAO;
+import com.example.studentrecordsystem.metrics.Metrics;
+import com.example.studentrecordsystem.metrics.OperationStats;
+import com.example.studentrecordsystem.server.StudentHttpServer;
+import com.example.studentrecordsystem.util.DatabaseUtil;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless server mode: serves the student records as JSON over HTTP (see {@link StudentHttpServer}).
+ * <pre>
+ * java -cp ... com.example.studentrecordsystem.ServerCommand [options]
+ *   --port N          default: srs.server.port, or 8080
+ *   --bind ADDRESS    default: 127.0.0.1 (only this machine can connect)
+ * </pre>
+ * Runs until stopped (Ctrl+C). Every {@code srs.server.reportSeconds} seconds (default 10, 0 for
+ * never) it prints the request rate and p99 latency of each endpoint; the full metrics are printed
+ * on shutdown. Exits with 2 on bad arguments, 1 if the port can't be opened.
+ */
+public class ServerCommand {
+
+    private static final int REPORT_SECONDS = Integer.getInteger("srs.server.reportSeconds", 10);
+
+    public static void main(String[] args) {
+        int port = StudentHttpServer.DEFAULT_PORT;
+        String bind = "127.0.0.1";
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--port" -> port = Integer.parseInt(args[++i]);
+                    case "--bind" -> bind = args[++i];
+                    default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(e.getMessage() == null ? "Missing option value" : e.getMessage());
+            System.err.println("Usage: ServerCommand [--port N] [--bind ADDRESS]");
+            System.exit(2);
+            return;
+        }
+
+        DatabaseUtil.initializeDatabase();
+        StudentHttpServer server;
+        try {
+            server = new StudentHttpServer(new StudentDAO(), new InetSocketAddress(bind, port));
+        } catch (IOException e) {
+            System.err.println("Could not listen on " + bind + ":" + port + ": " + e.getMessage());
+            DaoExecutor.shutdown();
+            DatabaseUtil.shutdown();
+            System.exit(1);
+            return;
+        }
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "server-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (REPORT_SECONDS > 0) {
+            long[] lastCalls = {0};
+            reporter.scheduleAtFixedRate(() -> System.out.println(report(lastCalls)),
+                    REPORT_SECONDS, REPORT_SECONDS, TimeUnit.SECONDS);
+        }
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            System.out.println("Stopping server...");
+            reporter.shutdownNow();
+            server.stop(2);
+            DaoExecutor.shutdown();
+            DatabaseUtil.shutdown();
+            System.out.println(Metrics.report());
+            stopped.countDown();
+        }, "server-shutdown"));
+
+        server.start();
+        InetSocketAddress address = server.getAddress();
+        System.out.println("Serving student records on http://" + address.getHostString() + ":" + address.getPort()
+                + "/students (Ctrl+C to stop)");
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * One line per endpoint that has been called: requests per second since the last report, and the
+     * p99 latency since startup.
+     */
+    private static String report(long[] lastCalls) {
+        StringBuilder sb = new StringBuilder();
+        long totalCalls = 0;
+        for (OperationStats stats : Metrics.snapshot()) {
+            if (!stats.name().startsWith("Http.") || stats.calls() == 0) {
+                continue;
+            }
+            totalCalls += stats.calls();
+            sb.append(String.format("%n  %-20s %,10d calls  p99 %8.3f ms  errors %d",
+                    stats.name(), stats.calls(), stats.p99Millis(), stats.errors()));
+        }
+        double perSecond = (double) (totalCalls - lastCalls[0]) / REPORT_SECONDS;
+        lastCalls[0] = totalCalls;
+        return String.format("%,.1f requests/s over the last %d s", perSecond, REPORT_SECONDS) + sb;
+    }
+}
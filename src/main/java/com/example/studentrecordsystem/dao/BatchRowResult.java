@@ -0,0 +1,72 @@
+package com.example.studentrecordsystem.dao;
+
+/**
+ * The outcome of a single row in a batch write (see {@link StudentDAO#addStudents} and
+ * {@link StudentDAO#upsertStudents}). Results are returned in the same order as the input.
+ */
+public class BatchRowResult {
+
+    public enum Outcome {
+        /** The row was inserted as a new student. */
+        INSERTED,
+        /** An existing student with the same ID was overwritten (upsert only). */
+        UPDATED,
+        /** A student with the same ID already exists, the row was skipped (insert only). */
+        DUPLICATE,
+        /** The row is missing a required field and was never sent to the database. */
+        INVALID,
+        /** The batch failed and was rolled back; nothing from it was written. */
+        FAILED
+    }
+
+    private final int index;
+    private final String studentId;
+    private final Outcome outcome;
+    private final String message;
+
+    public BatchRowResult(int index, String studentId, Outcome outcome, String message) {
+        this.index = index;
+        this.studentId = studentId;
+        this.outcome = outcome;
+        this.message = message;
+    }
+
+    /**
+     * @return The position of the row in the input collection.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * @return A short explanation for rows that were not written, otherwise null.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return true if the row ended up in the database (inserted or updated).
+     */
+    public boolean isWritten() {
+        return outcome == Outcome.INSERTED || outcome == Outcome.UPDATED;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchRowResult{" +
+                "index=" + index +
+                ", studentId=" + studentId +
+                ", outcome=" + outcome +
+                (message != null ? ", message=" + message : "") +
+                '}';
+    }
+}
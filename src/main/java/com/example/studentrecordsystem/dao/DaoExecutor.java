@@ -0,0 +1,81 @@
+package com.example.studentrecordsystem.dao;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared executor for database work, so DAO calls never run on the JavaFX Application Thread.
+ * <p>
+ * By default every task gets its own virtual thread; the connection pool already bounds how
+ * many of them can touch the database at once. Setting {@code -Dsrs.dao.threads=N} (N &gt; 0)
+ * uses a fixed pool of N platform threads instead.
+ */
+public final class DaoExecutor {
+
+    private static final int THREADS = Integer.getInteger("srs.dao.threads", 0);
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private DaoExecutor() {
+    }
+
+    private static ExecutorService createExecutor() {
+        if (THREADS > 0) {
+            return Executors.newFixedThreadPool(THREADS, r -> {
+                Thread t = new Thread(r, "dao-worker");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dao-worker-", 0).factory());
+    }
+
+    /**
+     * @return The executor DAO work should be submitted to (e.g. for javafx.concurrent.Task).
+     */
+    public static ExecutorService get() {
+        return EXECUTOR;
+    }
+
+    /**
+     * Runs the work on the DAO executor.
+     * @param work The DAO call(s) to run.
+     * @return A future completed with the result, or exceptionally with whatever the work threw.
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Callable<T> work) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return work.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, EXECUTOR);
+    }
+
+    /**
+     * Stops accepting work and waits briefly for running DAO calls to finish, then commits the
+     * writes still queued for group commit (see {@link GroupCommitWriter}), stops the change feed
+     * and saves the table snapshot (see {@link StudentSnapshotStore}). Called on application exit,
+     * before the connection pool is closed.
+     */
+    public static void shutdown() {
+        EXECUTOR.shutdown();
+        try {
+            if (!EXECUTOR.awaitTermination(5, TimeUnit.SECONDS)) {
+                System.err.println("DAO tasks still running at shutdown; interrupting them.");
+                EXECUTOR.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            EXECUTOR.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        GroupCommitWriter.shutdownShared();
+        StudentChangeFeed.stop();
+        StudentSnapshotStore.stop();
+    }
+}
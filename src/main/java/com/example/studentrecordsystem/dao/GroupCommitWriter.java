@@ -0,0 +1,338 @@
+package com.example.studentrecordsystem.dao;
+
+import com.example.studentrecordsystem.metrics.Metrics;
+import com.example.studentrecordsystem.metrics.OperationMetrics;
+import com.example.studentrecordsystem.model.Student;
+import com.example.studentrecordsystem.util.DatabaseUtil;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Group commit for single-row writes: callers queue inserts, updates and deletes, and one writer
+ * thread commits whatever is queued in a single transaction.
+ * <p>
+ * SQLite allows one writer at a time and every commit is an fsync, so many threads each writing a
+ * row mostly wait for the write lock (and retry on SQLITE_BUSY). Here they wait on a future
+ * instead, and N queued writes cost one transaction. A batch is whatever is queued when the
+ * writer gets to it, up to {@code srs.groupCommit.maxBatch} writes; with
+ * {@code srs.groupCommit.maxDelayMicros} above 0 the writer also waits that long for more to arrive,
+ * trading latency for larger batches when writes trickle in.
+ * <p>
+ * Durability is the same as writing directly: a future completes only after the transaction holding
+ * its write has committed. Each write runs under its own savepoint, so one failing (e.g. a taken
+ * email) is rolled back alone and fails only its own future; if the commit itself fails, every
+ * future in the batch fails. Cache updates and change listeners run on the writer thread, after
+ * the commit and in queue order, before the futures complete.
+ * <p>
+ * Used by the {@code *Async} methods of {@link StudentDAO}, and by its synchronous single-row
+ * methods when {@code -Dsrs.groupCommit=true}. Callers validate first (StudentDAO does).
+ */
+public final class GroupCommitWriter {
+
+    public static final int DEFAULT_MAX_BATCH = Integer.getInteger("srs.groupCommit.maxBatch", 256);
+    public static final long DEFAULT_MAX_DELAY_MICROS = Long.getLong("srs.groupCommit.maxDelayMicros", 0L);
+
+    private static final OperationMetrics COMMIT_METRICS = Metrics.operation("GroupCommitWriter.commit");
+
+    private static GroupCommitWriter shared; // Guarded by GroupCommitWriter.class
+
+    private final int maxBatch;
+    private final long maxDelayNanos;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    private volatile boolean closed = false; // Set under the writer's lock, together with queueing STOP
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private final LongAccumulator largestBatch = new LongAccumulator(Math::max, 0);
+
+    private enum Kind { INSERT, UPDATE, DELETE, STOP }
+
+    private record PendingWrite(Kind kind, Student student, String studentId, CompletableFuture<Student> result) {
+    }
+
+    /**
+     * Starts a writer with its own thread.
+     * @param maxBatch Most writes committed in one transaction.
+     * @param maxDelayMicros How long to wait for more writes once one is queued (0 to commit straight away).
+     */
+    public GroupCommitWriter(int maxBatch, long maxDelayMicros) {
+        this.maxBatch = Math.max(1, maxBatch);
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, maxDelayMicros));
+        // A platform thread: it spends its time in SQLite's native code, which would pin a virtual one anyway
+        this.writerThread = new Thread(this::run, "group-commit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * @return The writer shared by every StudentDAO, started on first use with the default settings.
+     */
+    public static synchronized GroupCommitWriter shared() {
+        if (shared == null || shared.closed) {
+            shared = new GroupCommitWriter(DEFAULT_MAX_BATCH, DEFAULT_MAX_DELAY_MICROS);
+        }
+        return shared;
+    }
+
+    /**
+     * Commits what is queued and stops the shared writer, if it was started.
+     * Called from {@link DaoExecutor#shutdown()}, before the connection pool is closed.
+     */
+    public static void shutdownShared() {
+        GroupCommitWriter writer;
+        synchronized (GroupCommitWriter.class) {
+            writer = shared;
+            shared = null;
+        }
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    /**
+     * @return The shared writer's statistics, or null if it hasn't been started.
+     */
+    public static synchronized Stats sharedStats() {
+        return shared == null ? null : shared.getStats();
+    }
+
+    // --- Queueing ---
+
+    /**
+     * @return A future completed with the stored row once committed.
+     */
+    public CompletableFuture<Student> insert(Student student) {
+        return submit(new PendingWrite(Kind.INSERT, student, student.getStudentId(), new CompletableFuture<>()));
+    }
+
+    /**
+     * @return A future completed with the row as stored once committed, or null if no student had the ID.
+     */
+    public CompletableFuture<Student> update(Student student) {
+        return submit(new PendingWrite(Kind.UPDATE, student, student.getStudentId(), new CompletableFuture<>()));
+    }
+
+    /**
+     * @return A future completed with the deleted row once committed, or null if no student had the ID.
+     */
+    public CompletableFuture<Student> delete(String studentId) {
+        return submit(new PendingWrite(Kind.DELETE, null, studentId, new CompletableFuture<>()));
+    }
+
+    private CompletableFuture<Student> submit(PendingWrite write) {
+        // Checked and queued under the lock close() takes, so no write can land behind the STOP marker
+        synchronized (this) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Group commit writer is closed"));
+            }
+            queue.add(write);
+        }
+        return write.result();
+    }
+
+    /**
+     * Stops accepting writes, commits those already queued and stops the writer thread
+     * (waiting at most 5 seconds).
+     */
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(new PendingWrite(Kind.STOP, null, null, null));
+        }
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            System.err.println("Group commit writer still busy at shutdown; interrupting it.");
+            writerThread.interrupt();
+        }
+    }
+
+    /**
+     * @return Batches committed, writes in them and the largest batch so far.
+     */
+    public Stats getStats() {
+        return new Stats(batches.get(), writes.get(), largestBatch.get());
+    }
+
+    /**
+     * Counts of committed batches; the average batch size shows how much grouping happened.
+     */
+    public record Stats(long batches, long writes, long largestBatch) {
+        public double averageBatchSize() {
+            return batches == 0 ? 0.0 : (double) writes / batches;
+        }
+
+        @Override
+        public String toString() {
+            return "GroupCommit{batches=" + batches + ", writes=" + writes +
+                    ", avgBatch=" + String.format("%.1f", averageBatchSize()) +
+                    ", largestBatch=" + largestBatch + '}';
+        }
+    }
+
+    // --- Writer thread ---
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatch);
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatch - batch.size());
+                if (maxDelayNanos > 0) {
+                    long deadline = System.nanoTime() + maxDelayNanos;
+                    long remaining;
+                    while (batch.size() < maxBatch && !isStop(batch.get(batch.size() - 1))
+                            && (remaining = deadline - System.nanoTime()) > 0) {
+                        PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                        queue.drainTo(batch, maxBatch - batch.size());
+                    }
+                }
+            } catch (InterruptedException e) {
+                stopping = true;
+                queue.drainTo(batch);
+            }
+            // Everything queued before STOP is still committed
+            if (batch.removeIf(GroupCommitWriter::isStop)) {
+                stopping = true;
+            }
+            if (!batch.isEmpty()) {
+                commit(batch);
+            }
+            batch.clear();
+        }
+        // Anything still queued missed the writer (after an interrupt)
+        PendingWrite left;
+        while ((left = queue.poll()) != null) {
+            if (left.result() != null) {
+                left.result().completeExceptionally(new IllegalStateException("Group commit writer is closed"));
+            }
+        }
+    }
+
+    private static boolean isStop(PendingWrite write) {
+        return write.kind() == Kind.STOP;
+    }
+
+    /**
+     * Runs the batch in one transaction and completes its futures. Never throws: every future is
+     * completed whatever happens.
+     */
+    private void commit(List<PendingWrite> batch) {
+        int size = batch.size();
+        Student[] before = new Student[size];
+        Student[] results = new Student[size];
+        SQLException[] failures = new SQLException[size];
+        boolean readBefore = StudentDAO.hasChangeListeners();
+        OperationMetrics.Sample sample = COMMIT_METRICS.start();
+        Connection conn = null;
+        StudentChangeFeed.LocalWrite local = null;
+        try {
+            conn = DatabaseUtil.getConnection();
+            // Immediate: updates read the old row before writing (see StudentDAO.updateStudentReturning)
+            DatabaseUtil.beginImmediate(conn);
+            local = StudentChangeFeed.localWrite(conn);
+            for (int i = 0; i < size; i++) {
+                PendingWrite write = batch.get(i);
+                Savepoint savepoint = conn.setSavepoint();
+                try {
+                    switch (write.kind()) {
+                        case INSERT -> results[i] = StudentDAO.insertReturning(conn, write.student());
+                        case UPDATE -> {
+                            if (readBefore) {
+                                before[i] = StudentDAO.readById(conn, write.studentId());
+                            }
+                            results[i] = StudentDAO.updateReturning(conn, write.student());
+                        }
+                        case DELETE -> results[i] = StudentDAO.deleteReturning(conn, write.studentId());
+                        default -> throw new IllegalStateException("Unexpected write " + write.kind());
+                    }
+                    conn.releaseSavepoint(savepoint);
+                } catch (SQLException e) {
+                    // Undo just this write; the rest of the batch goes ahead
+                    conn.rollback(savepoint);
+                    conn.releaseSavepoint(savepoint);
+                    failures[i] = e;
+                }
+            }
+            local.committing(conn);
+            conn.commit();
+        } catch (SQLException | RuntimeException e) {
+            sample.failed();
+            System.err.println("Error committing " + size + " queued writes, rolling back: " + e.getMessage());
+            rollbackQuietly(conn, local);
+            DatabaseUtil.closeQuietly(conn);
+            sample.close();
+            for (PendingWrite write : batch) {
+                write.result().completeExceptionally(e);
+            }
+            return;
+        }
+        DatabaseUtil.closeQuietly(conn); // Returning the connection to the pool restores autocommit
+        sample.close();
+        batches.incrementAndGet();
+        writes.addAndGet(size);
+        largestBatch.accumulate(size);
+
+        // Committed: report the changes in queue order, then let the callers go
+        for (int i = 0; i < size; i++) {
+            PendingWrite write = batch.get(i);
+            if (failures[i] != null) {
+                write.result().completeExceptionally(failures[i]);
+                continue;
+            }
+            try {
+                switch (write.kind()) {
+                    case INSERT -> {
+                        if (results[i] != null) {
+                            StudentDAO.inserted(results[i]);
+                        }
+                    }
+                    case UPDATE -> StudentDAO.updated(write.studentId(), before[i], results[i]);
+                    case DELETE -> StudentDAO.deleted(write.studentId(), results[i]);
+                    default -> {
+                    }
+                }
+            } finally {
+                write.result().complete(results[i]);
+            }
+        }
+    }
+
+    private static void rollbackQuietly(Connection conn, StudentChangeFeed.LocalWrite local) {
+        if (local != null) {
+            local.abandon(); // Before the rollback, see StudentChangeFeed.LocalWrite
+        }
+        if (conn != null) {
+            try {
+                if (conn.getAutoCommit()) {
+                    return; // The transaction never began (e.g. BEGIN IMMEDIATE timed out)
+                }
+                conn.rollback();
+            } catch (SQLException e) {
+                System.err.println("Error rolling back transaction: " + e.getMessage());
+            }
+        }
+    }
+}
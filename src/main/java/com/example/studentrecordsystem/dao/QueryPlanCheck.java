@@ -0,0 +1,76 @@
+package com.example.studentrecordsystem.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs EXPLAIN QUERY PLAN on every DAO query and reports the ones the indexes don't serve:
+ * <ul>
+ *     <li>any query that scans a whole table and then sorts the result in a temporary B-tree;</li>
+ *     <li>a lookup by key (student ID or email) that scans a whole table at all.</li>
+ * </ul>
+ * QueryPlanCheckTest runs it on a freshly migrated database, so a query or schema change that
+ * loses an index fails the build.
+ */
+final class QueryPlanCheck {
+
+    /**
+     * A query to check. Parameters are left unbound (NULL), which doesn't change the plan.
+     * @param lookup true if the query finds rows by key and must never scan a table.
+     */
+    record Query(String name, String sql, boolean lookup) {
+    }
+
+    private QueryPlanCheck() {
+    }
+
+    /**
+     * Checks every DAO query against the current schema.
+     * @return One message per problem found; empty if every plan is fine.
+     */
+    static List<String> check(Connection conn) throws SQLException {
+        List<String> problems = new ArrayList<>();
+        List<Query> queries = new ArrayList<>(StudentDAO.plannedQueries());
+        queries.addAll(StudentStatisticsDAO.plannedQueries());
+        for (Query query : queries) {
+            List<String> plan = explain(conn, query.sql());
+            boolean fullScan = false;
+            boolean tempSort = false;
+            for (String step : plan) {
+                fullScan |= isFullScan(step);
+                tempSort |= step.startsWith("USE TEMP B-TREE");
+            }
+            if (fullScan && tempSort) {
+                problems.add(query.name() + ": full table scan plus temporary sort " + plan);
+            } else if (fullScan && query.lookup()) {
+                problems.add(query.name() + ": key lookup scans the whole table " + plan);
+            }
+        }
+        return problems;
+    }
+
+    /**
+     * @return The detail column of each plan step, in order.
+     */
+    static List<String> explain(Connection conn, String sql) throws SQLException {
+        List<String> steps = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                steps.add(rs.getString("detail"));
+            }
+        }
+        return steps;
+    }
+
+    // "SCAN students" reads every row; "SCAN students USING [COVERING] INDEX ..." walks an index
+    // in order, and virtual tables (FTS) do their own indexing
+    private static boolean isFullScan(String step) {
+        return step.startsWith("SCAN ") && !step.contains(" USING ")
+                && !step.contains("VIRTUAL TABLE") && !step.contains("CONSTANT ROW");
+    }
+}
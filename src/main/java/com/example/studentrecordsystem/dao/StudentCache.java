@@ -0,0 +1,158 @@
+package com.example.studentrecordsystem.dao;
+
+import com.example.studentrecordsystem.model.Student;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Size-bounded LRU cache of student rows by student ID, used by {@link StudentDAO#findById} and
+ * {@link StudentDAO#findByIds}.
+ * <p>
+ * Rows are stored as immutable values and every lookup returns a new {@link Student}, so a caller
+ * editing the object it got back can't change what the next caller sees. The DAO writes through:
+ * a successful add or update stores the row as the database returned it, and deletes and batch
+ * writes remove the affected IDs.
+ * <p>
+ * A lookup that misses reads the database outside the lock. So that such a read can't put back a
+ * row a concurrent write has just replaced, every write advances a generation counter and
+ * {@link #putIfUnchanged} only stores rows read since the last write.
+ */
+public class StudentCache {
+
+    private final int capacity;
+    // Access-ordered, so iteration starts at the least recently used row
+    private final LinkedHashMap<String, Row> rows = new LinkedHashMap<>(64, 0.75f, true);
+    private long generation = 0;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long invalidations = 0;
+
+    /**
+     * @param capacity Maximum number of rows kept (0 disables caching).
+     */
+    StudentCache(int capacity) {
+        this.capacity = Math.max(0, capacity);
+    }
+
+    /**
+     * @return A copy of the cached student, or null on a miss.
+     */
+    synchronized Student get(String studentId) {
+        Row row = capacity == 0 ? null : rows.get(studentId);
+        if (row == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return row.toStudent();
+    }
+
+    /**
+     * @return The current generation; pass it to {@link #putIfUnchanged} after reading the database.
+     */
+    synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Caches rows read from the database, unless a write happened since {@code readGeneration}.
+     */
+    synchronized void putIfUnchanged(long readGeneration, Iterable<Student> students) {
+        if (capacity == 0 || readGeneration != generation) {
+            return;
+        }
+        for (Student student : students) {
+            rows.put(student.getStudentId(), Row.of(student));
+        }
+        evictOverflow();
+    }
+
+    /**
+     * Stores a row the database has just written (write-through).
+     */
+    synchronized void written(Student stored) {
+        generation++;
+        if (capacity == 0) {
+            return;
+        }
+        rows.put(stored.getStudentId(), Row.of(stored));
+        evictOverflow();
+    }
+
+    /**
+     * Forgets the given IDs after they were deleted or written without the stored row coming back.
+     */
+    synchronized void invalidate(Iterable<String> studentIds) {
+        generation++;
+        for (String studentId : studentIds) {
+            if (rows.remove(studentId) != null) {
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * Forgets everything (e.g. after the table was changed outside this DAO).
+     */
+    synchronized void clear() {
+        generation++;
+        invalidations += rows.size();
+        rows.clear();
+    }
+
+    private void evictOverflow() {
+        Iterator<Row> leastRecentlyUsed = rows.values().iterator();
+        while (rows.size() > capacity && leastRecentlyUsed.hasNext()) {
+            leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Returns a point-in-time snapshot of the cache statistics.
+     */
+    public synchronized Stats getStats() {
+        return new Stats(capacity, rows.size(), hits, misses, evictions, invalidations);
+    }
+
+    /**
+     * Snapshot of cache statistics.
+     */
+    public record Stats(int capacity, int size, long hits, long misses, long evictions, long invalidations) {
+
+        /**
+         * Fraction of ID lookups served from the cache (0 when unused).
+         */
+        public double hitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return "StudentCache{size=" + size + "/" + capacity +
+                    ", hits=" + hits +
+                    ", misses=" + misses +
+                    ", hitRatio=" + String.format("%.3f", hitRatio()) +
+                    ", evictions=" + evictions +
+                    ", invalidations=" + invalidations +
+                    '}';
+        }
+    }
+
+    // Immutable copy of one row
+    private record Row(String studentId, String firstName, String lastName, String email, String major) {
+        static Row of(Student student) {
+            return new Row(student.getStudentId(), student.getFirstName(), student.getLastName(),
+                    student.getEmail(), student.getMajor());
+        }
+
+        Student toStudent() {
+            return new Student(studentId, firstName, lastName, email, major);
+        }
+    }
+}
@@ -0,0 +1,471 @@
+package com.example.studentrecordsystem.dao;
+
+import com.example.studentrecordsystem.metrics.Metrics;
+import com.example.studentrecordsystem.metrics.OperationMetrics;
+import com.example.studentrecordsystem.model.Student;
+import com.example.studentrecordsystem.util.DatabaseUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Finds the writes other programs (e.g. the application on another workstation sharing the database
+ * file) make to the students table, so open views can apply just those rows instead of reloading.
+ * <p>
+ * Triggers log every insert, update and delete in {@code student_changes} (schema migration 5).
+ * A view loads its rows together with the last log entry they include and tells the feed
+ * ({@link #readFrom}). Every {@code srs.changes.pollMs} ms (default 500) the feed then checks
+ * {@code PRAGMA data_version} on its own connection, which changes only when another connection has
+ * committed. Then it reads the log entries after the last one it saw, plus the current rows of the
+ * students they name. An idle
+ * database costs one PRAGMA per poll, and a change costs reads of just the rows involved.
+ * <p>
+ * Writes made through {@link StudentDAO} in this process also reach the log, and the DAO reports
+ * those itself. Each of its write transactions notes which log entries it added ({@link LocalWrite})
+ * while it still holds the write lock, before it commits, so a poll never mistakes them for another
+ * program's, whenever it runs. The feed reports the other changes once, each run of them on a
+ * student from the values before its first entry to the values after its last (the old values of
+ * the next entry of ours, or the row as stored now):
+ * <ul>
+ *     <li>The cached row is dropped.</li>
+ *     <li>The DAO's other change listeners get {@code rowChanged(before, after)}, so the statistics
+ *     stay current without recounting.</li>
+ *     <li>The feed's own listeners get a {@link Changes}.</li>
+ * </ul>
+ * If the feed falls too far behind (more than {@code srs.changes.maxBatch} entries at once, or the
+ * entries it needs have been pruned), it asks its listeners to reload instead. The log keeps the
+ * latest {@code srs.changes.keep} entries (default 10,000).
+ */
+public final class StudentChangeFeed {
+
+    private static final long POLL_MS = Long.getLong("srs.changes.pollMs", 500L);
+    private static final int MAX_BATCH = Integer.getInteger("srs.changes.maxBatch", 10_000);
+    private static final long KEEP = Long.getLong("srs.changes.keep", 10_000L);
+
+    private static final String LAST_SEQ_SQL = "SELECT COALESCE(MAX(seq), 0) FROM student_changes";
+    private static final String FIRST_SEQ_SQL = "SELECT MIN(seq) FROM student_changes";
+    private static final String CHANGES_SQL =
+            "SELECT seq, op, student_id, old_first_name, old_last_name, old_email, old_major" +
+            " FROM student_changes WHERE seq > ? ORDER BY seq LIMIT ?";
+    private static final String PRUNE_SQL = "DELETE FROM student_changes WHERE seq <= ?";
+
+    private static final OperationMetrics POLL_METRICS = Metrics.operation("StudentChangeFeed.poll");
+
+    private static StudentChangeFeed shared; // Guarded by StudentChangeFeed.class
+
+    /**
+     * What changed since the last report. Rows are as stored now; an ID in {@code deletedIds} no
+     * longer exists. With {@code reload} set the lists are empty: too much changed to list, so
+     * read everything again.
+     */
+    public record Changes(List<Student> changed, List<String> deletedIds, boolean reload) {
+    }
+
+    private final List<Consumer<Changes>> listeners = new CopyOnWriteArrayList<>();
+    private final LocalWrites localWrites = new LocalWrites();
+    private final ScheduledExecutorService poller;
+
+    // Only touched on the poller thread
+    private Connection conn;
+    private long dataVersion = -1;
+    private long lastSeq = -1;
+    private long lastPruneSeq = 0;
+
+    private StudentChangeFeed() {
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "student-change-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the shared feed if it isn't running. From then on the writes of this process are told
+     * apart from others', but nothing is reported until {@link #readFrom} says where the data being
+     * kept current stands, so start it before that data is loaded.
+     */
+    public static synchronized StudentChangeFeed start() {
+        if (shared == null) {
+            shared = new StudentChangeFeed();
+            StudentDAO.addChangeListener(shared.localWrites);
+            shared.poller.execute(shared::open);
+            shared.poller.scheduleWithFixedDelay(shared::poll, POLL_MS, POLL_MS, TimeUnit.MILLISECONDS);
+        }
+        return shared;
+    }
+
+    /**
+     * Stops the shared feed and closes its connection. Called from {@link DaoExecutor#shutdown()}.
+     */
+    public static void stop() {
+        StudentChangeFeed feed;
+        synchronized (StudentChangeFeed.class) {
+            feed = shared;
+            shared = null;
+        }
+        if (feed == null) {
+            return;
+        }
+        StudentDAO.removeChangeListener(feed.localWrites);
+        feed.poller.execute(feed::close);
+        feed.poller.shutdown();
+        try {
+            if (!feed.poller.awaitTermination(5, TimeUnit.SECONDS)) {
+                feed.poller.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            feed.poller.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reports the changes logged after {@code changeSeq}, the last entry included in the data the
+     * listeners were loaded with. Read it in the same transaction as that data (e.g.
+     * {@link StudentDAO#loadTable}), so nothing committed in between is missed. Only the first call
+     * counts; after that the feed reports everything past what it has read.
+     */
+    public void readFrom(long changeSeq) {
+        try {
+            poller.execute(() -> {
+                if (lastSeq < 0) {
+                    lastSeq = changeSeq;
+                    dataVersion = -1; // Read whatever was logged since on the next poll
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Stopped
+        }
+    }
+
+    /**
+     * Adds a callback for changes made by other programs. It runs on the feed's thread.
+     */
+    public void addListener(Consumer<Changes> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<Changes> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts noting the log entries of a write transaction of this process. Call it right after the
+     * transaction began IMMEDIATE (so no other writer can add entries until it ends), then
+     * {@link LocalWrite#committing} just before the commit, or {@link LocalWrite#abandon} before a
+     * rollback. Costs nothing when the feed isn't running.
+     */
+    static LocalWrite localWrite(Connection conn) throws SQLException {
+        StudentChangeFeed feed;
+        synchronized (StudentChangeFeed.class) {
+            feed = shared;
+        }
+        return feed == null ? LocalWrite.NONE : new LocalWrite(feed.localWrites, lastLoggedSeq(conn));
+    }
+
+    static long lastLoggedSeq(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(LAST_SEQ_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    // --- Polling ---
+
+    private void open() {
+        try {
+            conn = DatabaseUtil.openDedicatedConnection();
+            dataVersion = -1; // Read whatever was logged meanwhile on the next poll
+        } catch (SQLException e) {
+            // The next poll tries again
+            System.err.println("Error starting the change feed: " + e.getMessage());
+            close();
+        }
+    }
+
+    private void close() {
+        DatabaseUtil.closeQuietly(conn);
+        conn = null;
+    }
+
+    private void poll() {
+        if (conn == null) {
+            open();
+            return;
+        }
+        if (lastSeq < 0) {
+            return; // Not told where to start yet (readFrom)
+        }
+        OperationMetrics.Sample sample = POLL_METRICS.start();
+        try {
+            long version = dataVersion();
+            if (version == dataVersion) {
+                return; // Nothing committed by any other connection
+            }
+            dataVersion = version;
+            readChanges();
+            if (lastSeq - lastPruneSeq >= KEEP) {
+                prune();
+            }
+        } catch (SQLException | RuntimeException e) {
+            sample.failed();
+            System.err.println("Error polling for changes: " + e.getMessage());
+            close(); // Reconnect on the next poll
+        } finally {
+            sample.close();
+        }
+    }
+
+    /**
+     * Reads the log entries after {@link #lastSeq} and the current rows they name, in one read
+     * transaction so the two agree, then reports what this process didn't write itself.
+     */
+    private void readChanges() throws SQLException {
+        boolean localBatch = localWrites.takeBatchFlag();
+        // Per student, each run of entries not written by us as {before, after}; null values for a
+        // missing row. The after values of a run still open (not followed by ours) are read below.
+        Map<String, List<Student[]>> runs = new LinkedHashMap<>();
+        Set<String> open = new HashSet<>();
+        long newestSeq = lastSeq;
+        boolean reload = false;
+        List<Student> current;
+        conn.setAutoCommit(false);
+        try {
+            try (PreparedStatement stmt = conn.prepareStatement(CHANGES_SQL)) {
+                stmt.setLong(1, lastSeq);
+                stmt.setInt(2, MAX_BATCH + 1);
+                int count = 0;
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        if (++count > MAX_BATCH) {
+                            reload = true;
+                            break;
+                        }
+                        if (count == 1 && rs.getLong("seq") > lastSeq + 1 && queryLong(FIRST_SEQ_SQL) > lastSeq + 1) {
+                            reload = true; // Entries we haven't seen were pruned
+                        }
+                        newestSeq = rs.getLong("seq");
+                        String studentId = rs.getString("student_id");
+                        Student old = "I".equals(rs.getString("op")) ? null
+                                : new Student(studentId, rs.getString("old_first_name"),
+                                rs.getString("old_last_name"), rs.getString("old_email"), rs.getString("old_major"));
+                        if (localWrites.contains(newestSeq)) {
+                            if (open.remove(studentId)) {
+                                List<Student[]> studentRuns = runs.get(studentId);
+                                studentRuns.get(studentRuns.size() - 1)[1] = old; // Our write started from these values
+                            }
+                        } else if (open.add(studentId)) {
+                            runs.computeIfAbsent(studentId, id -> new ArrayList<>()).add(new Student[]{old, null});
+                        }
+                    }
+                }
+            }
+            if (reload) {
+                newestSeq = queryLong(LAST_SEQ_SQL);
+                current = List.of();
+            } else {
+                current = runs.isEmpty() ? List.of() : StudentDAO.readByIds(conn, new ArrayList<>(runs.keySet()));
+            }
+        } finally {
+            conn.rollback(); // Only read; ends the transaction
+            conn.setAutoCommit(true);
+        }
+        lastSeq = newestSeq;
+        localWrites.seenUpTo(newestSeq);
+
+        if (reload) {
+            StudentDAO.externalChanges(null, null, localWrites);
+            fire(new Changes(List.of(), List.of(), true));
+            return;
+        }
+
+        Map<String, Student> stored = new HashMap<>();
+        for (Student student : current) {
+            stored.put(student.getStudentId(), student);
+        }
+        List<String> externalIds = new ArrayList<>();
+        List<Student[]> rowChanges = new ArrayList<>();
+        List<Student> changed = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        for (Map.Entry<String, List<Student[]>> entry : runs.entrySet()) {
+            String studentId = entry.getKey();
+            Student now = stored.get(studentId);
+            List<Student[]> studentRuns = entry.getValue();
+            if (open.contains(studentId)) {
+                studentRuns.get(studentRuns.size() - 1)[1] = now;
+            }
+            boolean any = false;
+            for (Student[] run : studentRuns) {
+                if (run[0] != null || run[1] != null) { // Else inserted and deleted again
+                    rowChanges.add(run);
+                    any = true;
+                }
+            }
+            if (!any) {
+                continue;
+            }
+            externalIds.add(studentId);
+            // Views get the row as stored now, whoever wrote last
+            if (now == null) {
+                deleted.add(studentId);
+            } else {
+                changed.add(now);
+            }
+        }
+        if (externalIds.isEmpty()) {
+            return;
+        }
+        // After a local batch the statistics were recounted, maybe already including some of these
+        // rows, so they are only told to recount again rather than given deltas
+        StudentDAO.externalChanges(externalIds, localBatch ? null : rowChanges, localWrites);
+        fire(new Changes(changed, deleted, false));
+    }
+
+    /**
+     * Deletes all but the latest {@code srs.changes.keep} entries. Another instance that hasn't read
+     * them yet notices the gap and reloads.
+     */
+    private void prune() {
+        long upTo = lastSeq - KEEP;
+        if (upTo <= 0) {
+            return;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(PRUNE_SQL)) {
+            stmt.setLong(1, upTo);
+            stmt.executeUpdate();
+            lastPruneSeq = lastSeq;
+        } catch (SQLException e) {
+            // Busy with another writer; try again after the next change
+            System.err.println("Could not prune the change log: " + e.getMessage());
+        }
+    }
+
+    private long dataVersion() throws SQLException {
+        return queryLong("PRAGMA data_version");
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private void fire(Changes changes) {
+        for (Consumer<Changes> listener : listeners) {
+            try {
+                listener.accept(changes);
+            } catch (RuntimeException e) {
+                System.err.println("Error in change feed listener: " + e.getMessage());
+            }
+        }
+    }
+
+    // --- Local writes ---
+
+    /**
+     * The log entries one write transaction of this process adds: those after the last entry when it
+     * began, up to the last one just before it commits. Noted while the transaction holds the write
+     * lock, so no other program's entries fall in between. See {@link #localWrite}.
+     */
+    static final class LocalWrite {
+
+        static final LocalWrite NONE = new LocalWrite(null, 0);
+
+        private final LocalWrites registry;
+        private final long afterSeq;
+        private long lastSeq = -1;
+
+        private LocalWrite(LocalWrites registry, long afterSeq) {
+            this.registry = registry;
+            this.afterSeq = afterSeq;
+        }
+
+        /**
+         * Notes the transaction's entries; call it after its last statement and before the commit.
+         */
+        void committing(Connection conn) throws SQLException {
+            if (registry == null) {
+                return;
+            }
+            lastSeq = lastLoggedSeq(conn);
+            if (lastSeq > afterSeq) {
+                registry.add(afterSeq, lastSeq);
+            }
+        }
+
+        /**
+         * Forgets the entries again; call it before rolling back, as another writer may reuse their
+         * sequence numbers afterwards.
+         */
+        void abandon() {
+            if (registry != null && lastSeq > afterSeq) {
+                registry.remove(afterSeq);
+            }
+        }
+    }
+
+    /**
+     * Log entries written by this process ({@link LocalWrite}s) the feed hasn't read past yet, and
+     * whether a batch was written through StudentDAO since the last poll.
+     */
+    private static final class LocalWrites implements StudentChangeListener {
+
+        // Ranges of sequence numbers as (after, last]; they never overlap, as writers take turns
+        private final TreeMap<Long, Long> ranges = new TreeMap<>();
+        private boolean batchWritten = false;
+
+        @Override
+        public void rowChanged(Student before, Student after) {
+            // Recognised by their log entries, see LocalWrite
+        }
+
+        @Override
+        public synchronized void tableChanged() {
+            batchWritten = true;
+        }
+
+        synchronized void add(long afterSeq, long lastSeq) {
+            ranges.put(afterSeq, lastSeq);
+        }
+
+        synchronized void remove(long afterSeq) {
+            ranges.remove(afterSeq);
+        }
+
+        synchronized boolean contains(long seq) {
+            Map.Entry<Long, Long> range = ranges.lowerEntry(seq);
+            return range != null && seq <= range.getValue();
+        }
+
+        // Drops the ranges the feed has read past; uncommitted ones lie beyond it
+        synchronized void seenUpTo(long seq) {
+            while (!ranges.isEmpty() && ranges.firstEntry().getValue() <= seq) {
+                ranges.pollFirstEntry();
+            }
+        }
+
+        synchronized boolean takeBatchFlag() {
+            boolean flag = batchWritten;
+            batchWritten = false;
+            return flag;
+        }
+    }
+}
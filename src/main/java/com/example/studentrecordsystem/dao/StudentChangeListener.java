@@ -0,0 +1,23 @@
+package com.example.studentrecordsystem.dao;
+
+import com.example.studentrecordsystem.model.Student;
+
+/**
+ * Told about every committed write made through a {@link StudentDAO} (register with
+ * {@link StudentDAO#addChangeListener}). Called on the thread that made the write, so
+ * implementations must be thread-safe and quick.
+ */
+public interface StudentChangeListener {
+
+    /**
+     * One row changed: an insert has only {@code after}, a delete only {@code before}, an update both.
+     * Rows are as stored (blank optional fields are null).
+     */
+    void rowChanged(Student before, Student after);
+
+    /**
+     * Rows changed without their old values being known (e.g. a batch upsert), so anything derived
+     * from the table should be recomputed.
+     */
+    void tableChanged();
+}
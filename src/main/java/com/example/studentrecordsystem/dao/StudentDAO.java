@@ -1,18 +1,132 @@
 package com.example.studentrecordsystem.dao;
 
+import com.example.studentrecordsystem.metrics.Metrics;
+import com.example.studentrecordsystem.metrics.OperationMetrics;
+import com.example.studentrecordsystem.model.StringDictionary;
 import com.example.studentrecordsystem.model.Student;
+import com.example.studentrecordsystem.model.StudentValidator;
+import com.example.studentrecordsystem.model.ValidationResult;
 import com.example.studentrecordsystem.util.DatabaseUtil;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 public class StudentDAO {
 
+    // SQL is kept in constants so every call prepares the exact same text,
+    // which lets the pooled connections reuse their cached PreparedStatements.
+    private static final String SELECT_ALL_SQL =
+            "SELECT student_id, first_name, last_name, email, major FROM students ORDER BY last_name, first_name";
+    // Keyset pagination: rows strictly after a (last_name, first_name, student_id) key, in display order
+    private static final String FIRST_PAGE_SQL =
+            "SELECT student_id, first_name, last_name, email, major FROM students" +
+            " ORDER BY last_name, first_name, student_id LIMIT ?";
+    private static final String NEXT_PAGE_SQL =
+            "SELECT student_id, first_name, last_name, email, major FROM students" +
+            " WHERE (last_name, first_name, student_id) > (?, ?, ?)" +
+            " ORDER BY last_name, first_name, student_id LIMIT ?";
+    // Only the key columns, used to find where a page starts without loading the rows before it
+    private static final String FIRST_BOUNDARY_SQL =
+            "SELECT last_name, first_name, student_id FROM students" +
+            " ORDER BY last_name, first_name, student_id LIMIT 1 OFFSET ?";
+    private static final String NEXT_BOUNDARY_SQL =
+            "SELECT last_name, first_name, student_id FROM students" +
+            " WHERE (last_name, first_name, student_id) > (?, ?, ?)" +
+            " ORDER BY last_name, first_name, student_id LIMIT 1 OFFSET ?";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM students";
+    // Lookups by primary key; the multi-ID form gets one placeholder per ID (see placeholders())
+    private static final String FIND_BY_ID_SQL =
+            "SELECT student_id, first_name, last_name, email, major FROM students WHERE student_id = ?";
+    private static final String FIND_BY_IDS_SQL =
+            "SELECT student_id, first_name, last_name, email, major FROM students WHERE student_id IN (%s)";
+    // Whole table in display order, read row by row for exports
+    private static final String STREAM_ALL_SQL =
+            "SELECT student_id, first_name, last_name, email, major FROM students" +
+            " ORDER BY last_name, first_name, student_id";
+    // Full-text search through the FTS5 index (see DatabaseUtil), best matches first
+    private static final String SEARCH_SQL =
+            "SELECT s.student_id, s.first_name, s.last_name, s.email, s.major" +
+            " FROM students_fts JOIN students s ON s.rowid = students_fts.rowid" +
+            " WHERE students_fts MATCH ? ORDER BY rank LIMIT ?";
+    // Single-row writes hand back the affected row (SQLite RETURNING) so the UI can apply just that change
+    private static final String RETURNING_COLUMNS = " RETURNING student_id, first_name, last_name, email, major";
+    private static final String INSERT_RETURNING_SQL =
+            "INSERT INTO students(student_id, first_name, last_name, email, major) VALUES(?,?,?,?,?)" + RETURNING_COLUMNS;
+    private static final String UPDATE_RETURNING_SQL =
+            "UPDATE students SET first_name = ?, last_name = ?, email = ?, major = ? WHERE student_id = ?" + RETURNING_COLUMNS;
+    private static final String DELETE_RETURNING_SQL =
+            "DELETE FROM students WHERE student_id = ?" + RETURNING_COLUMNS;
+    // Batch insert skips rows whose student_id already exists (update count 0) instead of failing the batch
+    private static final String INSERT_OR_IGNORE_SQL =
+            "INSERT OR IGNORE INTO students(student_id, first_name, last_name, email, major) VALUES(?,?,?,?,?)";
+    private static final String UPSERT_SQL =
+            "INSERT INTO students(student_id, first_name, last_name, email, major) VALUES(?,?,?,?,?)" +
+            " ON CONFLICT(student_id) DO UPDATE SET first_name = excluded.first_name, last_name = excluded.last_name," +
+            " email = excluded.email, major = excluded.major";
+    // Batch writers' lookups, with %s replaced by one placeholder per value (see placeholders())
+    private static final String STORED_EMAILS_SQL = "SELECT student_id, email FROM students WHERE student_id IN (%s)";
+    // The email <> '' term lets SQLite use the partial index idx_students_email
+    private static final String EMAIL_OWNERS_SQL =
+            "SELECT email, student_id FROM students WHERE email IN (%s) AND email <> ''";
+    // Frees an email an upsert batch gives to another student, before the rows are written
+    private static final String RELEASE_EMAIL_SQL = "UPDATE students SET email = NULL WHERE student_id = ?";
+
+    // Rows sent per executeBatch() call in the batch methods, overridable with -Dsrs.batch.chunkSize
+    public static final int DEFAULT_BATCH_CHUNK_SIZE = Integer.getInteger("srs.batch.chunkSize", 500);
+    // Keeps the "which IDs already exist" lookup under SQLite's classic 999 bound-parameter limit
+    private static final int MAX_BATCH_CHUNK_SIZE = 999;
+
+    // Rows looked up by ID, shared by every DAO instance so writes through any of them invalidate it
+    private static final StudentCache CACHE = new StudentCache(Integer.getInteger("srs.cache.students", 10_000));
+    // Told about every committed write; shared for the same reason
+    private static final List<StudentChangeListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    // With -Dsrs.groupCommit=true, single-row writes from every thread are queued and committed in
+    // shared transactions by GroupCommitWriter; callers still return only after their write commits
+    private static final boolean GROUP_COMMIT = Boolean.getBoolean("srs.groupCommit");
+    // How long a synchronous write waits for its batch to commit
+    private static final long GROUP_COMMIT_TIMEOUT_MS = Long.getLong("srs.groupCommit.timeoutMs", 30_000L);
+
+    // Latency and error counts of each public operation (see Metrics; the batch methods share writeBatch)
+    private static final OperationMetrics GET_ALL_METRICS = Metrics.operation("StudentDAO.getAllStudents");
+    private static final OperationMetrics LOAD_TABLE_METRICS = Metrics.operation("StudentDAO.loadTable");
+    private static final OperationMetrics FIND_BY_ID_METRICS = Metrics.operation("StudentDAO.findById");
+    private static final OperationMetrics FIND_BY_IDS_METRICS = Metrics.operation("StudentDAO.findByIds");
+    private static final OperationMetrics STREAM_METRICS = Metrics.operation("StudentDAO.streamStudents");
+    private static final OperationMetrics COUNT_METRICS = Metrics.operation("StudentDAO.countStudents");
+    private static final OperationMetrics PAGE_METRICS = Metrics.operation("StudentDAO.getStudentsPage");
+    private static final OperationMetrics PAGE_BOUNDARY_METRICS = Metrics.operation("StudentDAO.getPageBoundary");
+    private static final OperationMetrics SEARCH_METRICS = Metrics.operation("StudentDAO.search");
+    private static final OperationMetrics ADD_METRICS = Metrics.operation("StudentDAO.addStudent");
+    private static final OperationMetrics UPDATE_METRICS = Metrics.operation("StudentDAO.updateStudent");
+    private static final OperationMetrics DELETE_METRICS = Metrics.operation("StudentDAO.deleteStudent");
+    private static final OperationMetrics ADD_BATCH_METRICS = Metrics.operation("StudentDAO.addStudents");
+    private static final OperationMetrics UPSERT_BATCH_METRICS = Metrics.operation("StudentDAO.upsertStudents");
+
     // --- READ ---
     /**
      * Retrieves all students from the database.
@@ -20,31 +134,23 @@ public class StudentDAO {
      */
     public ObservableList<Student> getAllStudents() {
         ObservableList<Student> studentList = FXCollections.observableArrayList();
-        // SQL query to select all columns from the students table, ordered for consistency
-        String sql = "SELECT student_id, first_name, last_name, email, major FROM students ORDER BY last_name, first_name";
-
+        OperationMetrics.Sample sample = GET_ALL_METRICS.start();
+        // Query selects all columns from the students table, ordered for consistency
         Connection conn = null;
-        Statement stmt = null;
+        PreparedStatement stmt = null;
         ResultSet rs = null;
 
         try {
             conn = DatabaseUtil.getConnection(); // Get connection from utility class
-            stmt = conn.createStatement();
-            rs = stmt.executeQuery(sql);
+            stmt = conn.prepareStatement(SELECT_ALL_SQL);
+            rs = stmt.executeQuery();
 
-            // Loop through the result set
+            // Loop through the result set, creating a new Student object for each row
             while (rs.next()) {
-                // Create a new Student object for each row
-                Student student = new Student(
-                        rs.getString("student_id"),
-                        rs.getString("first_name"),
-                        rs.getString("last_name"),
-                        rs.getString("email"),
-                        rs.getString("major")
-                );
-                studentList.add(student); // Add the student to the list
+                studentList.add(readStudent(rs)); // Add the student to the list
             }
         } catch (SQLException e) {
+            sample.failed();
             System.err.println("Error getting students from database: " + e.getMessage());
             // In a real app, you might show an error Alert here
             // e.printStackTrace(); // Print stack trace for debugging
@@ -53,10 +159,499 @@ public class StudentDAO {
             DatabaseUtil.closeQuietly(rs);
             DatabaseUtil.closeQuietly(stmt);
             DatabaseUtil.closeQuietly(conn);
+            sample.close();
         }
         return studentList; // Return the list (might be empty if error or no data)
     }
 
+    /**
+     * What {@link #loadTable} read.
+     * @param total The number of students.
+     * @param students Every student in display order, or null if there were more than asked for.
+     * @param changeSeq The last change log entry the two include (see {@link StudentChangeFeed#readFrom}).
+     */
+    public record TableLoad(int total, List<Student> students, long changeSeq) {
+    }
+
+    /**
+     * Counts the students and, if there are at most {@code maxRows}, reads them all, in one read
+     * transaction together with the position of the change log, so a view loaded from it can be
+     * kept current from exactly that point.
+     * @param maxRows The most rows worth reading into memory.
+     * @return The count, the rows, and the log position.
+     */
+    public TableLoad loadTable(int maxRows) throws SQLException {
+        OperationMetrics.Sample sample = LOAD_TABLE_METRICS.start();
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int total;
+                try (PreparedStatement stmt = conn.prepareStatement(COUNT_SQL);
+                     ResultSet rs = stmt.executeQuery()) {
+                    total = rs.next() ? rs.getInt(1) : 0;
+                }
+                List<Student> students = total > maxRows ? null : readAll(conn);
+                return new TableLoad(total, students, StudentChangeFeed.lastLoggedSeq(conn));
+            } finally {
+                conn.rollback(); // Only read; ends the transaction
+            }
+        } catch (SQLException e) {
+            sample.failed();
+            throw e;
+        } finally {
+            sample.close();
+        }
+    }
+
+    /**
+     * Finds one student by ID, from the cache if it was looked up or written recently.
+     * @param studentId The student ID.
+     * @return A new Student object (safe to modify), or null if there is no such student or the query failed.
+     */
+    public Student findById(String studentId) {
+        if (studentId == null) {
+            return null;
+        }
+        OperationMetrics.Sample sample = FIND_BY_ID_METRICS.start();
+        Student cached = CACHE.get(studentId);
+        if (cached != null) {
+            sample.close();
+            return cached;
+        }
+
+        long generation = CACHE.generation();
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            Student student = readById(conn, studentId);
+            if (student != null) {
+                CACHE.putIfUnchanged(generation, List.of(student));
+            }
+            return student;
+        } catch (SQLException e) {
+            sample.failed();
+            System.err.println("Error finding student " + studentId + ": " + e.getMessage());
+            return null;
+        } finally {
+            sample.close();
+        }
+    }
+
+    // Reads every row in display order on the given connection (no cache)
+    static List<Student> readAll(Connection conn) throws SQLException {
+        List<Student> students = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                students.add(readStudent(rs));
+            }
+        }
+        return students;
+    }
+
+    // Reads one row by primary key on the given connection (no cache)
+    static Student readById(Connection conn, String studentId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(FIND_BY_ID_SQL)) {
+            stmt.setString(1, studentId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? readStudent(rs) : null;
+            }
+        }
+    }
+
+    // Reads rows by primary key on the given connection (no cache), one IN (...) query per 999 IDs
+    static List<Student> readByIds(Connection conn, List<String> studentIds) throws SQLException {
+        List<Student> loaded = new ArrayList<>(studentIds.size());
+        for (int start = 0; start < studentIds.size(); start += MAX_BATCH_CHUNK_SIZE) {
+            List<String> chunk = studentIds.subList(start, Math.min(studentIds.size(), start + MAX_BATCH_CHUNK_SIZE));
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    String.format(FIND_BY_IDS_SQL, placeholders(chunk.size())))) {
+                for (int j = 0; j < chunk.size(); j++) {
+                    stmt.setString(j + 1, chunk.get(j));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        loaded.add(readStudent(rs));
+                    }
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Finds several students by ID. Cached rows are served from the cache and the rest are read
+     * with a single {@code student_id IN (...)} query (one per 999 IDs).
+     * @param studentIds The IDs to look up (duplicates and nulls are ignored).
+     * @return The students found, keyed by ID in the order the IDs were given; IDs with no student
+     *         are left out. If the query fails, only the cached students are returned.
+     */
+    public Map<String, Student> findByIds(Collection<String> studentIds) {
+        OperationMetrics.Sample sample = FIND_BY_IDS_METRICS.start();
+        Set<String> wanted = new LinkedHashSet<>(studentIds);
+        wanted.remove(null);
+        Map<String, Student> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String studentId : wanted) {
+            Student cached = CACHE.get(studentId);
+            if (cached != null) {
+                found.put(studentId, cached);
+            } else {
+                missing.add(studentId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            long generation = CACHE.generation();
+            List<Student> loaded;
+            try (Connection conn = DatabaseUtil.getConnection()) {
+                loaded = readByIds(conn, missing);
+                CACHE.putIfUnchanged(generation, loaded);
+                for (Student student : loaded) {
+                    // The cache keeps its own copy, so these objects can go to the caller as they are
+                    found.put(student.getStudentId(), student);
+                }
+            } catch (SQLException e) {
+                sample.failed();
+                System.err.println("Error finding students by ID: " + e.getMessage());
+            }
+        }
+
+        Map<String, Student> ordered = new LinkedHashMap<>();
+        for (String studentId : wanted) {
+            Student student = found.get(studentId);
+            if (student != null) {
+                ordered.put(studentId, student);
+            }
+        }
+        sample.close();
+        return ordered;
+    }
+
+    // --- CHANGE LISTENERS ---
+    /**
+     * Registers a listener for every write committed through any StudentDAO.
+     */
+    public static void addChangeListener(StudentChangeListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void removeChangeListener(StudentChangeListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    // Updates only read the old row when someone will be told about it
+    static boolean hasChangeListeners() {
+        return !LISTENERS.isEmpty();
+    }
+
+    private static void fireRowChanged(Student before, Student after) {
+        fireRowChanged(before, after, null);
+    }
+
+    private static void fireRowChanged(Student before, Student after, StudentChangeListener except) {
+        for (StudentChangeListener listener : LISTENERS) {
+            if (listener == except) {
+                continue;
+            }
+            try {
+                listener.rowChanged(before, after);
+            } catch (RuntimeException e) {
+                System.err.println("Error in student change listener: " + e.getMessage());
+            }
+        }
+    }
+
+    private static void fireTableChanged() {
+        fireTableChanged(null);
+    }
+
+    private static void fireTableChanged(StudentChangeListener except) {
+        for (StudentChangeListener listener : LISTENERS) {
+            if (listener == except) {
+                continue;
+            }
+            try {
+                listener.tableChanged();
+            } catch (RuntimeException e) {
+                System.err.println("Error in student change listener: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reports rows changed by another program (found by {@link StudentChangeFeed}): drops them from
+     * the cache and tells every listener but the feed itself.
+     * @param studentIds The changed IDs, or null if anything may have changed.
+     * @param changes Each change as {before, after}; null if the old rows aren't known, which is
+     *                reported as a table change.
+     */
+    static void externalChanges(Collection<String> studentIds, List<Student[]> changes,
+                                StudentChangeListener feed) {
+        if (studentIds == null) {
+            CACHE.clear();
+        } else {
+            CACHE.invalidate(studentIds);
+        }
+        if (changes == null) {
+            fireTableChanged(feed);
+            return;
+        }
+        for (Student[] change : changes) {
+            fireRowChanged(change[0], change[1], feed);
+        }
+    }
+
+    /**
+     * Reports a committed batch: inserted rows one by one, or a single table change if any row was
+     * overwritten (its old values are unknown).
+     */
+    private static void fireBatchWritten(Student[] rows, BatchRowResult[] results) {
+        if (LISTENERS.isEmpty()) {
+            return;
+        }
+        for (BatchRowResult result : results) {
+            if (result.getOutcome() == BatchRowResult.Outcome.UPDATED) {
+                fireTableChanged();
+                return;
+            }
+        }
+        for (int i = 0; i < rows.length; i++) {
+            if (results[i].getOutcome() == BatchRowResult.Outcome.INSERTED) {
+                Student student = rows[i];
+                // As stored: blank optional fields become NULL
+                fireRowChanged(null, new Student(student.getStudentId(), student.getFirstName(),
+                        student.getLastName(), nullIfBlank(student.getEmail()), nullIfBlank(student.getMajor())));
+            }
+        }
+    }
+
+    /**
+     * Returns a snapshot of the ID lookup cache statistics (hit ratio, evictions, ...).
+     */
+    public static StudentCache.Stats getCacheStats() {
+        return CACHE.getStats();
+    }
+
+    /**
+     * Reads every student in display order and hands each row to the handler as it is read,
+     * without building a list, so tables of any size can be exported in constant memory.
+     * The ResultSet is forward-only and read-only; the fetch size is passed to the driver as a hint.
+     * Unlike the other read methods, failures are thrown so a partial export isn't mistaken for a full one.
+     * @param fetchSize Rows the driver may fetch per round trip.
+     * @param handler Receives each row.
+     * @return The number of rows read.
+     */
+    public long streamStudents(int fetchSize, StudentRowHandler handler) throws SQLException, IOException {
+        OperationMetrics.Sample sample = STREAM_METRICS.start();
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DatabaseUtil.getConnection();
+            stmt = conn.prepareStatement(STREAM_ALL_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(Math.max(1, fetchSize));
+            rs = stmt.executeQuery();
+            long rows = 0;
+            while (rs.next()) {
+                handler.row(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5));
+                rows++;
+            }
+            return rows;
+        } catch (SQLException | IOException | RuntimeException e) {
+            sample.failed();
+            throw e;
+        } finally {
+            DatabaseUtil.closeQuietly(rs);
+            DatabaseUtil.closeQuietly(stmt);
+            DatabaseUtil.closeQuietly(conn);
+            sample.close();
+        }
+    }
+
+    /**
+     * Counts the rows in the students table.
+     * @return The number of students, or 0 if the query fails.
+     */
+    public int countStudents() {
+        OperationMetrics.Sample sample = COUNT_METRICS.start();
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DatabaseUtil.getConnection();
+            stmt = conn.prepareStatement(COUNT_SQL);
+            rs = stmt.executeQuery();
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            sample.failed();
+            System.err.println("Error counting students: " + e.getMessage());
+            return 0;
+        } finally {
+            DatabaseUtil.closeQuietly(rs);
+            DatabaseUtil.closeQuietly(stmt);
+            DatabaseUtil.closeQuietly(conn);
+            sample.close();
+        }
+    }
+
+    /**
+     * Retrieves one page of students in display order (last name, first name, student ID).
+     * @param after The key of the last row of the previous page, or null for the first page.
+     * @param limit The maximum number of rows to return.
+     * @return The page; empty if there are no more rows or the query fails.
+     */
+    public List<Student> getStudentsPage(StudentPageKey after, int limit) {
+        List<Student> page = new ArrayList<>(limit);
+        OperationMetrics.Sample sample = PAGE_METRICS.start();
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DatabaseUtil.getConnection();
+            stmt = conn.prepareStatement(after == null ? FIRST_PAGE_SQL : NEXT_PAGE_SQL);
+            int limitIndex = bindKey(stmt, after);
+            stmt.setInt(limitIndex, limit);
+            rs = stmt.executeQuery();
+            while (rs.next()) {
+                page.add(readStudent(rs));
+            }
+        } catch (SQLException e) {
+            sample.failed();
+            System.err.println("Error getting page of students: " + e.getMessage());
+        } finally {
+            DatabaseUtil.closeQuietly(rs);
+            DatabaseUtil.closeQuietly(stmt);
+            DatabaseUtil.closeQuietly(conn);
+            sample.close();
+        }
+        return page;
+    }
+
+    /**
+     * Finds the key of the row {@code rowsAhead} positions after the given key, without
+     * loading any of the rows in between. Used to jump straight to a page far down the table.
+     * @param after The starting key, or null to count from the start of the table.
+     * @param rowsAhead How many rows further the wanted row is (1 = the row right after {@code after}).
+     * @return The key, or null if the table has fewer rows or the query fails.
+     */
+    public StudentPageKey getPageBoundary(StudentPageKey after, int rowsAhead) {
+        if (rowsAhead < 1) {
+            return after;
+        }
+        OperationMetrics.Sample sample = PAGE_BOUNDARY_METRICS.start();
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DatabaseUtil.getConnection();
+            stmt = conn.prepareStatement(after == null ? FIRST_BOUNDARY_SQL : NEXT_BOUNDARY_SQL);
+            int offsetIndex = bindKey(stmt, after);
+            stmt.setInt(offsetIndex, rowsAhead - 1);
+            rs = stmt.executeQuery();
+            if (rs.next()) {
+                return new StudentPageKey(rs.getString("last_name"), rs.getString("first_name"),
+                        rs.getString("student_id"));
+            }
+            return null;
+        } catch (SQLException e) {
+            sample.failed();
+            System.err.println("Error finding page boundary: " + e.getMessage());
+            return null;
+        } finally {
+            DatabaseUtil.closeQuietly(rs);
+            DatabaseUtil.closeQuietly(stmt);
+            DatabaseUtil.closeQuietly(conn);
+            sample.close();
+        }
+    }
+
+    // --- SEARCH ---
+    /**
+     * Searches ID, names, email and major using the full-text index. Every word typed must
+     * match the start of a word in one of the fields ("smi jo" finds "John Smith"), and the
+     * best matches come first. The cost depends on the number of matches, not the table size.
+     * @param query What the user typed.
+     * @param limit The maximum number of students to return.
+     * @return The matching students, or an empty list for a blank query or on error.
+     */
+    public List<Student> search(String query, int limit) {
+        String matchExpression = toMatchExpression(query);
+        if (matchExpression == null) {
+            return new ArrayList<>();
+        }
+        List<Student> matches = new ArrayList<>();
+        OperationMetrics.Sample sample = SEARCH_METRICS.start();
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DatabaseUtil.getConnection();
+            stmt = conn.prepareStatement(SEARCH_SQL);
+            stmt.setString(1, matchExpression);
+            stmt.setInt(2, limit);
+            rs = stmt.executeQuery();
+            while (rs.next()) {
+                matches.add(readStudent(rs));
+            }
+        } catch (SQLException e) {
+            sample.failed();
+            System.err.println("Error searching students: " + e.getMessage());
+        } finally {
+            DatabaseUtil.closeQuietly(rs);
+            DatabaseUtil.closeQuietly(stmt);
+            DatabaseUtil.closeQuietly(conn);
+            sample.close();
+        }
+        return matches;
+    }
+
+    /**
+     * Turns free text into an FTS5 query: each word becomes a quoted prefix term ("word"*),
+     * so characters with special meaning in FTS5 syntax are matched literally.
+     * @return The MATCH expression, or null if there is nothing to search for.
+     */
+    static String toMatchExpression(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        StringBuilder expression = new StringBuilder();
+        for (String word : query.trim().split("\\s+")) {
+            if (word.codePoints().noneMatch(Character::isLetterOrDigit)) {
+                continue; // Pure punctuation produces no tokens and would match nothing
+            }
+            if (expression.length() > 0) {
+                expression.append(' ');
+            }
+            expression.append('"').append(word.replace("\"", "\"\"")).append("\"*");
+        }
+        return expression.length() == 0 ? null : expression.toString();
+    }
+
+    /**
+     * Binds the three key columns (if any) and returns the index of the next parameter.
+     */
+    private static int bindKey(PreparedStatement stmt, StudentPageKey key) throws SQLException {
+        if (key == null) {
+            return 1;
+        }
+        stmt.setString(1, key.lastName());
+        stmt.setString(2, key.firstName());
+        stmt.setString(3, key.studentId());
+        return 4;
+    }
+
+    /**
+     * Creates a Student from the current row of a result set.
+     */
+    private static Student readStudent(ResultSet rs) throws SQLException {
+        return new Student(
+                rs.getString("student_id"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("email"),
+                StringDictionary.MAJORS.canonical(rs.getString("major"))
+        );
+    }
+
     // --- CREATE ---
     /**
      * Adds a new student record to the database.
@@ -65,36 +660,69 @@ public class StudentDAO {
      * @return true if the student was added successfully, false otherwise.
      */
     public boolean addStudent(Student student) {
-        // SQL query with placeholders (?) for safe parameter insertion
-        String sql = "INSERT INTO students(student_id, first_name, last_name, email, major) VALUES(?,?,?,?,?)";
+        return addStudentReturning(student) != null;
+    }
+
+    /**
+     * Adds a new student record and returns the row exactly as it was stored,
+     * so callers can insert it into their lists without re-reading the table.
+     * The record is checked with {@link StudentValidator} first.
+     * @param student The Student object containing the data to add.
+     * @return A new Student with the stored values, or null if the insert failed.
+     */
+    public Student addStudentReturning(Student student) {
+        ValidationResult check = StudentValidator.validate(student);
+        if (!check.isValid()) {
+            System.err.println("Error adding student: " + check.getMessage(" "));
+            return null;
+        }
+        if (GROUP_COMMIT) {
+            return awaitGroupCommit(ADD_METRICS, "adding", () -> GroupCommitWriter.shared().insert(student));
+        }
+        OperationMetrics.Sample sample = ADD_METRICS.start();
         Connection conn = null;
-        PreparedStatement pstmt = null;
+        StudentChangeFeed.LocalWrite local = null;
 
         try {
             conn = DatabaseUtil.getConnection();
-            pstmt = conn.prepareStatement(sql);
-
-            // Set the values for the placeholders
-            pstmt.setString(1, student.getStudentId());
-            pstmt.setString(2, student.getFirstName());
-            pstmt.setString(3, student.getLastName());
-            pstmt.setString(4, student.getEmail());
-            pstmt.setString(5, student.getMajor());
-
-            int affectedRows = pstmt.executeUpdate(); // Execute the insert statement
-            return affectedRows > 0; // Return true if one row was affected (successful insertion)
+            DatabaseUtil.beginImmediate(conn);
+            local = StudentChangeFeed.localWrite(conn);
+            Student stored = insertReturning(conn, student);
+            local.committing(conn);
+            conn.commit();
+            if (stored != null) {
+                inserted(stored);
+            }
+            return stored;
 
         } catch (SQLException e) {
+            sample.failed();
             System.err.println("Error adding student: " + e.getMessage());
+            rollbackQuietly(conn, local);
             // This error often occurs if the student_id already exists (PRIMARY KEY constraint violation)
             // Consider adding more specific error feedback to the user based on the SQLException type/code
-            return false; // Return false indicating failure
+            return null; // Return null indicating failure
         } finally {
-            DatabaseUtil.closeQuietly(pstmt);
             DatabaseUtil.closeQuietly(conn);
+            sample.close();
         }
     }
 
+    /**
+     * Adds a student through the group-commit writer (see {@link GroupCommitWriter}): the insert is
+     * committed together with whatever other writes are queued at the time.
+     * @param student The Student object containing the data to add.
+     * @return A future completed with the stored row once it is committed, or exceptionally if the
+     *         student is invalid or the insert failed.
+     */
+    public CompletableFuture<Student> addStudentAsync(Student student) {
+        ValidationResult check = StudentValidator.validate(student);
+        if (!check.isValid()) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(check.getMessage(" ")));
+        }
+        return GroupCommitWriter.shared().insert(student);
+    }
+
     // --- UPDATE ---
     /**
      * Updates an existing student record in the database.
@@ -103,34 +731,69 @@ public class StudentDAO {
      * @return true if the update was successful, false otherwise.
      */
     public boolean updateStudent(Student student) {
-        // SQL query to update fields based on the student_id
-        String sql = "UPDATE students SET first_name = ?, last_name = ?, email = ?, major = ? WHERE student_id = ?";
+        return updateStudentReturning(student) != null;
+    }
+
+    /**
+     * Updates an existing student record and returns the row as it is now stored.
+     * The record is checked with {@link StudentValidator} first.
+     * @param student The Student object containing the updated data (including the original student_id).
+     * @return A new Student with the stored values, or null if no row was updated or the update failed.
+     */
+    public Student updateStudentReturning(Student student) {
+        // The ID identifies an existing row here, so only its presence is checked
+        ValidationResult check = StudentValidator.validate(student, false);
+        if (!check.isValid()) {
+            System.err.println("Error updating student: " + check.getMessage(" "));
+            return null;
+        }
+        if (GROUP_COMMIT) {
+            return awaitGroupCommit(UPDATE_METRICS, "updating", () -> GroupCommitWriter.shared().update(student));
+        }
+        OperationMetrics.Sample sample = UPDATE_METRICS.start();
         Connection conn = null;
-        PreparedStatement pstmt = null;
+        StudentChangeFeed.LocalWrite local = null;
+        // Listeners are told the old row as well, so read it and update in one transaction. It must
+        // hold the write lock from the start: a deferred one would fail outright (SQLITE_BUSY_SNAPSHOT)
+        // if another connection committed between the read and the update.
+        boolean readBefore = hasChangeListeners();
 
         try {
             conn = DatabaseUtil.getConnection();
-            pstmt = conn.prepareStatement(sql);
-
-            // Set the values for the placeholders
-            pstmt.setString(1, student.getFirstName());
-            pstmt.setString(2, student.getLastName());
-            pstmt.setString(3, student.getEmail());
-            pstmt.setString(4, student.getMajor());
-            pstmt.setString(5, student.getStudentId()); // Use student_id in the WHERE clause
-
-            int affectedRows = pstmt.executeUpdate(); // Execute the update statement
-            return affectedRows > 0; // Return true if one row was affected
+            DatabaseUtil.beginImmediate(conn);
+            local = StudentChangeFeed.localWrite(conn);
+            Student before = readBefore ? readById(conn, student.getStudentId()) : null;
+            Student stored = updateReturning(conn, student); // null means no student had that ID
+            local.committing(conn);
+            conn.commit();
+            updated(student.getStudentId(), before, stored);
+            return stored;
 
         } catch (SQLException e) {
+            sample.failed();
             System.err.println("Error updating student: " + e.getMessage());
-            return false; // Return false indicating failure
+            rollbackQuietly(conn, local);
+            return null; // Return null indicating failure
         } finally {
-            DatabaseUtil.closeQuietly(pstmt);
             DatabaseUtil.closeQuietly(conn);
+            sample.close();
         }
     }
 
+    /**
+     * Updates a student through the group-commit writer (see {@link GroupCommitWriter}).
+     * @param student The Student object containing the updated data (including the original student_id).
+     * @return A future completed with the row as stored once committed (null if no student had the ID),
+     *         or exceptionally if the student is invalid or the update failed.
+     */
+    public CompletableFuture<Student> updateStudentAsync(Student student) {
+        ValidationResult check = StudentValidator.validate(student, false);
+        if (!check.isValid()) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(check.getMessage(" ")));
+        }
+        return GroupCommitWriter.shared().update(student);
+    }
+
     // --- DELETE ---
     /**
      * Deletes a student record from the database based on the student ID.
@@ -138,27 +801,646 @@ public class StudentDAO {
      * @return true if the deletion was successful, false otherwise.
      */
     public boolean deleteStudent(String studentId) {
-        // SQL query to delete a row based on student_id
-        String sql = "DELETE FROM students WHERE student_id = ?";
+        return deleteStudentReturning(studentId) != null;
+    }
+
+    /**
+     * Deletes a student record and returns the row that was removed.
+     * @param studentId The ID of the student to delete.
+     * @return The deleted student, or null if no row had that ID or the delete failed.
+     */
+    public Student deleteStudentReturning(String studentId) {
+        if (GROUP_COMMIT) {
+            return awaitGroupCommit(DELETE_METRICS, "deleting", () -> GroupCommitWriter.shared().delete(studentId));
+        }
+        OperationMetrics.Sample sample = DELETE_METRICS.start();
         Connection conn = null;
-        PreparedStatement pstmt = null;
+        StudentChangeFeed.LocalWrite local = null;
 
         try {
             conn = DatabaseUtil.getConnection();
-            pstmt = conn.prepareStatement(sql);
+            DatabaseUtil.beginImmediate(conn);
+            local = StudentChangeFeed.localWrite(conn);
+            Student deleted = deleteReturning(conn, studentId);
+            local.committing(conn);
+            conn.commit();
+            deleted(studentId, deleted);
+            return deleted;
+
+        } catch (SQLException e) {
+            sample.failed();
+            System.err.println("Error deleting student: " + e.getMessage());
+            rollbackQuietly(conn, local);
+            return null; // Return null indicating failure
+        } finally {
+            DatabaseUtil.closeQuietly(conn);
+            sample.close();
+        }
+    }
+
+    /**
+     * Deletes a student through the group-commit writer (see {@link GroupCommitWriter}).
+     * @param studentId The ID of the student to delete.
+     * @return A future completed with the deleted row once committed (null if no student had the ID),
+     *         or exceptionally if the delete failed.
+     */
+    public CompletableFuture<Student> deleteStudentAsync(String studentId) {
+        return GroupCommitWriter.shared().delete(studentId);
+    }
+
+    // --- SINGLE-ROW STATEMENTS ---
+    // Shared by the methods above and GroupCommitWriter, which runs many of them in one transaction.
+    // They only run SQL on the given connection; the caller notes its change log entries
+    // (StudentChangeFeed.localWrite), commits and then reports the change with inserted(),
+    // updated() or deleted().
 
-            // Set the value for the placeholder in the WHERE clause
+    /**
+     * @return The row as stored, or null if nothing was inserted.
+     */
+    static Student insertReturning(Connection conn, Student student) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(INSERT_RETURNING_SQL)) {
+            pstmt.setString(1, student.getStudentId());
+            pstmt.setString(2, student.getFirstName());
+            pstmt.setString(3, student.getLastName());
+            pstmt.setString(4, nullIfBlank(student.getEmail()));
+            pstmt.setString(5, nullIfBlank(student.getMajor()));
+            // RETURNING gives back the stored row; the statement has to finish before a commit
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? readStudent(rs) : null;
+            }
+        }
+    }
+
+    /**
+     * @return The row as now stored, or null if no student had the ID.
+     */
+    static Student updateReturning(Connection conn, Student student) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_RETURNING_SQL)) {
+            pstmt.setString(1, student.getFirstName());
+            pstmt.setString(2, student.getLastName());
+            pstmt.setString(3, nullIfBlank(student.getEmail()));
+            pstmt.setString(4, nullIfBlank(student.getMajor()));
+            pstmt.setString(5, student.getStudentId()); // Use student_id in the WHERE clause
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? readStudent(rs) : null;
+            }
+        }
+    }
+
+    /**
+     * @return The deleted row, or null if no student had the ID.
+     */
+    static Student deleteReturning(Connection conn, String studentId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(DELETE_RETURNING_SQL)) {
             pstmt.setString(1, studentId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? readStudent(rs) : null;
+            }
+        }
+    }
 
-            int affectedRows = pstmt.executeUpdate(); // Execute the delete statement
-            return affectedRows > 0; // Return true if one row was affected
+    // Cache and listener updates for a committed write
+    static void inserted(Student stored) {
+        CACHE.written(stored);
+        fireRowChanged(null, stored);
+    }
+
+    static void updated(String studentId, Student before, Student stored) {
+        if (stored == null) {
+            CACHE.invalidate(List.of(studentId));
+            return;
+        }
+        CACHE.written(stored);
+        fireRowChanged(before, stored);
+    }
+
+    static void deleted(String studentId, Student deleted) {
+        CACHE.invalidate(List.of(studentId));
+        if (deleted != null) {
+            fireRowChanged(deleted, null);
+        }
+    }
 
+    /**
+     * Runs a synchronous single-row write through the group-commit writer: the caller's thread waits
+     * until its batch commits, and failures come back as null like the direct path. The wait is
+     * bounded by {@code srs.groupCommit.timeoutMs} (default 30 s); a write that times out may still
+     * be committed later.
+     */
+    private static Student awaitGroupCommit(OperationMetrics metrics, String action,
+                                            Supplier<CompletableFuture<Student>> write) {
+        OperationMetrics.Sample sample = metrics.start();
+        try {
+            return write.get().get(GROUP_COMMIT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | CancellationException e) {
+            sample.failed();
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            System.err.println("Error " + action + " student: " + cause.getMessage());
+            return null;
+        } catch (TimeoutException e) {
+            sample.failed();
+            System.err.println("Error " + action + " student: no commit within " + GROUP_COMMIT_TIMEOUT_MS + " ms");
+            return null;
+        } catch (InterruptedException e) {
+            sample.failed();
+            Thread.currentThread().interrupt();
+            System.err.println("Interrupted while " + action + " student");
+            return null;
+        } finally {
+            sample.close();
+        }
+    }
+
+    // --- BATCH CREATE ---
+    /**
+     * Adds many students in a single transaction using JDBC batching.
+     * Rows whose student_id already exists are skipped and reported as DUPLICATE.
+     * @param students The students to add.
+     * @return One result per input row, in input order.
+     */
+    public List<BatchRowResult> addStudents(Collection<Student> students) {
+        return addStudents(students, DEFAULT_BATCH_CHUNK_SIZE);
+    }
+
+    /**
+     * Adds many students in a single transaction using JDBC batching.
+     * @param students The students to add.
+     * @param chunkSize How many rows to send per executeBatch() call.
+     * @return One result per input row, in input order.
+     */
+    public List<BatchRowResult> addStudents(Collection<Student> students, int chunkSize) {
+        return addStudents(students, chunkSize, true);
+    }
+
+    /**
+     * Adds many students in a single transaction using JDBC batching.
+     * @param students The students to add.
+     * @param chunkSize How many rows to send per executeBatch() call.
+     * @param validate false if the caller already checked every row with {@link StudentValidator}
+     *                 (only the NOT NULL columns are checked then).
+     * @return One result per input row, in input order.
+     */
+    public List<BatchRowResult> addStudents(Collection<Student> students, int chunkSize, boolean validate) {
+        return writeBatch(students, chunkSize, false, validate);
+    }
+
+    // --- BATCH UPSERT ---
+    /**
+     * Inserts new students and overwrites existing ones (matched by student_id)
+     * in a single transaction using JDBC batching.
+     * @param students The students to insert or update.
+     * @return One result per input row, in input order.
+     */
+    public List<BatchRowResult> upsertStudents(Collection<Student> students) {
+        return upsertStudents(students, DEFAULT_BATCH_CHUNK_SIZE);
+    }
+
+    /**
+     * Inserts new students and overwrites existing ones in a single transaction.
+     * @param students The students to insert or update.
+     * @param chunkSize How many rows to send per executeBatch() call.
+     * @return One result per input row, in input order.
+     */
+    public List<BatchRowResult> upsertStudents(Collection<Student> students, int chunkSize) {
+        return upsertStudents(students, chunkSize, true);
+    }
+
+    /**
+     * Inserts new students and overwrites existing ones in a single transaction.
+     * @param students The students to insert or update.
+     * @param chunkSize How many rows to send per executeBatch() call.
+     * @param validate false if the caller already checked every row with {@link StudentValidator}.
+     * @return One result per input row, in input order.
+     */
+    public List<BatchRowResult> upsertStudents(Collection<Student> students, int chunkSize, boolean validate) {
+        return writeBatch(students, chunkSize, true, validate);
+    }
+
+    /**
+     * Shared implementation of the batch methods. Everything is committed at the end in
+     * one transaction (one fsync instead of one per row); if any chunk fails the whole
+     * transaction is rolled back and every row is reported as FAILED.
+     * Rows failing validation are reported as INVALID and never sent to the database.
+     */
+    private List<BatchRowResult> writeBatch(Collection<Student> students, int chunkSize, boolean upsert,
+                                            boolean validate) {
+        if (students == null || students.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int effectiveChunkSize = Math.max(1, Math.min(chunkSize, MAX_BATCH_CHUNK_SIZE));
+        Student[] rows = students.toArray(new Student[0]);
+        BatchRowResult[] results = new BatchRowResult[rows.length];
+        OperationMetrics.Sample sample = (upsert ? UPSERT_BATCH_METRICS : ADD_BATCH_METRICS).start();
+        // Checked up front (in parallel for large batches), outside the transaction
+        List<ValidationResult> checks = validate ? StudentValidator.validateAll(Arrays.asList(rows), true) : null;
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        StudentChangeFeed.LocalWrite local = null;
+        try {
+            conn = DatabaseUtil.getConnection();
+            // The ID and email lookups read before the first write (see DatabaseUtil.beginImmediate)
+            DatabaseUtil.beginImmediate(conn);
+            local = StudentChangeFeed.localWrite(conn);
+            pstmt = conn.prepareStatement(upsert ? UPSERT_SQL : INSERT_OR_IGNORE_SQL);
+
+            List<Integer> valid = new ArrayList<>(rows.length);
+            for (int i = 0; i < rows.length; i++) {
+                Student student = rows[i];
+                String problem;
+                if (checks != null) {
+                    ValidationResult check = checks.get(i);
+                    problem = check.isValid() ? null : check.getMessage(" ");
+                } else {
+                    String missing = missingRequiredField(student);
+                    problem = missing == null ? null : missing + " is required";
+                }
+                if (problem != null) {
+                    results[i] = new BatchRowResult(i, student == null ? null : student.getStudentId(),
+                            BatchRowResult.Outcome.INVALID, problem);
+                } else {
+                    valid.add(i);
+                }
+            }
+            if (upsert) {
+                upsertRows(conn, pstmt, rows, valid, effectiveChunkSize, results);
+            } else {
+                insertRows(conn, pstmt, rows, valid, effectiveChunkSize, results);
+            }
+
+            local.committing(conn);
+            conn.commit();
+            CACHE.invalidate(writtenIds(rows));
+            fireBatchWritten(rows, results);
+            return Arrays.asList(results);
         } catch (SQLException e) {
-            System.err.println("Error deleting student: " + e.getMessage());
-            return false; // Return false indicating failure
+            sample.failed();
+            System.err.println("Error writing student batch, rolling back: " + e.getMessage());
+            rollbackQuietly(conn, local);
+            List<BatchRowResult> failed = new ArrayList<>(rows.length);
+            for (int i = 0; i < rows.length; i++) {
+                BatchRowResult previous = results[i];
+                if (previous != null && previous.getOutcome() == BatchRowResult.Outcome.INVALID) {
+                    failed.add(previous); // Never reached the database, keep the more specific reason
+                } else {
+                    failed.add(new BatchRowResult(i, rows[i] == null ? null : rows[i].getStudentId(),
+                            BatchRowResult.Outcome.FAILED, e.getMessage()));
+                }
+            }
+            return failed;
         } finally {
             DatabaseUtil.closeQuietly(pstmt);
-            DatabaseUtil.closeQuietly(conn);
+            DatabaseUtil.closeQuietly(conn); // Returning the connection to the pool restores autocommit
+            sample.close();
+        }
+    }
+
+    /**
+     * Inserts the valid rows chunk by chunk. Rows whose student ID already exists are left alone
+     * and reported as DUPLICATE, as are rows whose email belongs to another student.
+     */
+    private void insertRows(Connection conn, PreparedStatement pstmt, Student[] rows, List<Integer> valid,
+                            int chunkSize, BatchRowResult[] results) throws SQLException {
+        // Which student each email belongs to, and the IDs taken, from the table and from rows
+        // inserted earlier in this call
+        Map<String, String> emailOwners = new HashMap<>();
+        Set<String> takenIds = new HashSet<>();
+        List<Integer> chunk = new ArrayList<>(chunkSize);
+        for (int start = 0; start < valid.size(); start += chunkSize) {
+            chunk.clear();
+            chunk.addAll(valid.subList(start, Math.min(valid.size(), start + chunkSize)));
+            dropEmailConflicts(conn, rows, chunk, emailOwners, takenIds, results);
+            if (chunk.isEmpty()) {
+                continue;
+            }
+            int[] counts = executeChunk(pstmt, rows, chunk);
+            for (int j = 0; j < chunk.size(); j++) {
+                int i = chunk.get(j);
+                String id = rows[i].getStudentId();
+                if (j < counts.length && counts[j] == 0) {
+                    results[i] = new BatchRowResult(i, id, BatchRowResult.Outcome.DUPLICATE,
+                            "Student ID already exists");
+                } else {
+                    results[i] = new BatchRowResult(i, id, BatchRowResult.Outcome.INSERTED, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts or overwrites the valid rows. Email ownership is decided on the table as it will be
+     * after the batch (see {@link #resolveUpsertEmails}), so an email the batch moves from one
+     * student to another isn't reported as taken. Only the last accepted row of each student ID is
+     * written, since the upsert overwrites every column; earlier rows for that ID are reported as
+     * written all the same.
+     */
+    private void upsertRows(Connection conn, PreparedStatement pstmt, Student[] rows, List<Integer> valid,
+                            int chunkSize, BatchRowResult[] results) throws SQLException {
+        Set<String> ids = new LinkedHashSet<>();
+        Set<String> emails = new LinkedHashSet<>();
+        for (int i : valid) {
+            ids.add(rows[i].getStudentId());
+            if (hasEmail(rows[i].getEmail())) {
+                emails.add(rows[i].getEmail());
+            }
+        }
+        Map<String, String> storedEmails = findStoredEmails(conn, ids);
+        Map<String, String> emailOwners = findEmailOwners(conn, emails);
+        Map<String, Integer> lastRows = resolveUpsertEmails(rows, valid, storedEmails, emailOwners, results);
+
+        // Students giving their email to another one lose it first: the unique index is checked per
+        // statement, so the taker's row may not run while the old owner still has it (e.g. a swap)
+        List<String> releasing = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : lastRows.entrySet()) {
+            String stored = storedEmails.get(entry.getKey());
+            if (stored != null && emailOwners.containsKey(stored)
+                    && !stored.equals(nullIfBlank(rows[entry.getValue()].getEmail()))) {
+                releasing.add(entry.getKey());
+            }
+        }
+        if (!releasing.isEmpty()) {
+            try (PreparedStatement release = conn.prepareStatement(RELEASE_EMAIL_SQL)) {
+                for (String id : releasing) {
+                    release.setString(1, id);
+                    release.addBatch();
+                }
+                release.executeBatch();
+            }
+        }
+
+        List<Integer> written = new ArrayList<>(lastRows.values());
+        Collections.sort(written);
+        for (int start = 0; start < written.size(); start += chunkSize) {
+            executeChunk(pstmt, rows, written.subList(start, Math.min(written.size(), start + chunkSize)));
+        }
+
+        // IDs reported earlier in this call, so repeats within the input are reported as updates
+        Set<String> seenIds = new HashSet<>();
+        for (int i : valid) {
+            if (results[i] != null) {
+                continue; // DUPLICATE
+            }
+            String id = rows[i].getStudentId();
+            boolean existed = storedEmails.containsKey(id) || !seenIds.add(id);
+            results[i] = new BatchRowResult(i, id,
+                    existed ? BatchRowResult.Outcome.UPDATED : BatchRowResult.Outcome.INSERTED, null);
+        }
+    }
+
+    /**
+     * Decides which upsert rows keep their email, on the table as it will be after the batch: each
+     * student ID ends up with the email of its last accepted row, and students outside the batch
+     * keep theirs. Of several students ending up with the same email, the one that already has it
+     * keeps it, otherwise the earliest row; the others are reported as DUPLICATE. Dropping a row
+     * makes the previous row for its ID the last one, so this repeats until nothing is dropped.
+     * @param storedEmails Current email (or null) of every batch student ID already in the table.
+     * @param emailOwners Current owner of every email named in the batch.
+     * @return The index of the last accepted row of each student ID, in first-seen order.
+     */
+    private static Map<String, Integer> resolveUpsertEmails(Student[] rows, List<Integer> valid,
+                                                            Map<String, String> storedEmails,
+                                                            Map<String, String> emailOwners,
+                                                            BatchRowResult[] results) {
+        while (true) {
+            Map<String, Integer> lastRows = new LinkedHashMap<>();
+            for (int i : valid) {
+                if (results[i] == null) {
+                    lastRows.put(rows[i].getStudentId(), i);
+                }
+            }
+            Map<String, String> claims = new HashMap<>();
+            for (Map.Entry<String, String> owner : emailOwners.entrySet()) {
+                if (!lastRows.containsKey(owner.getValue())) {
+                    claims.put(owner.getKey(), owner.getValue());
+                }
+            }
+            for (Map.Entry<String, Integer> entry : lastRows.entrySet()) {
+                String email = rows[entry.getValue()].getEmail();
+                if (hasEmail(email) && email.equals(storedEmails.get(entry.getKey()))) {
+                    claims.put(email, entry.getKey());
+                }
+            }
+            boolean dropped = false;
+            for (int i : valid) {
+                String id = rows[i].getStudentId();
+                String email = rows[i].getEmail();
+                if (results[i] != null || lastRows.get(id) != i || !hasEmail(email)) {
+                    continue;
+                }
+                String owner = claims.putIfAbsent(email, id);
+                if (owner != null && !owner.equals(id)) {
+                    results[i] = new BatchRowResult(i, id, BatchRowResult.Outcome.DUPLICATE,
+                            "Email already belongs to student " + owner);
+                    dropped = true;
+                }
+            }
+            if (!dropped) {
+                return lastRows;
+            }
+        }
+    }
+
+    /**
+     * Binds the chunk's rows to the insert or upsert statement and runs them as one batch.
+     * @return The update count of each row.
+     */
+    private static int[] executeChunk(PreparedStatement pstmt, Student[] rows, List<Integer> chunk)
+            throws SQLException {
+        for (int i : chunk) {
+            Student student = rows[i];
+            pstmt.setString(1, student.getStudentId());
+            pstmt.setString(2, student.getFirstName());
+            pstmt.setString(3, student.getLastName());
+            pstmt.setString(4, nullIfBlank(student.getEmail()));
+            pstmt.setString(5, nullIfBlank(student.getMajor()));
+            pstmt.addBatch();
+        }
+        return pstmt.executeBatch();
+    }
+
+    // IDs a batch may have changed, for cache invalidation
+    private static List<String> writtenIds(Student[] rows) {
+        List<String> ids = new ArrayList<>(rows.length);
+        for (Student student : rows) {
+            if (student != null && student.getStudentId() != null) {
+                ids.add(student.getStudentId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the current email (null if none) of each of the given student IDs that is already in
+     * the table, looked up MAX_BATCH_CHUNK_SIZE IDs per IN (...) query.
+     */
+    private static Map<String, String> findStoredEmails(Connection conn, Collection<String> ids) throws SQLException {
+        Map<String, String> stored = new HashMap<>();
+        List<String> all = new ArrayList<>(ids);
+        for (int start = 0; start < all.size(); start += MAX_BATCH_CHUNK_SIZE) {
+            List<String> part = all.subList(start, Math.min(all.size(), start + MAX_BATCH_CHUNK_SIZE));
+            try (PreparedStatement lookup = conn.prepareStatement(String.format(STORED_EMAILS_SQL, placeholders(part.size())))) {
+                for (int j = 0; j < part.size(); j++) {
+                    lookup.setString(j + 1, part.get(j));
+                }
+                try (ResultSet rs = lookup.executeQuery()) {
+                    while (rs.next()) {
+                        stored.put(rs.getString(1), nullIfBlank(rs.getString(2)));
+                    }
+                }
+            }
+        }
+        return stored;
+    }
+
+    /**
+     * Returns which student each of the given emails belongs to in the table (emails nobody has are
+     * left out), looked up MAX_BATCH_CHUNK_SIZE emails per IN (...) query.
+     */
+    private static Map<String, String> findEmailOwners(Connection conn, Collection<String> emails) throws SQLException {
+        Map<String, String> owners = new HashMap<>();
+        List<String> all = new ArrayList<>(emails);
+        for (int start = 0; start < all.size(); start += MAX_BATCH_CHUNK_SIZE) {
+            List<String> part = all.subList(start, Math.min(all.size(), start + MAX_BATCH_CHUNK_SIZE));
+            try (PreparedStatement lookup = conn.prepareStatement(String.format(EMAIL_OWNERS_SQL, placeholders(part.size())))) {
+                for (int j = 0; j < part.size(); j++) {
+                    lookup.setString(j + 1, part.get(j));
+                }
+                try (ResultSet rs = lookup.executeQuery()) {
+                    while (rs.next()) {
+                        owners.putIfAbsent(rs.getString(1), rs.getString(2));
+                    }
+                }
+            }
+        }
+        return owners;
+    }
+
+    /**
+     * Removes rows from the chunk whose email already belongs to a different student (in the table
+     * or earlier in this call) and reports them as DUPLICATE, so a single clash with the unique
+     * email index doesn't roll back the whole transaction. Used by inserts, which never take an
+     * email away from a stored student. A row whose student ID is already taken is left for the
+     * insert to ignore, and claims neither the ID nor its email, since it won't be written.
+     */
+    private void dropEmailConflicts(Connection conn, Student[] rows, List<Integer> chunk, Map<String, String> emailOwners,
+                                    Set<String> takenIds, BatchRowResult[] results) throws SQLException {
+        Set<String> unknown = new LinkedHashSet<>();
+        Set<String> ids = new LinkedHashSet<>();
+        for (int i : chunk) {
+            String email = rows[i].getEmail();
+            if (hasEmail(email) && !emailOwners.containsKey(email)) {
+                unknown.add(email);
+            }
+            ids.add(rows[i].getStudentId());
+        }
+        if (!unknown.isEmpty()) {
+            findEmailOwners(conn, unknown).forEach(emailOwners::putIfAbsent);
+        }
+        takenIds.addAll(findStoredEmails(conn, ids).keySet());
+
+        Iterator<Integer> it = chunk.iterator();
+        while (it.hasNext()) {
+            int i = it.next();
+            Student student = rows[i];
+            if (takenIds.contains(student.getStudentId())) {
+                continue; // Ignored by the insert, reported as DUPLICATE
+            }
+            if (!hasEmail(student.getEmail())) {
+                takenIds.add(student.getStudentId());
+                continue;
+            }
+            String owner = emailOwners.putIfAbsent(student.getEmail(), student.getStudentId());
+            if (owner != null && !owner.equals(student.getStudentId())) {
+                results[i] = new BatchRowResult(i, student.getStudentId(), BatchRowResult.Outcome.DUPLICATE,
+                        "Email already belongs to student " + owner);
+                it.remove();
+            } else {
+                takenIds.add(student.getStudentId());
+            }
+        }
+    }
+
+    /**
+     * Optional fields left blank are stored as NULL (schema migration 4 converted the older rows).
+     */
+    private static String nullIfBlank(String value) {
+        return value == null || value.trim().isEmpty() ? null : value;
+    }
+
+    private static boolean hasEmail(String email) {
+        return nullIfBlank(email) != null;
+    }
+
+    /**
+     * @return "?,?,...,?" with the given number of placeholders.
+     */
+    private static String placeholders(int count) {
+        StringBuilder sql = new StringBuilder(count * 2);
+        for (int j = 0; j < count; j++) {
+            sql.append(j == 0 ? "?" : ",?");
+        }
+        return sql.toString();
+    }
+
+    // --- QUERY PLANS ---
+    /**
+     * Every query this DAO reads with, for {@link QueryPlanCheck}. The IN (...) lookups are
+     * checked in their two-value form; the plan is the same for any number of values.
+     */
+    static List<QueryPlanCheck.Query> plannedQueries() {
+        return List.of(
+                new QueryPlanCheck.Query("getAllStudents", SELECT_ALL_SQL, false),
+                new QueryPlanCheck.Query("getStudentsPage (first)", FIRST_PAGE_SQL, false),
+                new QueryPlanCheck.Query("getStudentsPage (next)", NEXT_PAGE_SQL, false),
+                new QueryPlanCheck.Query("getPageBoundary (first)", FIRST_BOUNDARY_SQL, false),
+                new QueryPlanCheck.Query("getPageBoundary (next)", NEXT_BOUNDARY_SQL, false),
+                new QueryPlanCheck.Query("countStudents", COUNT_SQL, false),
+                new QueryPlanCheck.Query("findById", FIND_BY_ID_SQL, true),
+                new QueryPlanCheck.Query("findByIds", String.format(FIND_BY_IDS_SQL, placeholders(2)), true),
+                new QueryPlanCheck.Query("streamStudents", STREAM_ALL_SQL, false),
+                new QueryPlanCheck.Query("search", SEARCH_SQL, false),
+                new QueryPlanCheck.Query("updateStudent", UPDATE_RETURNING_SQL, true),
+                new QueryPlanCheck.Query("deleteStudent", DELETE_RETURNING_SQL, true),
+                new QueryPlanCheck.Query("batch stored emails", String.format(STORED_EMAILS_SQL, placeholders(2)), true),
+                new QueryPlanCheck.Query("batch email release", RELEASE_EMAIL_SQL, true),
+                new QueryPlanCheck.Query("batch email owners", String.format(EMAIL_OWNERS_SQL, placeholders(2)), true));
+    }
+
+    /**
+     * @return The name of the first NOT NULL column the student has no value for, or null if complete.
+     */
+    private static String missingRequiredField(Student student) {
+        if (student == null) {
+            return "Student";
+        }
+        if (student.getStudentId() == null || student.getStudentId().isEmpty()) {
+            return "Student ID";
+        }
+        if (student.getFirstName() == null) {
+            return "First name";
+        }
+        if (student.getLastName() == null) {
+            return "Last name";
+        }
+        return null;
+    }
+
+    /**
+     * Rolls back the connection's transaction, if one began, after forgetting its change log entries.
+     */
+    private static void rollbackQuietly(Connection conn, StudentChangeFeed.LocalWrite local) {
+        if (local != null) {
+            local.abandon();
+        }
+        if (conn != null) {
+            try {
+                if (conn.getAutoCommit()) {
+                    return; // The transaction never began (e.g. BEGIN IMMEDIATE timed out)
+                }
+                conn.rollback();
+            } catch (SQLException e) {
+                System.err.println("Error rolling back transaction: " + e.getMessage());
+            }
         }
     }
 }
@@ -0,0 +1,18 @@
+package com.example.studentrecordsystem.dao;
+
+import com.example.studentrecordsystem.model.Student;
+
+/**
+ * Position of a row in the table's display order (last name, first name, student ID).
+ * Used for keyset pagination: a page is "the next N rows after this key", which SQLite
+ * can answer without counting through all the rows before it the way OFFSET does.
+ */
+public record StudentPageKey(String lastName, String firstName, String studentId) {
+
+    /**
+     * @return The key of the given student's row.
+     */
+    public static StudentPageKey of(Student student) {
+        return new StudentPageKey(student.getLastName(), student.getFirstName(), student.getStudentId());
+    }
+}
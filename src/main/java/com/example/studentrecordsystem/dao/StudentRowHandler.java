@@ -0,0 +1,12 @@
+package com.example.studentrecordsystem.dao;
+
+import java.io.IOException;
+
+/**
+ * Receives rows one at a time from {@link StudentDAO#streamStudents}, as plain column values.
+ */
+@FunctionalInterface
+public interface StudentRowHandler {
+
+    void row(String studentId, String firstName, String lastName, String email, String major) throws IOException;
+}
@@ -0,0 +1,254 @@
+package com.example.studentrecordsystem.dao;
+
+import com.example.studentrecordsystem.io.StudentSnapshot;
+import com.example.studentrecordsystem.metrics.Metrics;
+import com.example.studentrecordsystem.metrics.OperationMetrics;
+import com.example.studentrecordsystem.model.Student;
+import com.example.studentrecordsystem.util.DatabaseUtil;
+import com.example.studentrecordsystem.util.MigrationRunner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a {@link StudentSnapshot} of the students table next to the database, so the main view can
+ * show the rows of a cold start before SQLite has read them, and brings a loaded snapshot up to date.
+ * <p>
+ * A snapshot is tagged with the last entry of the change log ({@code student_changes}, schema
+ * migration 5) it includes. {@link #reconcile} then compares it with the database in one read
+ * transaction: an unchanged log (and row count) means the snapshot is current; otherwise the rows
+ * named by the newer log entries are read and returned as changes. If those entries were pruned,
+ * the schema changed, or the log is behind the snapshot (a different or restored database), it
+ * asks for a reload instead.
+ * <p>
+ * Snapshots are saved every {@code srs.snapshot.saveIntervalSeconds} seconds (default 300) and at
+ * shutdown, each time only if the log has moved since the last one. Tables over
+ * {@code srs.snapshot.maxRows} rows (default: the main view's in-memory limit) get none, since the
+ * view pages them anyway. {@code -Dsrs.snapshot.enabled=false} turns snapshots off and
+ * {@code srs.snapshot.file} moves the file (default: the database file plus {@code .snapshot}).
+ */
+public final class StudentSnapshotStore {
+
+    public static final boolean ENABLED =
+            Boolean.parseBoolean(System.getProperty("srs.snapshot.enabled", "true"));
+    private static final Path FILE = Path.of(System.getProperty("srs.snapshot.file",
+            DatabaseUtil.getDatabaseFile() + ".snapshot"));
+    private static final int MAX_ROWS = Integer.getInteger("srs.snapshot.maxRows",
+            Integer.getInteger("srs.view.inMemoryLimit", 50_000));
+    private static final long SAVE_INTERVAL_SECONDS = Long.getLong("srs.snapshot.saveIntervalSeconds", 300L);
+    // More changed students than this and a full reload is cheaper than reading them by ID
+    private static final int MAX_CHANGES = Integer.getInteger("srs.changes.maxBatch", 10_000);
+
+    private static final String LAST_SEQ_SQL = "SELECT COALESCE(MAX(seq), 0) FROM student_changes";
+    private static final String FIRST_SEQ_SQL = "SELECT MIN(seq) FROM student_changes";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM students";
+    private static final String CHANGED_IDS_SQL =
+            "SELECT DISTINCT student_id FROM student_changes WHERE seq > ? LIMIT ?";
+
+    private static final StudentChangeFeed.Changes UNCHANGED =
+            new StudentChangeFeed.Changes(List.of(), List.of(), false);
+    private static final StudentChangeFeed.Changes RELOAD =
+            new StudentChangeFeed.Changes(List.of(), List.of(), true);
+
+    /**
+     * What {@link #reconcile} found.
+     * @param changes What to apply to the snapshot's rows.
+     * @param changeSeq The last change log entry they bring it up to (see StudentChangeFeed#readFrom).
+     */
+    public record Reconciliation(StudentChangeFeed.Changes changes, long changeSeq) {
+    }
+
+    private static final OperationMetrics LOAD_METRICS = Metrics.operation("StudentSnapshotStore.load");
+    private static final OperationMetrics RECONCILE_METRICS = Metrics.operation("StudentSnapshotStore.reconcile");
+    private static final OperationMetrics SAVE_METRICS = Metrics.operation("StudentSnapshotStore.save");
+
+    private static long savedSeq = -1;               // Log position of the file on disk; guarded by StudentSnapshotStore.class
+    private static ScheduledExecutorService saver;   // Guarded by StudentSnapshotStore.class
+
+    private StudentSnapshotStore() {
+    }
+
+    /**
+     * Reads the snapshot file. Doesn't touch the database, so it can run while it is still being
+     * initialized.
+     * @return The snapshot, or null if snapshots are off, there is none, or it is unreadable.
+     */
+    public static StudentSnapshot load() {
+        if (!ENABLED) {
+            return null;
+        }
+        OperationMetrics.Sample sample = LOAD_METRICS.start();
+        try {
+            StudentSnapshot snapshot = StudentSnapshot.read(FILE);
+            if (snapshot != null) {
+                synchronized (StudentSnapshotStore.class) {
+                    savedSeq = snapshot.getChangeSeq();
+                }
+            }
+            return snapshot;
+        } catch (IOException e) {
+            // Overwritten by the next save
+            sample.failed();
+            System.err.println("Ignoring the student snapshot: " + e.getMessage());
+            return null;
+        } finally {
+            sample.close();
+        }
+    }
+
+    /**
+     * Compares a loaded snapshot with the database.
+     * @return Nothing if the snapshot is current; the students changed since it was taken (as stored
+     *         now, or among the deleted IDs); or a reload if that can't be worked out from the log.
+     *         Each with the log position read in the same transaction.
+     */
+    public static Reconciliation reconcile(StudentSnapshot snapshot) throws SQLException {
+        OperationMetrics.Sample sample = RECONCILE_METRICS.start();
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                long since = snapshot.getChangeSeq();
+                long last = queryLong(conn, LAST_SEQ_SQL);
+                if (last < since || MigrationRunner.currentVersion(conn) != snapshot.getSchemaVersion()) {
+                    return new Reconciliation(RELOAD, last);
+                }
+                if (last == since) {
+                    return new Reconciliation(
+                            queryLong(conn, COUNT_SQL) == snapshot.getStudents().size() ? UNCHANGED : RELOAD, last);
+                }
+                if (queryLong(conn, FIRST_SEQ_SQL) > since + 1) {
+                    return new Reconciliation(RELOAD, last); // Entries after the snapshot were pruned
+                }
+                List<String> changedIds = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(CHANGED_IDS_SQL)) {
+                    stmt.setLong(1, since);
+                    stmt.setInt(2, MAX_CHANGES + 1);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            changedIds.add(rs.getString(1));
+                        }
+                    }
+                }
+                if (changedIds.size() > MAX_CHANGES) {
+                    return new Reconciliation(RELOAD, last);
+                }
+                List<Student> current = StudentDAO.readByIds(conn, changedIds);
+                Set<String> deleted = new LinkedHashSet<>(changedIds);
+                for (Student student : current) {
+                    deleted.remove(student.getStudentId());
+                }
+                return new Reconciliation(new StudentChangeFeed.Changes(current, new ArrayList<>(deleted), false), last);
+            } finally {
+                conn.rollback(); // Only read; ends the transaction
+            }
+        } catch (SQLException e) {
+            sample.failed();
+            throw e;
+        } finally {
+            sample.close();
+        }
+    }
+
+    /**
+     * Writes a snapshot of the table as it is now, unless the change log hasn't moved since the last
+     * one was written or read. A table over the row limit has its snapshot removed instead.
+     * @return true if a snapshot was written.
+     */
+    public static synchronized boolean save() {
+        if (!ENABLED) {
+            return false;
+        }
+        OperationMetrics.Sample sample = SAVE_METRICS.start();
+        try {
+            StudentSnapshot snapshot;
+            try (Connection conn = DatabaseUtil.getConnection()) {
+                conn.setAutoCommit(false);
+                try {
+                    long seq = queryLong(conn, LAST_SEQ_SQL);
+                    if (seq == savedSeq) {
+                        return false;
+                    }
+                    if (queryLong(conn, COUNT_SQL) > MAX_ROWS) {
+                        Files.deleteIfExists(FILE);
+                        savedSeq = seq;
+                        return false;
+                    }
+                    // Rows and log position from the same read transaction, so they agree
+                    snapshot = new StudentSnapshot(StudentDAO.readAll(conn), seq, MigrationRunner.currentVersion(conn));
+                } finally {
+                    conn.rollback();
+                }
+            }
+            snapshot.write(FILE);
+            savedSeq = snapshot.getChangeSeq();
+            return true;
+        } catch (SQLException | IOException e) {
+            sample.failed();
+            System.err.println("Error saving the student snapshot: " + e.getMessage());
+            return false;
+        } finally {
+            sample.close();
+        }
+    }
+
+    /**
+     * Starts saving a snapshot every {@code srs.snapshot.saveIntervalSeconds}; {@link #stop()} then
+     * saves a last one. Does nothing if snapshots are off or saves already run.
+     */
+    public static synchronized void startPeriodicSaves() {
+        if (!ENABLED || saver != null) {
+            return;
+        }
+        saver = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "student-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (SAVE_INTERVAL_SECONDS > 0) {
+            saver.scheduleWithFixedDelay(StudentSnapshotStore::save,
+                    SAVE_INTERVAL_SECONDS, SAVE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic saves and saves once more, if they were started. Called from
+     * {@link DaoExecutor#shutdown()}, after the last writes and before the connection pool is closed.
+     */
+    public static void stop() {
+        ScheduledExecutorService current;
+        synchronized (StudentSnapshotStore.class) {
+            current = saver;
+            saver = null;
+        }
+        if (current == null) {
+            return;
+        }
+        current.shutdown(); // A save in progress finishes; interrupting it would abandon the file
+        try {
+            current.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        save();
+    }
+
+    private static long queryLong(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+}
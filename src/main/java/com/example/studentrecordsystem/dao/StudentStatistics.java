@@ -0,0 +1,21 @@
+package com.example.studentrecordsystem.dao;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Summary numbers for the students table (see {@link StudentStatisticsDAO}).
+ * @param majors Students per major, most common first (students without a major are not listed).
+ * @param emailDomains Students per email domain (lower case), most common first.
+ * @param loadedAt When the numbers were last read from the database; they are kept current from
+ *                 the DAO's writes since then.
+ */
+public record StudentStatistics(long totalStudents, long missingEmail, long missingMajor, long missingName,
+                                List<Count> majors, List<Count> emailDomains, Instant loadedAt) {
+
+    /**
+     * How many students share one value.
+     */
+    public record Count(String value, long count) {
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.studentrecordsystem.dao;
+
+import com.example.studentrecordsystem.metrics.Metrics;
+import com.example.studentrecordsystem.metrics.OperationMetrics;
+import com.example.studentrecordsystem.model.Student;
+import com.example.studentrecordsystem.util.DatabaseUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Per-major counts, email domains and missing-field counts for the students table.
+ * <p>
+ * The numbers are computed in SQLite with GROUP BY queries (no Student objects are loaded) the first
+ * time they are asked for, then kept in memory. Registered as a {@link StudentChangeListener}, the
+ * DAO adjusts the counts for each row written through {@link StudentDAO} instead of querying again;
+ * only a change without known old values (a batch upsert) or {@link #invalidate()} makes the next
+ * {@link #getStatistics()} read the table again.
+ */
+public class StudentStatisticsDAO implements StudentChangeListener {
+
+    // One pass over the table for the totals
+    private static final String TOTALS_SQL = "SELECT COUNT(*)," +
+            " COALESCE(SUM(email IS NULL OR trim(email) = ''), 0)," +
+            " COALESCE(SUM(major IS NULL OR trim(major) = ''), 0)," +
+            " COALESCE(SUM(trim(first_name) = '' OR trim(last_name) = ''), 0)" +
+            " FROM students";
+    // Walks idx_students_major in order, so the groups come out without sorting
+    private static final String MAJORS_SQL =
+            "SELECT major, COUNT(*) FROM students WHERE major IS NOT NULL AND trim(major) <> '' GROUP BY major";
+    // Reads only the partial email index (email IS NOT NULL AND email <> '')
+    private static final String EMAIL_DOMAINS_SQL =
+            "SELECT lower(substr(email, instr(email, '@') + 1)), COUNT(*) FROM students" +
+            " WHERE email IS NOT NULL AND email <> '' AND trim(email) <> '' GROUP BY 1";
+
+    // Writes that land while the table is being read make the load start over, at most this often
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+    private static final OperationMetrics LOAD_METRICS = Metrics.operation("StudentStatisticsDAO.load");
+
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by this
+    private Counts counts;                 // null until loaded, or after invalidate()
+    private StudentStatistics snapshot;    // Last result handed out; null once the counts change
+    private long changeCount = 0;          // Incremented by every change, to detect changes during a load
+    private Instant loadedAt;
+
+    /**
+     * Returns the current statistics, reading the table only if they aren't already known.
+     * Call it off the FX thread: the first call (and the first after an invalidation) runs the queries.
+     */
+    public StudentStatistics getStatistics() throws SQLException {
+        synchronized (this) {
+            if (snapshot != null) {
+                return snapshot;
+            }
+            if (counts != null) {
+                snapshot = counts.toStatistics(loadedAt);
+                return snapshot;
+            }
+        }
+        for (int attempt = 1; ; attempt++) {
+            long changesBefore;
+            synchronized (this) {
+                changesBefore = changeCount;
+            }
+            Counts loaded = load();
+            synchronized (this) {
+                // A write during the load may or may not be in what was read; read again to be sure
+                if (changeCount == changesBefore || attempt >= MAX_LOAD_ATTEMPTS) {
+                    counts = loaded;
+                    loadedAt = Instant.now();
+                    snapshot = counts.toStatistics(loadedAt);
+                    return snapshot;
+                }
+            }
+        }
+    }
+
+    /**
+     * Forgets the statistics so the next {@link #getStatistics()} reads the table again
+     * (e.g. after other programs changed the database).
+     */
+    public void invalidate() {
+        synchronized (this) {
+            counts = null;
+            snapshot = null;
+            changeCount++;
+        }
+        fireChanged();
+    }
+
+    /**
+     * Adds a callback run (on the writing thread) when the statistics change after they were last
+     * read with {@link #getStatistics()}. Many changes in a row trigger it only once until the next read.
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    // --- StudentChangeListener ---
+
+    @Override
+    public void rowChanged(Student before, Student after) {
+        boolean notify;
+        synchronized (this) {
+            changeCount++;
+            if (counts != null) {
+                if (before != null) {
+                    counts.add(before, -1);
+                }
+                if (after != null) {
+                    counts.add(after, 1);
+                }
+            }
+            notify = snapshot != null;
+            snapshot = null;
+        }
+        if (notify) {
+            fireChanged();
+        }
+    }
+
+    @Override
+    public void tableChanged() {
+        invalidate();
+    }
+
+    private void fireChanged() {
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    // --- Queries ---
+
+    private static Counts load() throws SQLException {
+        Counts loaded = new Counts();
+        OperationMetrics.Sample sample = LOAD_METRICS.start();
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            // One read transaction, so the three queries see the same data
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(TOTALS_SQL);
+                     ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        loaded.total = rs.getLong(1);
+                        loaded.missingEmail = rs.getLong(2);
+                        loaded.missingMajor = rs.getLong(3);
+                        loaded.missingName = rs.getLong(4);
+                    }
+                }
+                readGroups(conn, MAJORS_SQL, loaded.majors);
+                readGroups(conn, EMAIL_DOMAINS_SQL, loaded.emailDomains);
+            } finally {
+                conn.rollback(); // Nothing was written; just end the read transaction
+            }
+        } catch (SQLException | RuntimeException e) {
+            sample.failed();
+            throw e;
+        } finally {
+            sample.close();
+        }
+        return loaded;
+    }
+
+    private static void readGroups(Connection conn, String sql, Map<String, Long> into) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                into.put(rs.getString(1), rs.getLong(2));
+            }
+        }
+    }
+
+    /**
+     * The read queries, for {@link QueryPlanCheck}.
+     */
+    static List<QueryPlanCheck.Query> plannedQueries() {
+        return List.of(
+                new QueryPlanCheck.Query("statistics totals", TOTALS_SQL, false),
+                new QueryPlanCheck.Query("statistics majors", MAJORS_SQL, false),
+                new QueryPlanCheck.Query("statistics email domains", EMAIL_DOMAINS_SQL, false));
+    }
+
+    // --- In-memory counts ---
+
+    /**
+     * The loaded numbers, adjusted row by row. Classifies a Student the same way the queries classify a row.
+     */
+    private static final class Counts {
+        private long total;
+        private long missingEmail;
+        private long missingMajor;
+        private long missingName;
+        private final Map<String, Long> majors = new HashMap<>();
+        private final Map<String, Long> emailDomains = new HashMap<>();
+
+        void add(Student student, int sign) {
+            total += sign;
+            String email = student.getEmail();
+            String major = student.getMajor();
+            if (isBlank(email)) {
+                missingEmail += sign;
+            } else {
+                adjust(emailDomains, emailDomain(email), sign);
+            }
+            if (isBlank(major)) {
+                missingMajor += sign;
+            } else {
+                adjust(majors, major, sign);
+            }
+            if (isBlank(student.getFirstName()) || isBlank(student.getLastName())) {
+                missingName += sign;
+            }
+        }
+
+        StudentStatistics toStatistics(Instant loadedAt) {
+            return new StudentStatistics(total, missingEmail, missingMajor, missingName,
+                    sorted(majors), sorted(emailDomains), loadedAt);
+        }
+
+        private static void adjust(Map<String, Long> groups, String key, int sign) {
+            groups.merge(key, (long) sign, (a, b) -> a + b == 0 ? null : a + b);
+        }
+
+        // Most common first, ties alphabetically
+        private static List<StudentStatistics.Count> sorted(Map<String, Long> groups) {
+            List<StudentStatistics.Count> list = new ArrayList<>(groups.size());
+            for (Map.Entry<String, Long> entry : groups.entrySet()) {
+                list.add(new StudentStatistics.Count(entry.getKey(), entry.getValue()));
+            }
+            list.sort(Comparator.comparingLong(StudentStatistics.Count::count).reversed()
+                    .thenComparing(StudentStatistics.Count::value));
+            return List.copyOf(list);
+        }
+
+        // Same as lower(substr(email, instr(email, '@') + 1)) in EMAIL_DOMAINS_SQL
+        private static String emailDomain(String email) {
+            return email.substring(email.indexOf('@') + 1).toLowerCase(Locale.ROOT);
+        }
+
+        private static boolean isBlank(String value) {
+            return value == null || value.trim().isEmpty();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.studentrecordsystem.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a compact columnar file, in the spirit of Parquet but with no dependencies.
+ * Rows are buffered into row groups; each group stores its columns one after another,
+ * so a reader can skip the columns it doesn't need. Only one row group is held in memory.
+ * <pre>
+ * file      := "SRSC" version:u8 rowGroup* footer
+ * rowGroup  := rowCount:i32 column(student_id) column(first_name) column(last_name) column(email) majorColumn
+ * column    := byteLength:i32 lengths:varint[rowCount] utf8Bytes    (length 0 = null, n + 1 = n bytes)
+ * majorColumn := byteLength:i32 dictSize:varint (len:varint utf8Bytes)[dictSize] codes:varint[rowCount]
+ *                                                                     (code 0 = null, k + 1 = dictionary entry k)
+ * footer    := rowGroupCount:i32 rowGroupOffset:i64[rowGroupCount] totalRows:i64 "SRSC"
+ * </pre>
+ * Integers are big-endian; offsets count bytes from the start of the (uncompressed) file.
+ * The major column is dictionary-encoded per row group, since a few majors repeat across all rows.
+ */
+class ColumnarExportWriter implements StudentExportWriter {
+
+    static final byte[] MAGIC = {'S', 'R', 'S', 'C'};
+    static final int VERSION = 1;
+    static final int DEFAULT_ROW_GROUP_SIZE = Integer.getInteger("srs.export.rowGroupSize", 65_536);
+
+    private final CountingOutputStream counter;
+    private final DataOutputStream out;
+    private final int rowGroupSize;
+
+    // Current row group: student_id, first_name, last_name, email
+    private final ByteArrayOutputStream[] lengths = new ByteArrayOutputStream[4];
+    private final ByteArrayOutputStream[] data = new ByteArrayOutputStream[4];
+    private final Map<String, Integer> majorDictionary = new HashMap<>();
+    private final List<byte[]> majorEntries = new ArrayList<>();
+    private final ByteArrayOutputStream majorCodes = new ByteArrayOutputStream();
+    private int rowsInGroup = 0;
+
+    private final List<Long> rowGroupOffsets = new ArrayList<>();
+    private long totalRows = 0;
+
+    ColumnarExportWriter(OutputStream out, int rowGroupSize) throws IOException {
+        this.counter = new CountingOutputStream(out);
+        this.out = new DataOutputStream(counter);
+        this.rowGroupSize = Math.max(1, rowGroupSize);
+        for (int i = 0; i < 4; i++) {
+            lengths[i] = new ByteArrayOutputStream();
+            data[i] = new ByteArrayOutputStream();
+        }
+        this.out.write(MAGIC);
+        this.out.writeByte(VERSION);
+    }
+
+    @Override
+    public void row(String studentId, String firstName, String lastName, String email, String major) throws IOException {
+        addValue(0, studentId);
+        addValue(1, firstName);
+        addValue(2, lastName);
+        addValue(3, email);
+        if (major == null) {
+            writeVarint(majorCodes, 0);
+        } else {
+            Integer code = majorDictionary.get(major);
+            if (code == null) {
+                code = majorEntries.size();
+                majorDictionary.put(major, code);
+                majorEntries.add(major.getBytes(StandardCharsets.UTF_8));
+            }
+            writeVarint(majorCodes, code + 1);
+        }
+        rowsInGroup++;
+        totalRows++;
+        if (rowsInGroup == rowGroupSize) {
+            flushRowGroup();
+        }
+    }
+
+    private void addValue(int column, String value) {
+        if (value == null) {
+            writeVarint(lengths[column], 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(lengths[column], bytes.length + 1);
+        data[column].write(bytes, 0, bytes.length);
+    }
+
+    private void flushRowGroup() throws IOException {
+        if (rowsInGroup == 0) {
+            return;
+        }
+        rowGroupOffsets.add(counter.count);
+        out.writeInt(rowsInGroup);
+        for (int i = 0; i < 4; i++) {
+            out.writeInt(lengths[i].size() + data[i].size());
+            lengths[i].writeTo(out);
+            data[i].writeTo(out);
+            lengths[i].reset();
+            data[i].reset();
+        }
+
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream();
+        writeVarint(dictionary, majorEntries.size());
+        for (byte[] entry : majorEntries) {
+            writeVarint(dictionary, entry.length);
+            dictionary.write(entry, 0, entry.length);
+        }
+        out.writeInt(dictionary.size() + majorCodes.size());
+        dictionary.writeTo(out);
+        majorCodes.writeTo(out);
+        majorCodes.reset();
+        majorDictionary.clear();
+        majorEntries.clear();
+        rowsInGroup = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushRowGroup();
+            out.writeInt(rowGroupOffsets.size());
+            for (long offset : rowGroupOffsets) {
+                out.writeLong(offset);
+            }
+            out.writeLong(totalRows);
+            out.write(MAGIC);
+        } finally {
+            out.close();
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer.write(value);
+    }
+
+    /**
+     * Tracks the file offset for the footer (DataOutputStream.size() is an int and overflows at 2 GB).
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count = 0;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
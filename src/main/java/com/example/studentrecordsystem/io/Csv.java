@@ -0,0 +1,53 @@
+package com.example.studentrecordsystem.io;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CSV output helpers shared by the import reject file and the exports.
+ */
+final class Csv {
+
+    private Csv() {
+    }
+
+    /**
+     * Writes one field, quoted only if it contains a comma, quote or line break. Null is written as empty.
+     */
+    static void writeField(Writer out, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    /**
+     * Writes a whole record followed by a line break.
+     */
+    static void writeRecord(Writer out, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeField(out, values[i]);
+        }
+        out.write('\n');
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.studentrecordsystem.io;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes rows as CSV with a header row (the database column names, which the import also accepts).
+ */
+class CsvExportWriter implements StudentExportWriter {
+
+    private final Writer out;
+
+    CsvExportWriter(Writer out) throws IOException {
+        this.out = out;
+        Csv.writeRecord(out, "student_id", "first_name", "last_name", "email", "major");
+    }
+
+    @Override
+    public void row(String studentId, String firstName, String lastName, String email, String major) throws IOException {
+        Csv.writeRecord(out, studentId, firstName, lastName, email, major);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.studentrecordsystem.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams student records from CSV (RFC 4180: comma separated, optional double quotes,
+ * {@code ""} for a quote inside a quoted field, line breaks allowed inside quotes).
+ * <p>
+ * If the first line names the columns (it must include a student ID column), columns are
+ * matched by name and may be in any order; otherwise the columns are taken as
+ * student ID, first name, last name, email, major. Blank lines are skipped.
+ */
+public class CsvStudentReader implements StudentRecordReader {
+
+    private final Reader in;
+    private final char[] buffer = new char[64 * 1024];
+    private int bufferPos = 0;
+    private int bufferLength = 0;
+    private long line = 1;
+    private boolean headerChecked = false;
+    // column index -> field index (-1 = ignored column)
+    private int[] columnToField = {0, 1, 2, 3, 4};
+
+    private final List<String> fields = new ArrayList<>(8);
+    private final StringBuilder field = new StringBuilder(64);
+
+    /**
+     * @param in The CSV text (not buffered further here; pass a plain Reader).
+     */
+    public CsvStudentReader(Reader in) {
+        this.in = in;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        while (true) {
+            long recordLine = line;
+            if (!readRecord()) {
+                return null;
+            }
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue; // Blank line
+            }
+            if (!headerChecked) {
+                headerChecked = true;
+                if (applyHeader()) {
+                    continue;
+                }
+            }
+            String[] values = new String[5];
+            for (int column = 0; column < fields.size() && column < columnToField.length; column++) {
+                int target = columnToField[column];
+                if (target >= 0) {
+                    values[target] = fields.get(column);
+                }
+            }
+            return new ImportRecord(recordLine, values[0], values[1], values[2], values[3], values[4]);
+        }
+    }
+
+    /**
+     * Uses the current record as the header if it names a student ID column.
+     * @return true if it was a header.
+     */
+    private boolean applyHeader() {
+        int[] mapping = new int[fields.size()];
+        boolean hasId = false;
+        for (int column = 0; column < fields.size(); column++) {
+            mapping[column] = StudentRecordReader.fieldIndex(fields.get(column));
+            hasId |= mapping[column] == 0;
+        }
+        if (hasId) {
+            columnToField = mapping;
+        }
+        return hasId;
+    }
+
+    /**
+     * Reads one record into {@link #fields}.
+     * @return false at the end of the input.
+     */
+    private boolean readRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        int c = read();
+        if (c < 0) {
+            return false;
+        }
+        boolean quoted = false;
+        boolean fieldStart = true;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new IOException("Unterminated quoted field at line " + line);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"'); // Escaped quote
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c < 0 || c == '\n') {
+                if (c == '\n') {
+                    line++;
+                }
+                endField();
+                return true;
+            } else if (c == '\r') {
+                // Dropped; the '\n' that follows ends the record
+            } else if (c == ',') {
+                endField();
+                fieldStart = true;
+                c = read();
+                continue;
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            fieldStart = false;
+            c = read();
+        }
+    }
+
+    private void endField() {
+        fields.add(field.toString());
+        field.setLength(0);
+    }
+
+    private int read() throws IOException {
+        if (bufferPos == bufferLength) {
+            bufferLength = in.read(buffer, 0, buffer.length);
+            bufferPos = 0;
+            if (bufferLength <= 0) {
+                bufferLength = 0;
+                return -1;
+            }
+        }
+        return buffer[bufferPos++];
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.studentrecordsystem.io;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * The file formats the export can write.
+ */
+public enum ExportFormat {
+    /** Comma separated, with a header row the import understands. */
+    CSV(".csv"),
+    /** One JSON object per line, with the database column names as keys. */
+    JSON_LINES(".jsonl"),
+    /** Compact binary columnar file, see {@link ColumnarExportWriter}. */
+    COLUMNAR(".srsc");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * @return The usual file extension, e.g. ".csv".
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Picks the format from the file extension, ignoring a trailing .gz (unknown extensions are CSV).
+     */
+    public static ExportFormat fromFileName(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json")) {
+            return JSON_LINES;
+        }
+        return name.endsWith(COLUMNAR.extension) ? COLUMNAR : CSV;
+    }
+
+    /**
+     * @return A writer producing this format on the (already buffered) stream.
+     */
+    StudentExportWriter open(OutputStream out) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvExportWriter(text(out));
+            case JSON_LINES -> new JsonLinesExportWriter(text(out));
+            case COLUMNAR -> new ColumnarExportWriter(out, ColumnarExportWriter.DEFAULT_ROW_GROUP_SIZE);
+        };
+    }
+
+    private static BufferedWriter text(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.studentrecordsystem.io;
+
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * The file formats the bulk import understands.
+ */
+public enum ImportFormat {
+    CSV,
+    JSON;
+
+    /**
+     * Picks the format from the file extension (.json, .jsonl and .ndjson are JSON; anything else is CSV).
+     */
+    public static ImportFormat fromFileName(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        return name.endsWith(".json") || name.endsWith(".jsonl") || name.endsWith(".ndjson") ? JSON : CSV;
+    }
+
+    /**
+     * @return A streaming reader for this format.
+     */
+    public StudentRecordReader open(Reader in) {
+        return this == JSON ? new JsonStudentReader(in) : new CsvStudentReader(in);
+    }
+}
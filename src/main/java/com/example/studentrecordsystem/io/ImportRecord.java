@@ -0,0 +1,27 @@
+package com.example.studentrecordsystem.io;
+
+import com.example.studentrecordsystem.model.Student;
+
+/**
+ * One record read from an import file, before validation.
+ * @param position Where the record starts in the file (line number for CSV, record number for JSON).
+ */
+public record ImportRecord(long position, String studentId, String firstName, String lastName,
+                           String email, String major) {
+
+    /**
+     * Builds the Student to store: values trimmed, optional fields left empty become null.
+     */
+    public Student toStudent() {
+        return new Student(trim(studentId), trim(firstName), trim(lastName),
+                emptyToNull(trim(email)), emptyToNull(trim(major)));
+    }
+
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
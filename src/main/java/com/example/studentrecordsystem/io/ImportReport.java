@@ -0,0 +1,42 @@
+package com.example.studentrecordsystem.io;
+
+import java.nio.file.Path;
+
+/**
+ * What a bulk import did.
+ * @param rowsRead Records read from the file.
+ * @param inserted Rows added to the table.
+ * @param updated Existing rows overwritten (upsert mode only).
+ * @param rejected Rows not written (failed validation, duplicate ID, or database error).
+ * @param rejectFile Where the rejected rows were written, or null if there were none.
+ * @param elapsedNanos Wall-clock time of the whole run.
+ * @param cancelled true if the run was stopped early; batches committed before that are kept.
+ */
+public record ImportReport(long rowsRead, long inserted, long updated, long rejected, Path rejectFile,
+                           long elapsedNanos, boolean cancelled) {
+
+    /**
+     * @return Records read per second over the whole run.
+     */
+    public double rowsPerSecond() {
+        return elapsedNanos <= 0 ? 0 : rowsRead * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * @return A one-paragraph summary for logs and dialogs.
+     */
+    public String summary() {
+        StringBuilder text = new StringBuilder();
+        text.append(cancelled ? "Import cancelled. " : "Import finished. ")
+                .append(String.format("%,d rows read, %,d inserted", rowsRead, inserted));
+        if (updated > 0) {
+            text.append(String.format(", %,d updated", updated));
+        }
+        text.append(String.format(", %,d rejected in %.1f s (%,.0f rows/s).",
+                rejected, elapsedNanos / 1e9, rowsPerSecond()));
+        if (rejectFile != null) {
+            text.append("\nRejected rows: ").append(rejectFile);
+        }
+        return text.toString();
+    }
+}
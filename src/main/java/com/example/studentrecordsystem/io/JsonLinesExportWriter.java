@@ -0,0 +1,27 @@
+package com.example.studentrecordsystem.io;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes one JSON object per line, keyed by the database column names (missing values are null).
+ */
+class JsonLinesExportWriter implements StudentExportWriter {
+
+    private final Writer out;
+
+    JsonLinesExportWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void row(String studentId, String firstName, String lastName, String email, String major) throws IOException {
+        JsonText.writeStudent(out, studentId, firstName, lastName, email, major);
+        out.write('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
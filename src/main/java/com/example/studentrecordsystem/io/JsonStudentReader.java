@@ -0,0 +1,229 @@
+package com.example.studentrecordsystem.io;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Streams student records from JSON: either one array of objects ({@code [{...}, {...}]})
+ * or JSON Lines (one object per line). Only one object is held in memory at a time.
+ * <p>
+ * Keys are matched like CSV headers (e.g. "student_id" or "studentId"); unknown keys and
+ * nested values are skipped. Numbers and booleans are kept as their text, null as null.
+ * The position reported for a record is its 1-based record number.
+ */
+public class JsonStudentReader implements StudentRecordReader {
+
+    private final Reader in;
+    private final char[] buffer = new char[64 * 1024];
+    private int bufferPos = 0;
+    private int bufferLength = 0;
+    private int peeked = -2; // -2: nothing peeked
+    private boolean started = false;
+    private boolean inArray = false;
+    private long recordNumber = 0;
+    private final StringBuilder text = new StringBuilder(64);
+
+    /**
+     * @param in The JSON text (not buffered further here; pass a plain Reader).
+     */
+    public JsonStudentReader(Reader in) {
+        this.in = in;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        int c = skipWhitespace();
+        if (!started) {
+            started = true;
+            if (c == '[') {
+                inArray = true;
+                read();
+                c = skipWhitespace();
+            }
+        }
+        if (inArray) {
+            if (c == ',') {
+                read();
+                c = skipWhitespace();
+            }
+            if (c == ']') {
+                read();
+                c = skipWhitespace();
+                if (c >= 0) {
+                    throw error("Unexpected content after the closing ']'");
+                }
+                return null;
+            }
+        }
+        if (c < 0) {
+            if (inArray) {
+                throw error("Missing closing ']'");
+            }
+            return null;
+        }
+        if (c != '{') {
+            throw error("Expected an object");
+        }
+        recordNumber++;
+        return readObject();
+    }
+
+    private ImportRecord readObject() throws IOException {
+        String[] values = new String[5];
+        read(); // '{'
+        int c = skipWhitespace();
+        if (c == '}') {
+            read();
+            return new ImportRecord(recordNumber, null, null, null, null, null);
+        }
+        while (true) {
+            if (skipWhitespace() != '"') {
+                throw error("Expected a key");
+            }
+            String key = readString();
+            if (skipWhitespace() != ':') {
+                throw error("Expected ':' after \"" + key + "\"");
+            }
+            read();
+            int target = StudentRecordReader.fieldIndex(key);
+            String value = readValue();
+            if (target >= 0) {
+                values[target] = value;
+            }
+            c = skipWhitespace();
+            read();
+            if (c == '}') {
+                return new ImportRecord(recordNumber, values[0], values[1], values[2], values[3], values[4]);
+            }
+            if (c != ',') {
+                throw error("Expected ',' or '}'");
+            }
+        }
+    }
+
+    /**
+     * Reads a value: a string, a literal (kept as text, null for null), or a nested value (skipped, returns null).
+     */
+    private String readValue() throws IOException {
+        int c = skipWhitespace();
+        if (c == '"') {
+            return readString();
+        }
+        if (c == '{' || c == '[') {
+            skipNested();
+            return null;
+        }
+        text.setLength(0);
+        while (c >= 0 && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+            text.append((char) read());
+            c = peek();
+        }
+        if (text.isEmpty()) {
+            throw error("Expected a value");
+        }
+        String literal = text.toString();
+        return literal.equals("null") ? null : literal;
+    }
+
+    private String readString() throws IOException {
+        read(); // Opening quote
+        text.setLength(0);
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                throw error("Unterminated string");
+            }
+            if (c == '"') {
+                return text.toString();
+            }
+            if (c != '\\') {
+                text.append((char) c);
+                continue;
+            }
+            int escaped = read();
+            switch (escaped) {
+                case '"', '\\', '/' -> text.append((char) escaped);
+                case 'b' -> text.append('\b');
+                case 'f' -> text.append('\f');
+                case 'n' -> text.append('\n');
+                case 'r' -> text.append('\r');
+                case 't' -> text.append('\t');
+                case 'u' -> {
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(read(), 16);
+                        if (digit < 0) {
+                            throw error("Bad \\u escape");
+                        }
+                        code = code * 16 + digit;
+                    }
+                    text.append((char) code);
+                }
+                default -> throw error("Bad escape");
+            }
+        }
+    }
+
+    private void skipNested() throws IOException {
+        int depth = 0;
+        do {
+            int c = peek();
+            if (c < 0) {
+                throw error("Unterminated nested value");
+            }
+            if (c == '"') {
+                readString();
+                continue;
+            }
+            read();
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+        } while (depth > 0);
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c = peek();
+        while (c >= 0 && Character.isWhitespace(c)) {
+            read();
+            c = peek();
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = readRaw();
+        }
+        return peeked;
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        peeked = -2;
+        return c;
+    }
+
+    private int readRaw() throws IOException {
+        if (bufferPos == bufferLength) {
+            bufferLength = in.read(buffer, 0, buffer.length);
+            bufferPos = 0;
+            if (bufferLength <= 0) {
+                bufferLength = 0;
+                return -1;
+            }
+        }
+        return buffer[bufferPos++];
+    }
+
+    private IOException error(String message) {
+        return new IOException(message + " in JSON record " + Math.max(1, recordNumber));
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.studentrecordsystem.io;
+
+import java.io.IOException;
+
+/**
+ * Writes JSON strings and student objects, for the JSON Lines export and the HTTP server.
+ * Students are written with the database column names as keys (missing values are null),
+ * which {@link JsonStudentReader} reads back.
+ */
+public final class JsonText {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private JsonText() {
+    }
+
+    /**
+     * Writes one student as a JSON object (no trailing newline).
+     */
+    public static void writeStudent(Appendable out, String studentId, String firstName, String lastName,
+                                    String email, String major) throws IOException {
+        out.append("{\"student_id\":");
+        writeString(out, studentId);
+        out.append(",\"first_name\":");
+        writeString(out, firstName);
+        out.append(",\"last_name\":");
+        writeString(out, lastName);
+        out.append(",\"email\":");
+        writeString(out, email);
+        out.append(",\"major\":");
+        writeString(out, major);
+        out.append('}');
+    }
+
+    /**
+     * Writes a quoted, escaped JSON string, or {@code null}.
+     */
+    public static void writeString(Appendable out, String value) throws IOException {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append("\\u00");
+                        out.append(HEX[c >> 4]);
+                        out.append(HEX[c & 0xF]);
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.studentrecordsystem.io;
+
+import com.example.studentrecordsystem.dao.StudentRowHandler;
+
+import java.io.Closeable;
+
+/**
+ * Writes exported rows one at a time. {@link #close()} finishes the file (trailing data,
+ * footer, gzip trailer) and closes the underlying stream.
+ * Being a {@link StudentRowHandler}, a writer can be fed straight from the DAO's ResultSet.
+ */
+public interface StudentExportWriter extends StudentRowHandler, Closeable {
+}
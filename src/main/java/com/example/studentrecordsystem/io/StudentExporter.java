@@ -0,0 +1,155 @@
+package com.example.studentrecordsystem.io;
+
+import com.example.studentrecordsystem.dao.StudentDAO;
+import com.example.studentrecordsystem.dao.StudentRowHandler;
+import com.example.studentrecordsystem.model.Student;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports students to CSV, JSON Lines or the columnar format, optionally gzip-compressed.
+ * <p>
+ * {@link #exportTable} streams the whole table straight from a forward-only ResultSet into the
+ * file writer, so memory use doesn't depend on the table size. {@link #exportRows} writes rows the
+ * UI already holds (the current filtered and sorted view).
+ * <p>
+ * Output goes to a temporary file next to the target, which replaces the target only when the
+ * export completes; a failed or cancelled export (interrupt the calling thread) leaves nothing behind.
+ */
+public class StudentExporter {
+
+    public static final int DEFAULT_FETCH_SIZE = Integer.getInteger("srs.export.fetchSize", 1000);
+
+    // How often progress is reported and cancellation checked
+    private static final int PROGRESS_INTERVAL = 10_000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final StudentDAO studentDAO;
+    private final int fetchSize;
+
+    public StudentExporter(StudentDAO studentDAO) {
+        this(studentDAO, DEFAULT_FETCH_SIZE);
+    }
+
+    public StudentExporter(StudentDAO studentDAO, int fetchSize) {
+        this.studentDAO = studentDAO;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * @return true if the file name asks for gzip compression (ends in .gz).
+     */
+    public static boolean isGzip(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz");
+    }
+
+    /**
+     * Exports every student in display order, reading the table row by row.
+     * @param progress Receives the number of rows written so far (may be null).
+     * @return The number of rows written.
+     */
+    public long exportTable(Path file, ExportFormat format, boolean gzip, LongConsumer progress) throws IOException {
+        return export(file, format, gzip, progress, handler -> {
+            try {
+                return studentDAO.streamStudents(fetchSize, handler);
+            } catch (SQLException e) {
+                throw new IOException("Error reading students: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Streams every student in display order to an open stream (e.g. an HTTP response), which is
+     * closed at the end. Unlike the file exports, a failure leaves whatever was already written.
+     * @return The number of rows written.
+     */
+    public long exportTable(OutputStream out, ExportFormat format) throws IOException {
+        try (StudentExportWriter writer = format.open(new BufferedOutputStream(out, BUFFER_SIZE))) {
+            return studentDAO.streamStudents(fetchSize, writer);
+        } catch (SQLException e) {
+            throw new IOException("Error reading students: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Exports the given rows in list order (e.g. a snapshot of the table's current items).
+     * Null entries (rows a paged view hasn't loaded) are skipped.
+     * @return The number of rows written.
+     */
+    public long exportRows(List<? extends Student> rows, Path file, ExportFormat format, boolean gzip,
+                           LongConsumer progress) throws IOException {
+        return export(file, format, gzip, progress, handler -> {
+            long count = 0;
+            for (Student student : rows) {
+                if (student != null) {
+                    handler.row(student.getStudentId(), student.getFirstName(), student.getLastName(),
+                            student.getEmail(), student.getMajor());
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    // Feeds rows to a handler and returns how many it fed
+    @FunctionalInterface
+    private interface RowSource {
+        long feed(StudentRowHandler handler) throws IOException;
+    }
+
+    private long export(Path file, ExportFormat format, boolean gzip, LongConsumer progress, RowSource source)
+            throws IOException {
+        Path target = file.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+        boolean done = false;
+        try {
+            long rows;
+            OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE);
+            if (gzip) {
+                out = new GZIPOutputStream(out, BUFFER_SIZE);
+            }
+            StudentExportWriter opened;
+            try {
+                opened = format.open(out);
+            } catch (IOException e) {
+                out.close();
+                throw e;
+            }
+            try (StudentExportWriter writer = opened) {
+                long[] written = {0};
+                rows = source.feed((studentId, firstName, lastName, email, major) -> {
+                    writer.row(studentId, firstName, lastName, email, major);
+                    if (++written[0] % PROGRESS_INTERVAL == 0) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            throw new InterruptedIOException("Export cancelled");
+                        }
+                        if (progress != null) {
+                            progress.accept(written[0]);
+                        }
+                    }
+                });
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            done = true;
+            if (progress != null) {
+                progress.accept(rows);
+            }
+            return rows;
+        } finally {
+            if (!done) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+}
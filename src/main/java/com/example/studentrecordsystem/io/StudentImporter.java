@@ -0,0 +1,421 @@
+package com.example.studentrecordsystem.io;
+
+import com.example.studentrecordsystem.dao.BatchRowResult;
+import com.example.studentrecordsystem.dao.StudentDAO;
+import com.example.studentrecordsystem.model.Student;
+import com.example.studentrecordsystem.model.StudentValidator;
+import com.example.studentrecordsystem.model.ValidationResult;
+
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streams a CSV or JSON file of any size into the students table.
+ * <p>
+ * Three stages connected by bounded queues, so a slow stage holds back the faster ones
+ * instead of letting rows pile up in memory:
+ * <ol>
+ *     <li>the calling thread parses records and groups them into chunks of {@code batchSize};</li>
+ *     <li>several validator threads check each row with {@link StudentValidator} (the edit dialog's rules);</li>
+ *     <li>one writer thread stores each chunk's valid rows with {@link StudentDAO#addStudents}
+ *     (or {@code upsertStudents}) in one transaction per chunk, in file order.</li>
+ * </ol>
+ * Invalid rows, duplicate IDs and rows the database refused are written to a CSV reject file
+ * with the reason. {@link #cancel()} (or interrupting the calling thread) stops the run after
+ * the chunk being written; chunks already committed stay in the table.
+ */
+public class StudentImporter {
+
+    public static final int DEFAULT_BATCH_SIZE = Integer.getInteger("srs.import.batchSize", 5000);
+    public static final int DEFAULT_QUEUE_CAPACITY = Integer.getInteger("srs.import.queueChunks", 4);
+    public static final int DEFAULT_VALIDATOR_THREADS = Integer.getInteger("srs.import.validators",
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 2));
+
+    private static final long POLL_MILLIS = 100;
+    private static final Chunk END = new Chunk(-1, List.of());
+
+    /**
+     * Receives progress from the parsing thread after every chunk.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void progress(long bytesRead, long totalBytes, long rowsRead);
+    }
+
+    private final StudentDAO studentDAO;
+    private final boolean upsert;
+    private final int batchSize;
+    private final int validatorThreads;
+    private final int queueCapacity;
+    // Set by cancel(), an interrupt or a failure; every stage checks it between chunks
+    private volatile boolean stopping = false;
+
+    /**
+     * @param upsert true to overwrite existing students with the same ID; false to reject them as duplicates.
+     */
+    public StudentImporter(StudentDAO studentDAO, boolean upsert) {
+        this(studentDAO, upsert, DEFAULT_BATCH_SIZE, DEFAULT_VALIDATOR_THREADS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param batchSize Rows per chunk, i.e. per transaction.
+     * @param validatorThreads Threads validating rows in parallel.
+     * @param queueCapacity Chunks each queue may hold before the stage feeding it waits.
+     */
+    public StudentImporter(StudentDAO studentDAO, boolean upsert, int batchSize, int validatorThreads, int queueCapacity) {
+        this.studentDAO = studentDAO;
+        this.upsert = upsert;
+        this.batchSize = Math.max(1, batchSize);
+        this.validatorThreads = Math.max(1, validatorThreads);
+        this.queueCapacity = Math.max(1, queueCapacity);
+    }
+
+    /**
+     * Stops a running import after the chunk currently being written. Safe to call from any thread.
+     */
+    public void cancel() {
+        stopping = true;
+    }
+
+    /**
+     * Imports a file (a .gz suffix is decompressed on the fly). Blocks until the run is finished or cancelled.
+     * @param file The file to read.
+     * @param format How to parse it.
+     * @param rejectFile Where to write rejected rows; only created if some row is rejected.
+     * @param listener Progress callback (may be null).
+     * @return What was read, written and rejected.
+     * @throws IOException If the file can't be read or parsed, or a stage fails.
+     */
+    public ImportReport importFile(Path file, ImportFormat format, Path rejectFile, ProgressListener listener)
+            throws IOException {
+        long startNanos = System.nanoTime();
+        long totalBytes = Files.size(file);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        BlockingQueue<Chunk> parsed = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Chunk> validated = new ArrayBlockingQueue<>(queueCapacity);
+        ChunkWriter writer = new ChunkWriter(rejectFile, validated, failure);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService threads = Executors.newFixedThreadPool(validatorThreads + 1, r -> {
+            Thread t = new Thread(r, "student-import-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        stopping = false;
+        long rowsRead = 0;
+        boolean cancelled = false;
+        boolean interrupted = false;
+        try (CountingInputStream counting = new CountingInputStream(new FileInputStream(file.toFile()));
+             StudentRecordReader reader = format.open(new InputStreamReader(
+                     file.toString().endsWith(".gz") ? new GZIPInputStream(counting, 64 * 1024) : counting,
+                     StandardCharsets.UTF_8))) {
+            Future<?> writerDone = threads.submit(() -> guard(failure, writer));
+            List<Future<?>> validatorsDone = new ArrayList<>(validatorThreads);
+            for (int i = 0; i < validatorThreads; i++) {
+                validatorsDone.add(threads.submit(() -> guard(failure, () -> validateChunks(parsed, validated, failure))));
+            }
+
+            // --- Stage 1: parse ---
+            long sequence = 0;
+            List<ImportRecord> batch = new ArrayList<>(batchSize);
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                batch.add(record);
+                rowsRead++;
+                if (batch.size() == batchSize) {
+                    put(parsed, new Chunk(sequence++, batch), failure);
+                    batch = new ArrayList<>(batchSize);
+                    if (listener != null) {
+                        listener.progress(counting.getCount(), totalBytes, rowsRead);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                put(parsed, new Chunk(sequence, batch), failure);
+            }
+            for (int i = 0; i < validatorThreads; i++) {
+                put(parsed, END, failure);
+            }
+            for (Future<?> done : validatorsDone) {
+                done.get();
+            }
+            put(validated, END, failure);
+            writerDone.get();
+            if (listener != null) {
+                listener.progress(totalBytes, totalBytes, rowsRead);
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+            stopping = true;
+        } catch (Stopped e) {
+            // Cancelled, or another stage failed (reported below)
+        } catch (ExecutionException e) {
+            failure.compareAndSet(null, e.getCause());
+        } finally {
+            cancelled = stopping && failure.get() == null;
+            stopping = true; // Whatever happened above, no stage keeps going after this
+            threads.shutdown();
+            awaitQuietly(threads); // Let the writer finish (commit or roll back) the chunk in hand
+            writer.closeRejectFile();
+        }
+
+        Throwable failed = failure.get();
+        if (failed != null) {
+            throw failed instanceof IOException io ? io : new IOException("Import failed: " + failed.getMessage(), failed);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt(); // Keep the interrupt for the caller
+        }
+        return new ImportReport(rowsRead, writer.inserted.get(), writer.updated.get(), writer.rejected.get(),
+                writer.rejectFileUsed ? rejectFile : null, System.nanoTime() - startNanos, cancelled);
+    }
+
+    // --- Stage 2: validate ---
+
+    private void validateChunks(BlockingQueue<Chunk> parsed, BlockingQueue<Chunk> validated,
+                                AtomicReference<Throwable> failure) throws InterruptedException {
+        while (true) {
+            Chunk chunk = take(parsed, failure);
+            if (chunk == END) {
+                return;
+            }
+            for (ImportRecord record : chunk.records) {
+                ValidationResult result = StudentValidator.validate(record.studentId(), record.firstName(),
+                        record.lastName(), record.email(), record.major(), true);
+                if (result.isValid()) {
+                    chunk.valid.add(record.toStudent());
+                    chunk.validRecords.add(record);
+                } else {
+                    chunk.rejects.add(new Reject(record, result.getMessage(" ")));
+                }
+            }
+            put(validated, chunk, failure);
+        }
+    }
+
+    // --- Stage 3: write ---
+
+    /**
+     * Writes chunks in file order (validators can finish them out of order) and keeps the counts.
+     */
+    private final class ChunkWriter implements Stage {
+        private final Path rejectPath;
+        private final BlockingQueue<Chunk> validated;
+        private final AtomicReference<Throwable> failure;
+        private final AtomicLong inserted = new AtomicLong();
+        private final AtomicLong updated = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private Writer rejectOut;
+        private volatile boolean rejectFileUsed = false;
+
+        ChunkWriter(Path rejectPath, BlockingQueue<Chunk> validated, AtomicReference<Throwable> failure) {
+            this.rejectPath = rejectPath;
+            this.validated = validated;
+            this.failure = failure;
+        }
+
+        @Override
+        public void run() throws Exception {
+            Map<Long, Chunk> waiting = new HashMap<>();
+            long next = 0;
+            while (true) {
+                Chunk chunk = take(validated, failure);
+                if (chunk == END) {
+                    return;
+                }
+                waiting.put(chunk.sequence, chunk);
+                while ((chunk = waiting.remove(next)) != null) {
+                    if (stopping) {
+                        return;
+                    }
+                    write(chunk);
+                    next++;
+                }
+            }
+        }
+
+        private void write(Chunk chunk) throws IOException {
+            for (Reject reject : chunk.rejects) {
+                reject(reject.record(), reject.reason());
+            }
+            if (chunk.valid.isEmpty()) {
+                return;
+            }
+            List<BatchRowResult> results = upsert
+                    ? studentDAO.upsertStudents(chunk.valid, StudentDAO.DEFAULT_BATCH_CHUNK_SIZE, false)
+                    : studentDAO.addStudents(chunk.valid, StudentDAO.DEFAULT_BATCH_CHUNK_SIZE, false);
+            for (BatchRowResult result : results) {
+                switch (result.getOutcome()) {
+                    case INSERTED -> inserted.incrementAndGet();
+                    case UPDATED -> updated.incrementAndGet();
+                    default -> reject(chunk.validRecords.get(result.getIndex()),
+                            result.getMessage() != null ? result.getMessage() : result.getOutcome().name());
+                }
+            }
+        }
+
+        private void reject(ImportRecord record, String reason) throws IOException {
+            rejected.incrementAndGet();
+            if (rejectPath == null) {
+                return;
+            }
+            if (rejectOut == null) {
+                rejectOut = Files.newBufferedWriter(rejectPath, StandardCharsets.UTF_8);
+                rejectFileUsed = true;
+                Csv.writeRecord(rejectOut, "position", "reason", "student_id", "first_name", "last_name", "email", "major");
+            }
+            Csv.writeRecord(rejectOut, Long.toString(record.position()), reason, record.studentId(),
+                    record.firstName(), record.lastName(), record.email(), record.major());
+        }
+
+        void closeRejectFile() {
+            if (rejectOut != null) {
+                try {
+                    rejectOut.close();
+                } catch (IOException e) {
+                    System.err.println("Error closing reject file: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // --- Queue helpers ---
+
+    /**
+     * Puts a chunk, waiting while the queue is full, but gives up if the run is stopping.
+     */
+    private void put(BlockingQueue<Chunk> queue, Chunk chunk, AtomicReference<Throwable> failure)
+            throws InterruptedException {
+        while (!queue.offer(chunk, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (stopping || failure.get() != null) {
+                throw new Stopped();
+            }
+        }
+    }
+
+    /**
+     * Takes the next chunk, or returns END if the run is stopping.
+     */
+    private Chunk take(BlockingQueue<Chunk> queue, AtomicReference<Throwable> failure) throws InterruptedException {
+        while (true) {
+            Chunk chunk = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (chunk != null) {
+                return chunk;
+            }
+            if (stopping || failure.get() != null) {
+                return END;
+            }
+        }
+    }
+
+    /**
+     * Runs a stage, recording the first failure so the other stages stop.
+     */
+    private Void guard(AtomicReference<Throwable> failure, Stage stage) {
+        try {
+            stage.run();
+        } catch (Stopped | InterruptedException e) {
+            // Stopping because of a cancel or another stage's failure
+        } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+        }
+        return null;
+    }
+
+    private static void awaitQuietly(ExecutorService threads) {
+        try {
+            while (!threads.awaitTermination(1, TimeUnit.SECONDS)) {
+                // The writer may be in the middle of a large transaction
+            }
+        } catch (InterruptedException e) {
+            threads.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    // Thrown inside the pipeline when another stage failed or the run was cancelled
+    private static final class Stopped extends RuntimeException {
+        Stopped() {
+            super(null, null, false, false);
+        }
+    }
+
+    private record Reject(ImportRecord record, String reason) {
+    }
+
+    /**
+     * A group of consecutive records travelling through the pipeline together.
+     */
+    private static final class Chunk {
+        final long sequence;
+        final List<ImportRecord> records;
+        final List<Student> valid = new ArrayList<>();
+        final List<ImportRecord> validRecords = new ArrayList<>();
+        final List<Reject> rejects = new ArrayList<>(0);
+
+        Chunk(long sequence, List<ImportRecord> records) {
+            this.sequence = sequence;
+            this.records = records;
+        }
+    }
+
+    /**
+     * Counts the compressed/raw bytes read, for progress against the file size.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count = 0;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.studentrecordsystem.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Reads student records from an import file one at a time, so files of any size can be streamed.
+ */
+public interface StudentRecordReader extends Closeable {
+
+    /**
+     * @return The next record, or null at the end of the input.
+     * @throws IOException If the input can't be read or is malformed beyond recovery.
+     */
+    ImportRecord next() throws IOException;
+
+    /**
+     * Maps a column or JSON key name to a field index (0 = student ID ... 4 = major), or -1.
+     * Accepts the database column names and the Student property names in any case,
+     * e.g. "student_id", "studentId" and "Student ID".
+     */
+    static int fieldIndex(String name) {
+        if (name == null) {
+            return -1;
+        }
+        String key = name.trim().toLowerCase(Locale.ROOT).replace("_", "").replace(" ", "");
+        return switch (key) {
+            case "studentid", "id" -> 0;
+            case "firstname" -> 1;
+            case "lastname" -> 2;
+            case "email" -> 3;
+            case "major" -> 4;
+            default -> -1;
+        };
+    }
+}
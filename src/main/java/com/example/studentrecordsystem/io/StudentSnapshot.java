@@ -0,0 +1,232 @@
+package com.example.studentrecordsystem.io;
+
+import com.example.studentrecordsystem.model.StringDictionary;
+import com.example.studentrecordsystem.model.Student;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * A copy of the students table in a compact binary file, so a cold start can fill the table without
+ * waiting for SQLite. The file records which point of the database's change log it was taken at, so
+ * the rows can be brought up to date afterwards (see StudentSnapshotStore).
+ * <pre>
+ * file    := header payload
+ * header  := "SRSS" version:i32 changeSeq:i64 schemaVersion:i32 rowCount:i32 payloadLength:i64 payloadCrc32c:i32
+ * payload := dictSize:i32 string[dictSize] row[rowCount]
+ * row     := string(student_id) string(first_name) string(last_name) string(email) majorCode:i32
+ * string  := byteLength:i32 utf8Bytes       (byteLength -1 = null)
+ * </pre>
+ * Integers are big-endian. {@code majorCode} is an index into the dictionary of distinct majors,
+ * or -1 for none; rows are stored in the order given (display order). The file is written to a
+ * temporary file and moved into place, so a reader sees the old snapshot or the new one, never half.
+ * <p>
+ * Reading maps the file and checks the checksum on the mapping itself; strings are decoded straight
+ * from it, each major once. On Windows a file stays locked while mapped (until the buffer is
+ * garbage collected), so replacing it can fail shortly after a read; the next save tries again.
+ */
+public final class StudentSnapshot {
+
+    static final byte[] MAGIC = {'S', 'R', 'S', 'S'};
+    static final int VERSION = 1;
+    private static final int HEADER_LENGTH = 4 + 4 + 8 + 4 + 4 + 8 + 4;
+
+    private final List<Student> students;
+    private final long changeSeq;
+    private final int schemaVersion;
+
+    /**
+     * @param students Rows in display order.
+     * @param changeSeq The last change log entry ({@code student_changes.seq}) the rows include.
+     * @param schemaVersion The schema version they were read under.
+     */
+    public StudentSnapshot(List<Student> students, long changeSeq, int schemaVersion) {
+        this.students = students;
+        this.changeSeq = changeSeq;
+        this.schemaVersion = schemaVersion;
+    }
+
+    public List<Student> getStudents() {
+        return students;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public int getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    // --- Writing ---
+
+    /**
+     * Writes the snapshot, replacing the file if it exists.
+     * @param file Where to write it; a temporary file is created next to it first.
+     */
+    public void write(Path file) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(Math.max(1024, students.size() * 64));
+        DataOutputStream out = new DataOutputStream(payload);
+        Map<String, Integer> majorCodes = new HashMap<>();
+        List<String> majors = new ArrayList<>();
+        for (Student student : students) {
+            String major = student.getMajor();
+            if (major != null && !majorCodes.containsKey(major)) {
+                majorCodes.put(major, majors.size());
+                majors.add(major);
+            }
+        }
+        out.writeInt(majors.size());
+        for (String major : majors) {
+            writeString(out, major);
+        }
+        for (Student student : students) {
+            writeString(out, student.getStudentId());
+            writeString(out, student.getFirstName());
+            writeString(out, student.getLastName());
+            writeString(out, student.getEmail());
+            out.writeInt(student.getMajor() == null ? -1 : majorCodes.get(student.getMajor()));
+        }
+        out.flush();
+        byte[] bytes = payload.toByteArray();
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        header.put(MAGIC).putInt(VERSION).putLong(changeSeq).putInt(schemaVersion).putInt(students.size())
+                .putLong(bytes.length).putInt((int) crc.getValue());
+
+        Path absolute = file.toAbsolutePath();
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream fileOut = Files.newOutputStream(temp, StandardOpenOption.WRITE)) {
+                fileOut.write(header.array());
+                fileOut.write(bytes);
+            }
+            try {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    // --- Reading ---
+
+    /**
+     * Reads a snapshot.
+     * @return The snapshot, or null if the file doesn't exist.
+     * @throws IOException If it can't be read, or isn't a complete snapshot of this version (bad
+     *         magic, version or length, or a checksum mismatch).
+     */
+    public static StudentSnapshot read(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_LENGTH || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a student snapshot (" + size + " bytes): " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size); // Stays valid after the channel closes
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a student snapshot: " + file);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + ": " + file);
+        }
+        long changeSeq = buffer.getLong();
+        int schemaVersion = buffer.getInt();
+        int rowCount = buffer.getInt();
+        long payloadLength = buffer.getLong();
+        int expectedCrc = buffer.getInt();
+        if (rowCount < 0 || payloadLength != buffer.capacity() - HEADER_LENGTH) {
+            throw new IOException("Truncated student snapshot: " + file);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(HEADER_LENGTH, (int) payloadLength)); // Reads the mapping in place
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IOException("Student snapshot checksum mismatch: " + file);
+        }
+
+        try {
+            Decoder decoder = new Decoder(buffer);
+            String[] majors = new String[buffer.getInt()];
+            for (int i = 0; i < majors.length; i++) {
+                majors[i] = StringDictionary.MAJORS.canonical(decoder.string()); // The same instances as StudentDAO's
+            }
+            List<Student> students = new ArrayList<>(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                String studentId = decoder.string();
+                String firstName = decoder.string();
+                String lastName = decoder.string();
+                String email = decoder.string();
+                int majorCode = buffer.getInt();
+                students.add(new Student(studentId, firstName, lastName, email, majorCode < 0 ? null : majors[majorCode]));
+            }
+            return new StudentSnapshot(students, changeSeq, schemaVersion);
+        } catch (RuntimeException e) {
+            // Checksum matched but the contents don't parse: written by a broken build
+            throw new IOException("Corrupt student snapshot: " + file, e);
+        }
+    }
+
+    /**
+     * Decodes strings from the mapping through one reused scratch array.
+     */
+    private static final class Decoder {
+        private final ByteBuffer buffer;
+        private byte[] scratch = new byte[256];
+
+        Decoder(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        String string() {
+            int length = buffer.getInt();
+            if (length < 0) {
+                return null;
+            }
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.studentrecordsystem.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets, in the style of HdrHistogram.
+ * <p>
+ * Values below {@value #SUB_BUCKET_COUNT} ns get a bucket each. Above that, every power of two is
+ * split into {@value #HALF_SUB_BUCKET_COUNT} equal buckets, so any recorded value is known to within
+ * about 3% whatever its size, using a fixed array of about a thousand counters. Recording is one
+ * array increment plus two adders; percentiles are computed from a pass over the counters.
+ * Values above about 18 minutes count as that maximum.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;           // 64
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT >> 1;      // 32
+    private static final int MAX_VALUE_BITS = 40;                               // 2^40 ns, about 18 minutes
+    private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    private static final int BUCKET_COUNT = indexOf(MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records one measurement.
+     * @param nanos The latency in nanoseconds (negative values count as 0).
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * Clears all recorded values. Values recorded concurrently may or may not survive.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    /**
+     * Computes count, mean, max and the usual percentiles from the values recorded so far.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        long max = maxNanos.get();
+        if (count == 0) {
+            return new Snapshot(0, 0, 0, 0, 0, 0, 0);
+        }
+        double[] percentiles = {0.50, 0.90, 0.99, 0.999};
+        long[] values = new long[percentiles.length];
+        int next = 0;
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT && next < percentiles.length; i++) {
+            seen += copy[i];
+            // Report the bucket's highest value, so a percentile is never understated
+            while (next < percentiles.length && seen >= Math.ceil(percentiles[next] * count)) {
+                values[next++] = Math.min(highestValueIn(i), max);
+            }
+        }
+        return new Snapshot(count, (double) totalNanos.sum() / Math.max(1, totalCount.sum()),
+                values[0], values[1], values[2], values[3], max);
+    }
+
+    // --- Bucket arithmetic ---
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // value >>> shift keeps the top SUB_BUCKET_BITS bits, which lie in [HALF, SUB_BUCKET_COUNT)
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * HALF_SUB_BUCKET_COUNT + (subBucket - HALF_SUB_BUCKET_COUNT);
+    }
+
+    static long highestValueIn(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / HALF_SUB_BUCKET_COUNT + 1;
+        long subBucket = offset % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Summary of a histogram. All times are in nanoseconds.
+     */
+    public record Snapshot(long count, double meanNanos, long p50Nanos, long p90Nanos, long p99Nanos,
+                           long p999Nanos, long maxNanos) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.studentrecordsystem.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the application's {@link OperationMetrics}, one per operation name.
+ * <p>
+ * Operations are created on first use (typically in a static field of the class being measured)
+ * and each is registered as an MXBean, so JConsole or VisualVM can watch them live.
+ * {@code -Dsrs.metrics.enabled=false} stops recording (JFR events are still emitted if a
+ * recording asks for them) and {@code -Dsrs.metrics.jmx=false} skips the JMX registration.
+ */
+public final class Metrics {
+
+    private static final String JMX_DOMAIN = "com.example.studentrecordsystem";
+    private static final boolean ENABLED =
+            Boolean.parseBoolean(System.getProperty("srs.metrics.enabled", "true"));
+    private static final boolean JMX_ENABLED =
+            Boolean.parseBoolean(System.getProperty("srs.metrics.jmx", "true"));
+
+    private static final ConcurrentHashMap<String, OperationMetrics> OPERATIONS = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    /**
+     * Returns the metrics for an operation, creating (and registering) them on first use.
+     * @param name The operation, as {@code Class.method} (e.g. {@code StudentDAO.findById}).
+     */
+    public static OperationMetrics operation(String name) {
+        return OPERATIONS.computeIfAbsent(name, Metrics::create);
+    }
+
+    /**
+     * @return true unless recording was turned off with {@code -Dsrs.metrics.enabled=false}.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Returns the current numbers of every operation, sorted by name.
+     */
+    public static List<OperationStats> snapshot() {
+        List<OperationStats> stats = new ArrayList<>(OPERATIONS.size());
+        for (OperationMetrics metrics : OPERATIONS.values()) {
+            stats.add(metrics.snapshot());
+        }
+        stats.sort(Comparator.comparing(OperationStats::name));
+        return stats;
+    }
+
+    /**
+     * Clears the numbers of every operation.
+     */
+    public static void reset() {
+        for (OperationMetrics metrics : OPERATIONS.values()) {
+            metrics.reset();
+        }
+    }
+
+    /**
+     * One line per operation that has been called, for logging.
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder();
+        for (OperationStats stats : snapshot()) {
+            if (stats.calls() > 0) {
+                report.append("  ").append(stats).append(System.lineSeparator());
+            }
+        }
+        return report.toString();
+    }
+
+    private static OperationMetrics create(String name) {
+        OperationMetrics metrics = new OperationMetrics(name);
+        if (JMX_ENABLED) {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=Operation,name=" + ObjectName.quote(name));
+                if (!server.isRegistered(objectName)) {
+                    server.registerMBean(metrics, objectName);
+                }
+            } catch (JMException | RuntimeException e) {
+                System.err.println("Could not register metrics for " + name + " with JMX: " + e.getMessage());
+            }
+        }
+        return metrics;
+    }
+}
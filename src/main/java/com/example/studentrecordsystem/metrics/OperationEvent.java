@@ -0,0 +1,28 @@
+package com.example.studentrecordsystem.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one timed operation (see {@link OperationMetrics}). Disabled JFR costs next to
+ * nothing; with a recording running, e.g.
+ * {@code -XX:StartFlightRecording:filename=srs.jfr,+com.example.studentrecordsystem.Operation#threshold=1ms},
+ * each DAO call, pool borrow, filter and sort shows up with its duration and thread.
+ */
+@Name("com.example.studentrecordsystem.Operation")
+@Label("Student Record Operation")
+@Category("Student Record System")
+@Description("A timed DAO call, connection borrow or table update")
+@StackTrace(false)
+class OperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Failed")
+    boolean failed;
+}
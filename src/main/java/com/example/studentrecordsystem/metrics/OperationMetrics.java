@@ -0,0 +1,163 @@
+package com.example.studentrecordsystem.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count, error count and latency histogram of one operation, e.g. {@code StudentDAO.findById}.
+ * Get one from {@link Metrics#operation(String)} and time each call with a {@link Sample}:
+ * <pre>{@code
+ * OperationMetrics.Sample sample = FIND_METRICS.start();
+ * try {
+ *     ...
+ * } catch (SQLException e) {
+ *     sample.failed();
+ * } finally {
+ *     sample.close();
+ * }
+ * }</pre>
+ * Each sample is also reported to JFR as an {@link OperationEvent} when a recording wants it.
+ */
+public final class OperationMetrics implements OperationMetricsMXBean {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Starts timing one call. Close the sample when the call is done.
+     */
+    public Sample start() {
+        return new Sample(this);
+    }
+
+    /**
+     * Records a call that was timed elsewhere.
+     * @param nanos How long it took.
+     * @param failed Whether it failed.
+     */
+    public void record(long nanos, boolean failed) {
+        if (!Metrics.isEnabled()) {
+            return;
+        }
+        latency.record(nanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Returns the numbers recorded so far.
+     */
+    public OperationStats snapshot() {
+        LatencyHistogram.Snapshot histogram = latency.snapshot();
+        return new OperationStats(name, histogram.count(), errors.sum(),
+                histogram.meanNanos() / NANOS_PER_MILLI,
+                histogram.p50Nanos() / NANOS_PER_MILLI,
+                histogram.p90Nanos() / NANOS_PER_MILLI,
+                histogram.p99Nanos() / NANOS_PER_MILLI,
+                histogram.p999Nanos() / NANOS_PER_MILLI,
+                histogram.maxNanos() / NANOS_PER_MILLI);
+    }
+
+    // --- OperationMetricsMXBean ---
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCalls() {
+        return snapshot().calls();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getErrorRate() {
+        return snapshot().errorRate();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return snapshot().meanMillis();
+    }
+
+    @Override
+    public double getP50Millis() {
+        return snapshot().p50Millis();
+    }
+
+    @Override
+    public double getP90Millis() {
+        return snapshot().p90Millis();
+    }
+
+    @Override
+    public double getP99Millis() {
+        return snapshot().p99Millis();
+    }
+
+    @Override
+    public double getP999Millis() {
+        return snapshot().p999Millis();
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return snapshot().maxMillis();
+    }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        errors.reset();
+    }
+
+    /**
+     * One timed call. Not thread-safe; use it on the thread that makes the call.
+     */
+    public static final class Sample implements AutoCloseable {
+        private final OperationMetrics metrics;
+        private final long startNanos;
+        private final OperationEvent event;
+        private boolean failed;
+
+        private Sample(OperationMetrics metrics) {
+            this.metrics = metrics;
+            this.event = new OperationEvent();
+            this.event.begin();
+            this.startNanos = System.nanoTime();
+        }
+
+        /**
+         * Marks the call as failed (it still counts towards the latency).
+         */
+        public void failed() {
+            failed = true;
+        }
+
+        /**
+         * Ends the call and records it.
+         */
+        @Override
+        public void close() {
+            metrics.record(System.nanoTime() - startNanos, failed);
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = metrics.name;
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.studentrecordsystem.metrics;
+
+/**
+ * JMX view of one operation's metrics, registered as
+ * {@code com.example.studentrecordsystem:type=Operation,name=<operation>} (see {@link Metrics}).
+ * Times are in milliseconds.
+ */
+public interface OperationMetricsMXBean {
+
+    String getName();
+
+    long getCalls();
+
+    long getErrors();
+
+    double getErrorRate();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP90Millis();
+
+    double getP99Millis();
+
+    double getP999Millis();
+
+    double getMaxMillis();
+
+    void reset();
+}
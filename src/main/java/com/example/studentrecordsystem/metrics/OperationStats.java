@@ -0,0 +1,22 @@
+package com.example.studentrecordsystem.metrics;
+
+/**
+ * Point-in-time numbers for one operation (see {@link OperationMetrics#snapshot()}).
+ * Times are in milliseconds.
+ */
+public record OperationStats(String name, long calls, long errors, double meanMillis, double p50Millis,
+                             double p90Millis, double p99Millis, double p999Millis, double maxMillis) {
+
+    /**
+     * Fraction of calls that failed (0 when unused).
+     */
+    public double errorRate() {
+        return calls == 0 ? 0.0 : (double) errors / calls;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{calls=%d, errors=%d, mean=%.3fms, p50=%.3fms, p99=%.3fms, max=%.3fms}",
+                name, calls, errors, meanMillis, p50Millis, p99Millis, maxMillis);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.studentrecordsystem.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Milestones of application startup, in milliseconds since the JVM started (so JVM boot and class
+ * loading count too, which is what AppCDS saves).
+ * <p>
+ * Each milestone is recorded once, the first time it is reached. With {@code -Dsrs.startup.report=true}
+ * each one is printed as it happens, as {@code Startup: <milestone> at <n> ms} (the format the
+ * benchmarks module's StartupBenchmark reads); {@code -Dsrs.startup.exitAfterFirstData=true} makes
+ * the application exit once its first data is shown, for timing runs and the AppCDS training run.
+ */
+public final class StartupTimes {
+
+    public static final String FIRST_FRAME = "first frame";
+    public static final String FIRST_DATA = "first data";
+    public static final String DATABASE_READY = "database ready";
+
+    private static final boolean REPORT = Boolean.getBoolean("srs.startup.report");
+    private static final boolean EXIT_AFTER_FIRST_DATA = Boolean.getBoolean("srs.startup.exitAfterFirstData");
+
+    private static final Map<String, Long> MILESTONES = new LinkedHashMap<>(); // Guarded by StartupTimes.class
+
+    private StartupTimes() {
+    }
+
+    /**
+     * Records a milestone, unless it was already reached.
+     * @param milestone E.g. {@link #FIRST_FRAME}.
+     * @return true if this was the first time.
+     */
+    public static boolean mark(String milestone) {
+        long millis = ManagementFactory.getRuntimeMXBean().getUptime();
+        synchronized (StartupTimes.class) {
+            if (MILESTONES.putIfAbsent(milestone, millis) != null) {
+                return false;
+            }
+        }
+        if (REPORT) {
+            System.out.println("Startup: " + milestone + " at " + millis + " ms");
+        }
+        return true;
+    }
+
+    /**
+     * @return Milestones reached so far, in the order they were reached.
+     */
+    public static synchronized Map<String, Long> milestones() {
+        return new LinkedHashMap<>(MILESTONES);
+    }
+
+    /**
+     * @return true if the application should exit once its first data is shown.
+     */
+    public static boolean exitAfterFirstData() {
+        return EXIT_AFTER_FIRST_DATA;
+    }
+}
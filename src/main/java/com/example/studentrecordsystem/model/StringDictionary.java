@@ -0,0 +1,54 @@
+package com.example.studentrecordsystem.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares one String instance per distinct value of a low-cardinality field (e.g. major),
+ * so a million loaded rows hold a handful of major strings instead of a million copies.
+ * <p>
+ * The dictionary stops growing at {@code maxEntries}; after that, unseen values are
+ * returned as they are. That keeps a high-cardinality column from turning it into a leak.
+ * Safe to use from several threads.
+ */
+public final class StringDictionary {
+
+    /**
+     * Majors repeat across thousands of rows; every Student loaded from the database or a snapshot
+     * shares one String per major. Capped by {@code srs.dictionary.majors} (default 4096).
+     */
+    public static final StringDictionary MAJORS =
+            new StringDictionary(Integer.getInteger("srs.dictionary.majors", 4096));
+
+    private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public StringDictionary(int maxEntries) {
+        this.maxEntries = Math.max(0, maxEntries);
+    }
+
+    /**
+     * @param value A value read from the database (may be null).
+     * @return The shared instance equal to {@code value}, or {@code value} itself.
+     */
+    public String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = values.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (values.size() >= maxEntries) {
+            return value; // Full: don't keep adding
+        }
+        existing = values.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    /**
+     * @return The number of distinct values held.
+     */
+    public int size() {
+        return values.size();
+    }
+}
@@ -3,21 +3,36 @@ package com.example.studentrecordsystem.model;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 
+/**
+ * A student record.
+ * <p>
+ * Values are kept in plain String fields; the JavaFX property for a field is only created
+ * the first time something asks for it (a visible table cell, a sort on that column, or a
+ * binding). From then on the property holds the value. Rows that are loaded but never
+ * displayed or edited therefore cost five references instead of five property objects.
+ */
 public class Student {
 
-    private final StringProperty studentId;
-    private final StringProperty firstName;
-    private final StringProperty lastName;
-    private final StringProperty email;
-    private final StringProperty major;
+    private String studentId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String major;
+
+    // Created on first use; once created, they hold the value instead of the fields above
+    private StringProperty studentIdProperty;
+    private StringProperty firstNameProperty;
+    private StringProperty lastNameProperty;
+    private StringProperty emailProperty;
+    private StringProperty majorProperty;
 
     // Constructor for creating a new student before adding to DB
     public Student(String studentId, String firstName, String lastName, String email, String major) {
-        this.studentId = new SimpleStringProperty(studentId);
-        this.firstName = new SimpleStringProperty(firstName);
-        this.lastName = new SimpleStringProperty(lastName);
-        this.email = new SimpleStringProperty(email);
-        this.major = new SimpleStringProperty(major);
+        this.studentId = studentId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.major = major;
     }
 
     // Constructor potentially used when loading from DB (can use the above too)
@@ -29,67 +44,107 @@ public class Student {
     // --- Property Getters ---
 
     public StringProperty studentIdProperty() {
-        return studentId;
+        if (studentIdProperty == null) {
+            studentIdProperty = new SimpleStringProperty(this, "studentId", studentId);
+            studentId = null;
+        }
+        return studentIdProperty;
     }
 
     public StringProperty firstNameProperty() {
-        return firstName;
+        if (firstNameProperty == null) {
+            firstNameProperty = new SimpleStringProperty(this, "firstName", firstName);
+            firstName = null;
+        }
+        return firstNameProperty;
     }
 
     public StringProperty lastNameProperty() {
-        return lastName;
+        if (lastNameProperty == null) {
+            lastNameProperty = new SimpleStringProperty(this, "lastName", lastName);
+            lastName = null;
+        }
+        return lastNameProperty;
     }
 
     public StringProperty emailProperty() {
-        return email;
+        if (emailProperty == null) {
+            emailProperty = new SimpleStringProperty(this, "email", email);
+            email = null;
+        }
+        return emailProperty;
     }
 
     public StringProperty majorProperty() {
-        return major;
+        if (majorProperty == null) {
+            majorProperty = new SimpleStringProperty(this, "major", major);
+            major = null;
+        }
+        return majorProperty;
     }
 
     // --- Standard Getters ---
 
     public String getStudentId() {
-        return studentId.get();
+        return studentIdProperty != null ? studentIdProperty.get() : studentId;
     }
 
     public String getFirstName() {
-        return firstName.get();
+        return firstNameProperty != null ? firstNameProperty.get() : firstName;
     }
 
     public String getLastName() {
-        return lastName.get();
+        return lastNameProperty != null ? lastNameProperty.get() : lastName;
     }
 
     public String getEmail() {
-        return email.get();
+        return emailProperty != null ? emailProperty.get() : email;
     }
 
     public String getMajor() {
-        return major.get();
+        return majorProperty != null ? majorProperty.get() : major;
     }
 
     // --- Standard Setters ---
 
     public void setStudentId(String studentId) {
-        this.studentId.set(studentId);
+        if (studentIdProperty != null) {
+            studentIdProperty.set(studentId);
+        } else {
+            this.studentId = studentId;
+        }
     }
 
     public void setFirstName(String firstName) {
-        this.firstName.set(firstName);
+        if (firstNameProperty != null) {
+            firstNameProperty.set(firstName);
+        } else {
+            this.firstName = firstName;
+        }
     }
 
     public void setLastName(String lastName) {
-        this.lastName.set(lastName);
+        if (lastNameProperty != null) {
+            lastNameProperty.set(lastName);
+        } else {
+            this.lastName = lastName;
+        }
     }
 
     public void setEmail(String email) {
-        this.email.set(email);
+        if (emailProperty != null) {
+            emailProperty.set(email);
+        } else {
+            this.email = email;
+        }
     }
 
     public void setMajor(String major) {
-        this.major.set(major);
+        if (majorProperty != null) {
+            majorProperty.set(major);
+        } else {
+            this.major = major;
+        }
     }
 
     @Override
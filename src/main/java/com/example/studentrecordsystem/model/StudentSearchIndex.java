@@ -0,0 +1,350 @@
+package com.example.studentrecordsystem.model;
+
+import javafx.collections.ListChangeListener;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * In-memory trigram index over studentId, firstName, lastName, email and major, for
+ * instant "contains" filtering without lower-casing and scanning every field of every row.
+ * <p>
+ * Each student gets a small int row id. For every three-character sequence (trigram) in
+ * its lower-cased fields, the row id is added to that trigram's posting list (a sorted
+ * {@code int[]}). A substring query intersects the posting lists of the query's trigrams,
+ * smallest first, and then confirms the few remaining candidates with a real
+ * {@code contains}, so it matches exactly what the old predicate matched.
+ * Queries shorter than three characters fall back to scanning the pre-lower-cased text.
+ * <p>
+ * Register the index as a listener on the master list and it stays up to date as rows are
+ * added, removed or replaced (and edited in place, if the list was created with an extractor).
+ * Not thread-safe; use it from the FX thread like the list it indexes.
+ */
+public class StudentSearchIndex implements ListChangeListener<Student> {
+
+    // Fields are joined with this character so no trigram spans two fields
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final int[] NO_IDS = new int[0];
+
+    private final IdentityHashMap<Student, Integer> rowIds = new IdentityHashMap<>();
+    private String[] rowText = new String[16];
+    private int[] freeIds = new int[8];
+    private int freeCount = 0;
+    private int nextId = 0;
+    // trigram (three chars packed into a long) -> sorted row ids containing it
+    private final HashMap<Long, Postings> postings = new HashMap<>();
+
+    // --- Maintenance ---
+
+    /**
+     * Adds a student to the index (ignored if it is already indexed).
+     */
+    public void add(Student student) {
+        if (student == null || rowIds.containsKey(student)) {
+            return;
+        }
+        int id = freeCount > 0 ? freeIds[--freeCount] : nextId++;
+        ensureCapacity(id + 1);
+        String text = indexedText(student);
+        rowText[id] = text;
+        rowIds.put(student, id);
+        forEachDistinctTrigram(text, trigram -> postings.computeIfAbsent(trigram, t -> new Postings()).add(id));
+    }
+
+    /**
+     * Removes a student from the index (ignored if it isn't indexed).
+     */
+    public void remove(Student student) {
+        Integer boxedId = student == null ? null : rowIds.remove(student);
+        if (boxedId == null) {
+            return;
+        }
+        int id = boxedId;
+        forEachDistinctTrigram(rowText[id], trigram -> {
+            Postings list = postings.get(trigram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        });
+        rowText[id] = null;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = id;
+    }
+
+    /**
+     * Re-indexes a student whose fields changed (keeps its row id).
+     */
+    public void update(Student student) {
+        Integer boxedId = student == null ? null : rowIds.get(student);
+        if (boxedId == null) {
+            add(student);
+            return;
+        }
+        int id = boxedId;
+        String oldText = rowText[id];
+        String newText = indexedText(student);
+        if (oldText.equals(newText)) {
+            return;
+        }
+        forEachDistinctTrigram(oldText, trigram -> {
+            Postings list = postings.get(trigram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        });
+        rowText[id] = newText;
+        forEachDistinctTrigram(newText, trigram -> postings.computeIfAbsent(trigram, t -> new Postings()).add(id));
+    }
+
+    /**
+     * Drops everything from the index.
+     */
+    public void clear() {
+        rowIds.clear();
+        postings.clear();
+        rowText = new String[16];
+        freeCount = 0;
+        nextId = 0;
+    }
+
+    /**
+     * Replaces the index contents with the given students.
+     */
+    public void rebuild(Collection<? extends Student> students) {
+        clear();
+        ensureCapacity(students.size());
+        for (Student student : students) {
+            add(student);
+        }
+    }
+
+    /**
+     * Keeps the index in sync with the list it is registered on.
+     */
+    @Override
+    public void onChanged(Change<? extends Student> change) {
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                continue; // Same rows, new order: nothing to re-index
+            }
+            if (change.wasUpdated()) {
+                for (int i = change.getFrom(); i < change.getTo(); i++) {
+                    update(change.getList().get(i));
+                }
+                continue;
+            }
+            if (change.getRemovedSize() > 0 && change.getRemovedSize() >= rowIds.size()) {
+                clear(); // setAll()/clear(): cheaper to start over than to remove row by row
+            } else {
+                for (Student removed : change.getRemoved()) {
+                    remove(removed);
+                }
+            }
+            if (change.wasAdded()) {
+                ensureCapacity(nextId + change.getAddedSize());
+                for (Student added : change.getAddedSubList()) {
+                    add(added);
+                }
+            }
+        }
+    }
+
+    // --- Queries ---
+
+    /**
+     * Finds every indexed student with the query (case-insensitive) in any of its five fields.
+     * @param query The text to look for.
+     * @return The row ids of the matches; null for a blank query (meaning "everything").
+     */
+    public BitSet search(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        String needle = query.toLowerCase(Locale.ROOT);
+        BitSet matches = new BitSet(nextId);
+        if (needle.length() < 3) {
+            // Too short for trigrams; the lower-cased text is still cheaper to scan than the Students
+            for (int id = 0; id < nextId; id++) {
+                if (rowText[id] != null && rowText[id].contains(needle)) {
+                    matches.set(id);
+                }
+            }
+            return matches;
+        }
+
+        int[] candidates = candidatesFor(needle);
+        for (int id : candidates) {
+            // A row can contain all the trigrams without containing the whole query
+            if (rowText[id] != null && rowText[id].contains(needle)) {
+                matches.set(id);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Builds a FilteredList predicate for the query. The match set is computed once, so each
+     * row check is a map lookup and a bit test. Rebuild the predicate after the data changes.
+     */
+    public Predicate<Student> predicateFor(String query) {
+        BitSet matches = search(query);
+        if (matches == null) {
+            return student -> true;
+        }
+        return student -> {
+            int id = rowIdOf(student);
+            return id >= 0 && matches.get(id);
+        };
+    }
+
+    /**
+     * @return The row id of an indexed student, or -1.
+     */
+    public int rowIdOf(Student student) {
+        Integer id = rowIds.get(student);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @return The number of indexed students.
+     */
+    public int size() {
+        return rowIds.size();
+    }
+
+    // --- Internals ---
+
+    /**
+     * Intersects the posting lists of every trigram in the needle, starting with the shortest.
+     */
+    private int[] candidatesFor(String needle) {
+        Postings[] lists = new Postings[needle.length() - 2];
+        int count = 0;
+        for (int i = 0; i + 3 <= needle.length(); i++) {
+            Postings list = postings.get(pack(needle.charAt(i), needle.charAt(i + 1), needle.charAt(i + 2)));
+            if (list == null) {
+                return NO_IDS; // Some trigram occurs nowhere, so the needle can't either
+            }
+            lists[count++] = list;
+        }
+        Arrays.sort(lists, 0, count, (a, b) -> Integer.compare(a.size, b.size));
+
+        int[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int resultSize = result.length;
+        for (int l = 1; l < count && resultSize > 0; l++) {
+            Postings other = lists[l];
+            if (other == lists[l - 1]) {
+                continue; // Repeated trigram in the needle
+            }
+            int kept = 0;
+            for (int i = 0; i < resultSize; i++) {
+                if (Arrays.binarySearch(other.ids, 0, other.size, result[i]) >= 0) {
+                    result[kept++] = result[i];
+                }
+            }
+            resultSize = kept;
+        }
+        return resultSize == result.length ? result : Arrays.copyOf(result, resultSize);
+    }
+
+    private static String indexedText(Student student) {
+        StringBuilder text = new StringBuilder(64);
+        appendField(text, student.getStudentId());
+        appendField(text, student.getFirstName());
+        appendField(text, student.getLastName());
+        appendField(text, student.getEmail());
+        appendField(text, student.getMajor());
+        return text.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static void appendField(StringBuilder text, String value) {
+        if (value != null) {
+            text.append(value);
+        }
+        text.append(FIELD_SEPARATOR);
+    }
+
+    /**
+     * Calls the consumer once per distinct trigram of the text that doesn't cross a field boundary.
+     */
+    private static void forEachDistinctTrigram(String text, LongConsumer consumer) {
+        int n = text.length();
+        if (n < 3) {
+            return;
+        }
+        long[] trigrams = new long[n - 2];
+        int count = 0;
+        for (int i = 0; i + 3 <= n; i++) {
+            char a = text.charAt(i), b = text.charAt(i + 1), c = text.charAt(i + 2);
+            if (a == FIELD_SEPARATOR || b == FIELD_SEPARATOR || c == FIELD_SEPARATOR) {
+                continue;
+            }
+            trigrams[count++] = pack(a, b, c);
+        }
+        Arrays.sort(trigrams, 0, count);
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                consumer.accept(trigrams[i]);
+            }
+        }
+    }
+
+    private static long pack(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > rowText.length) {
+            int newLength = Math.max(capacity, rowText.length * 2);
+            rowText = Arrays.copyOf(rowText, newLength);
+        }
+    }
+
+    @FunctionalInterface
+    private interface LongConsumer {
+        void accept(long value);
+    }
+
+    /**
+     * A growable, sorted array of row ids.
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size = 0;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            if (size == 0 || ids[size - 1] < id) {
+                ids[size++] = id; // Common case while loading: ids arrive in increasing order
+                return;
+            }
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -pos - 1;
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+    }
+}
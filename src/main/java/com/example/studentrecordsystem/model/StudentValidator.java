@@ -0,0 +1,129 @@
+package com.example.studentrecordsystem.model;
+
+import com.example.studentrecordsystem.model.ValidationResult.Field;
+import com.example.studentrecordsystem.model.ValidationResult.FieldError;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * The field rules for a student record, shared by the edit dialog, the bulk import and the DAO.
+ * <p>
+ * Patterns are compiled once instead of on every {@code String.matches} call, and results are
+ * structured ({@link ValidationResult}) rather than concatenated text, so each caller can
+ * present them its own way. Stateless and thread-safe.
+ */
+public final class StudentValidator {
+
+    // Allows letters (upper/lower), spaces, apostrophe, hyphen
+    private static final Pattern NAME_PATTERN = Pattern.compile("^[a-zA-Z\\s'-]+$");
+    // Basic email pattern - allows most common formats but not fully RFC compliant
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+            "^[\\w!#$%&'*+/=?`{|}~^-]+(?:\\.[\\w!#$%&'*+/=?`{|}~^-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,6}$");
+    // Simple ID pattern - allows letters and numbers, at least one character
+    private static final Pattern ID_PATTERN = Pattern.compile("^[a-zA-Z0-9]+$");
+    // Simple major pattern - asserts string is not just digits/dot
+    private static final Pattern MAJOR_AVOID_ONLY_NUMBERS_PATTERN = Pattern.compile("^(?!^\\d*\\.?\\d*$).*$");
+
+    // Below this many rows, splitting the work across threads costs more than it saves
+    private static final int PARALLEL_THRESHOLD = Integer.getInteger("srs.validation.parallelThreshold", 4096);
+
+    private static final ValidationResult MISSING_STUDENT = ValidationResult.of(
+            List.of(new FieldError(Field.STUDENT_ID, "Student record is missing!")));
+
+    private StudentValidator() {
+    }
+
+    /**
+     * Checks a record's fields (values are trimmed before checking).
+     * @param checkIdFormat false when the ID can't be changed (edit mode), so only its presence is checked.
+     * @return The result; {@link ValidationResult#VALID} if every rule passed.
+     */
+    public static ValidationResult validate(String studentId, String firstName, String lastName,
+                                            String email, String major, boolean checkIdFormat) {
+        List<FieldError> errors = null; // Only allocated once something fails
+
+        // 1. Student ID Validation (Not Empty + Pattern if adding)
+        if (isBlank(studentId)) {
+            errors = add(errors, Field.STUDENT_ID, "Student ID cannot be empty!");
+        } else if (checkIdFormat && !ID_PATTERN.matcher(studentId.trim()).matches()) {
+            errors = add(errors, Field.STUDENT_ID, "Student ID must contain only letters and numbers!");
+        }
+
+        // 2. First Name Validation (Not Empty + Pattern)
+        if (isBlank(firstName)) {
+            errors = add(errors, Field.FIRST_NAME, "First name cannot be empty!");
+        } else if (!NAME_PATTERN.matcher(firstName.trim()).matches()) {
+            errors = add(errors, Field.FIRST_NAME,
+                    "First name contains invalid characters (use only letters, spaces, ', -).");
+        }
+
+        // 3. Last Name Validation (Not Empty + Pattern)
+        if (isBlank(lastName)) {
+            errors = add(errors, Field.LAST_NAME, "Last name cannot be empty!");
+        } else if (!NAME_PATTERN.matcher(lastName.trim()).matches()) {
+            errors = add(errors, Field.LAST_NAME,
+                    "Last name contains invalid characters (use only letters, spaces, ', -).");
+        }
+
+        // 4. Email Validation (Optional Field + Pattern Check if not empty)
+        if (!isBlank(email) && !EMAIL_PATTERN.matcher(email.trim()).matches()) {
+            errors = add(errors, Field.EMAIL, "Invalid email address format!");
+        }
+
+        // 5. Major Validation (Optional Field + Pattern Check if not empty)
+        if (!isBlank(major) && !MAJOR_AVOID_ONLY_NUMBERS_PATTERN.matcher(major.trim()).matches()) {
+            errors = add(errors, Field.MAJOR, "Major cannot consist only of numbers or be empty if typed.");
+        }
+        return ValidationResult.of(errors);
+    }
+
+    /**
+     * Checks a student record.
+     * @param checkIdFormat false for an existing student whose ID can't change.
+     */
+    public static ValidationResult validate(Student student, boolean checkIdFormat) {
+        if (student == null) {
+            return MISSING_STUDENT;
+        }
+        return validate(student.getStudentId(), student.getFirstName(), student.getLastName(),
+                student.getEmail(), student.getMajor(), checkIdFormat);
+    }
+
+    /**
+     * Checks a new student record (including the ID format).
+     */
+    public static ValidationResult validate(Student student) {
+        return validate(student, true);
+    }
+
+    /**
+     * Checks many records, spreading large batches over the common fork-join pool.
+     * @param students The records (a random-access list; null entries are reported as invalid).
+     * @return One result per record, in the same order.
+     */
+    public static List<ValidationResult> validateAll(List<? extends Student> students, boolean checkIdFormat) {
+        ValidationResult[] results = new ValidationResult[students.size()];
+        IntStream indexes = IntStream.range(0, results.length);
+        if (results.length >= PARALLEL_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> results[i] = validate(students.get(i), checkIdFormat));
+        return Arrays.asList(results);
+    }
+
+    private static List<FieldError> add(List<FieldError> errors, Field field, String message) {
+        if (errors == null) {
+            errors = new ArrayList<>(2);
+        }
+        errors.add(new FieldError(field, message));
+        return errors;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
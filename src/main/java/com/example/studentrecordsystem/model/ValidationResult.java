@@ -0,0 +1,87 @@
+package com.example.studentrecordsystem.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of validating one student record: which fields are wrong, and why.
+ * Valid records all share {@link #VALID}, so checking a large batch of good rows allocates nothing.
+ */
+public final class ValidationResult {
+
+    /**
+     * The student fields a rule can fail on.
+     */
+    public enum Field {
+        STUDENT_ID, FIRST_NAME, LAST_NAME, EMAIL, MAJOR
+    }
+
+    /**
+     * One failed rule.
+     */
+    public record FieldError(Field field, String message) {
+    }
+
+    public static final ValidationResult VALID = new ValidationResult(Collections.emptyList());
+
+    private final List<FieldError> errors;
+
+    private ValidationResult(List<FieldError> errors) {
+        this.errors = errors;
+    }
+
+    /**
+     * @return A result holding the given errors, or VALID if there are none.
+     */
+    public static ValidationResult of(List<FieldError> errors) {
+        return errors == null || errors.isEmpty() ? VALID : new ValidationResult(List.copyOf(errors));
+    }
+
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+
+    /**
+     * @return The errors in field order (empty if valid).
+     */
+    public List<FieldError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return The error for a field, or null if that field passed.
+     */
+    public FieldError getError(Field field) {
+        for (FieldError error : errors) {
+            if (error.field() == field) {
+                return error;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Just the messages, in field order.
+     */
+    public List<String> getMessages() {
+        List<String> messages = new ArrayList<>(errors.size());
+        for (FieldError error : errors) {
+            messages.add(error.message());
+        }
+        return messages;
+    }
+
+    /**
+     * @param separator Placed between messages (e.g. "\n" for a dialog, " " for a log line).
+     * @return All messages joined, or "" if valid.
+     */
+    public String getMessage(String separator) {
+        return String.join(separator, getMessages());
+    }
+
+    @Override
+    public String toString() {
+        return isValid() ? "ValidationResult{valid}" : "ValidationResult" + errors;
+    }
+}
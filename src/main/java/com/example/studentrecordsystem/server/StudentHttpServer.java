@@ -0,0 +1,597 @@
+package com.example.studentrecordsystem.server;
+
+import com.example.studentrecordsystem.dao.BatchRowResult;
+import com.example.studentrecordsystem.dao.GroupCommitWriter;
+import com.example.studentrecordsystem.dao.StudentCache;
+import com.example.studentrecordsystem.dao.StudentDAO;
+import com.example.studentrecordsystem.dao.StudentPageKey;
+import com.example.studentrecordsystem.io.ExportFormat;
+import com.example.studentrecordsystem.io.ImportRecord;
+import com.example.studentrecordsystem.io.JsonStudentReader;
+import com.example.studentrecordsystem.io.JsonText;
+import com.example.studentrecordsystem.io.StudentExporter;
+import com.example.studentrecordsystem.metrics.Metrics;
+import com.example.studentrecordsystem.metrics.OperationMetrics;
+import com.example.studentrecordsystem.metrics.OperationStats;
+import com.example.studentrecordsystem.model.Student;
+import com.example.studentrecordsystem.model.StudentValidator;
+import com.example.studentrecordsystem.model.ValidationResult;
+import com.example.studentrecordsystem.util.ConnectionPool;
+import com.example.studentrecordsystem.util.DatabaseUtil;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * JSON over HTTP access to {@link StudentDAO}, for scripts that need to read or write records
+ * without the UI (started by {@link com.example.studentrecordsystem.ServerCommand}).
+ * <p>
+ * Each request runs on its own virtual thread; the connection pool bounds how many of them use the
+ * database at once. Students are JSON objects keyed by the database column names, as in the JSON
+ * Lines export. Endpoints:
+ * <pre>
+ * GET    /students?limit=N&amp;after=CURSOR   one page in display order: {"students": [...], "next": CURSOR or null}
+ * POST   /students                        add one student (201, 400 invalid, 409 ID or email taken)
+ * GET    /students/{id}                   one student (404 if unknown)
+ * PUT    /students/{id}                   replace a student's fields (the ID comes from the path)
+ * DELETE /students/{id}                   delete, returning the removed row
+ * GET    /students/_search?q=TEXT&amp;limit=N  full-text search, best matches first
+ * POST   /students/_batch                 upsert a JSON array or JSON Lines body, streamed in chunks
+ * GET    /students/_export?format=jsonl|csv|columnar   the whole table, streamed
+ * GET    /metrics                         latency and error numbers of every operation
+ * GET    /health
+ * </pre>
+ * Student IDs are letters and digits only, so the {@code _} paths can't clash with an ID.
+ */
+public class StudentHttpServer {
+
+    public static final int DEFAULT_PORT = Integer.getInteger("srs.server.port", 8080);
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = Integer.getInteger("srs.server.maxPageSize", 1000);
+    // Rows per upsertStudents call (and transaction) when a batch body is streamed in
+    private static final int BATCH_CHUNK_SIZE = Integer.getInteger("srs.server.batchChunkSize", 1000);
+    // Per-row problems listed in a batch response; the counts always cover every row
+    private static final int MAX_REPORTED_BATCH_ERRORS = 1000;
+    private static final String JSON_TYPE = "application/json; charset=utf-8";
+
+    private static final OperationMetrics LIST_METRICS = Metrics.operation("Http.listStudents");
+    private static final OperationMetrics GET_METRICS = Metrics.operation("Http.getStudent");
+    private static final OperationMetrics CREATE_METRICS = Metrics.operation("Http.createStudent");
+    private static final OperationMetrics UPDATE_METRICS = Metrics.operation("Http.updateStudent");
+    private static final OperationMetrics DELETE_METRICS = Metrics.operation("Http.deleteStudent");
+    private static final OperationMetrics SEARCH_METRICS = Metrics.operation("Http.search");
+    private static final OperationMetrics BATCH_METRICS = Metrics.operation("Http.batchUpsert");
+    private static final OperationMetrics EXPORT_METRICS = Metrics.operation("Http.export");
+    private static final OperationMetrics OTHER_METRICS = Metrics.operation("Http.other");
+
+    private final StudentDAO studentDAO;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Binds the server (it doesn't accept requests until {@link #start()}).
+     * @param address Where to listen; use a loopback address to keep the service local.
+     */
+    public StudentHttpServer(StudentDAO studentDAO, InetSocketAddress address) throws IOException {
+        this.studentDAO = studentDAO;
+        this.server = HttpServer.create(address, 0);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-", 0).factory());
+        server.setExecutor(executor);
+        server.createContext("/students", this::handleStudents);
+        server.createContext("/metrics", exchange -> handle(exchange, OTHER_METRICS, this::metrics));
+        server.createContext("/health", exchange -> handle(exchange, OTHER_METRICS, e -> {
+            requireMethod(e, "GET");
+            sendJson(e, 200, "{\"status\":\"ok\"}");
+        }));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests, gives running ones up to {@code delaySeconds} to finish, then
+     * stops the request threads.
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return The address the server listens on (with the actual port if 0 was asked for).
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    // --- Routing ---
+
+    private void handleStudents(HttpExchange exchange) throws IOException {
+        String rest = exchange.getRequestURI().getPath().substring("/students".length());
+        String method = exchange.getRequestMethod();
+        if (rest.isEmpty() || rest.equals("/")) {
+            if (method.equals("POST")) {
+                handle(exchange, CREATE_METRICS, this::createStudent);
+            } else {
+                handle(exchange, LIST_METRICS, this::listStudents);
+            }
+            return;
+        }
+        String segment = rest.substring(1);
+        switch (segment) {
+            case "_search" -> handle(exchange, SEARCH_METRICS, this::search);
+            case "_batch" -> handle(exchange, BATCH_METRICS, this::batchUpsert);
+            case "_export" -> handle(exchange, EXPORT_METRICS, this::export);
+            default -> {
+                if (segment.contains("/")) {
+                    handle(exchange, OTHER_METRICS, e -> {
+                        throw new HttpError(404, "Not found");
+                    });
+                } else if (method.equals("PUT")) {
+                    handle(exchange, UPDATE_METRICS, e -> updateStudent(e, segment));
+                } else if (method.equals("DELETE")) {
+                    handle(exchange, DELETE_METRICS, e -> deleteStudent(e, segment));
+                } else {
+                    handle(exchange, GET_METRICS, e -> getStudent(e, segment));
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        void handle(HttpExchange exchange) throws IOException, HttpError;
+    }
+
+    /**
+     * Runs an endpoint, turning {@link HttpError}s into JSON error responses and timing the request.
+     * Server errors (5xx) count as failed calls.
+     */
+    private static void handle(HttpExchange exchange, OperationMetrics metrics, Endpoint endpoint) {
+        OperationMetrics.Sample sample = metrics.start();
+        try {
+            endpoint.handle(exchange);
+        } catch (HttpError e) {
+            if (e.status >= 500) {
+                sample.failed();
+            }
+            sendErrorQuietly(exchange, e.status, e.body);
+        } catch (IOException | RuntimeException e) {
+            sample.failed();
+            System.err.println("Error handling " + exchange.getRequestMethod() + " "
+                    + exchange.getRequestURI() + ": " + e.getMessage());
+            sendErrorQuietly(exchange, 500, errorBody("Internal error: " + e.getMessage()));
+        } finally {
+            exchange.close();
+            sample.close();
+        }
+    }
+
+    // --- Endpoints ---
+
+    private void listStudents(HttpExchange exchange) throws IOException, HttpError {
+        requireMethod(exchange, "GET");
+        Map<String, String> query = query(exchange);
+        int limit = intParameter(query, "limit", DEFAULT_PAGE_SIZE, 1, MAX_PAGE_SIZE);
+        StudentPageKey after = decodeCursor(query.get("after"));
+        List<Student> page = studentDAO.getStudentsPage(after, limit);
+        String next = page.size() < limit ? null : encodeCursor(StudentPageKey.of(page.get(page.size() - 1)));
+
+        StringBuilder json = new StringBuilder(128 * page.size() + 64);
+        json.append("{\"students\":");
+        appendStudents(json, page);
+        json.append(",\"next\":");
+        JsonText.writeString(json, next);
+        json.append('}');
+        sendJson(exchange, 200, json.toString());
+    }
+
+    private void getStudent(HttpExchange exchange, String studentId) throws IOException, HttpError {
+        requireMethod(exchange, "GET");
+        Student student = studentDAO.findById(studentId);
+        if (student == null) {
+            throw new HttpError(404, "No student with ID " + studentId);
+        }
+        sendJson(exchange, 200, studentJson(student));
+    }
+
+    private void createStudent(HttpExchange exchange) throws IOException, HttpError {
+        Student student = readStudent(exchange);
+        checkValid(StudentValidator.validate(student));
+        Student stored = studentDAO.addStudentReturning(student);
+        if (stored == null) {
+            throw writeFailure(student, true);
+        }
+        sendJson(exchange, 201, studentJson(stored));
+    }
+
+    private void updateStudent(HttpExchange exchange, String studentId) throws IOException, HttpError {
+        Student student = readStudent(exchange);
+        student.setStudentId(studentId);
+        checkValid(StudentValidator.validate(student, false));
+        Student stored = studentDAO.updateStudentReturning(student);
+        if (stored == null) {
+            throw writeFailure(student, false);
+        }
+        sendJson(exchange, 200, studentJson(stored));
+    }
+
+    private void deleteStudent(HttpExchange exchange, String studentId) throws IOException, HttpError {
+        Student deleted = studentDAO.deleteStudentReturning(studentId);
+        if (deleted == null) {
+            if (studentDAO.findById(studentId) != null) {
+                throw new HttpError(500, "Could not delete student " + studentId);
+            }
+            throw new HttpError(404, "No student with ID " + studentId);
+        }
+        sendJson(exchange, 200, studentJson(deleted));
+    }
+
+    private void search(HttpExchange exchange) throws IOException, HttpError {
+        requireMethod(exchange, "GET");
+        Map<String, String> query = query(exchange);
+        int limit = intParameter(query, "limit", DEFAULT_PAGE_SIZE, 1, MAX_PAGE_SIZE);
+        List<Student> matches = studentDAO.search(query.get("q"), limit);
+        StringBuilder json = new StringBuilder(128 * matches.size() + 32);
+        json.append("{\"students\":");
+        appendStudents(json, matches);
+        json.append('}');
+        sendJson(exchange, 200, json.toString());
+    }
+
+    /**
+     * Reads the body record by record and upserts it in chunks of {@code srs.server.batchChunkSize},
+     * each in its own transaction, so a body of any size needs only one chunk in memory. A body that
+     * stops parsing half-way gets a 400, but the chunks before the bad record stay written.
+     */
+    private void batchUpsert(HttpExchange exchange) throws IOException, HttpError {
+        requireMethod(exchange, "POST");
+        Map<BatchRowResult.Outcome, Long> counts = new EnumMap<>(BatchRowResult.Outcome.class);
+        StringBuilder errors = new StringBuilder();
+        int[] reported = {0};
+        long received = 0;
+        List<Student> chunk = new ArrayList<>(BATCH_CHUNK_SIZE);
+        String parseError = null;
+        try (JsonStudentReader reader = new JsonStudentReader(
+                new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8))) {
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                chunk.add(record.toStudent());
+                if (chunk.size() == BATCH_CHUNK_SIZE) {
+                    writeChunk(chunk, received, counts, errors, reported);
+                    received += chunk.size();
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            parseError = e.getMessage();
+        }
+        writeChunk(chunk, received, counts, errors, reported);
+        received += chunk.size();
+
+        StringBuilder json = new StringBuilder(errors.length() + 256);
+        json.append("{\"received\":").append(received);
+        for (BatchRowResult.Outcome outcome : BatchRowResult.Outcome.values()) {
+            json.append(",\"").append(outcome.name().toLowerCase(Locale.ROOT)).append("\":")
+                    .append(counts.getOrDefault(outcome, 0L));
+        }
+        json.append(",\"errors\":[").append(errors).append(']');
+        if (parseError != null) {
+            json.append(",\"error\":");
+            JsonText.writeString(json, "Stopped reading the body: " + parseError);
+        }
+        json.append('}');
+        sendJson(exchange, parseError == null ? 200 : 400, json.toString());
+    }
+
+    private void writeChunk(List<Student> chunk, long firstIndex, Map<BatchRowResult.Outcome, Long> counts,
+                            StringBuilder errors, int[] reported) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        for (BatchRowResult result : studentDAO.upsertStudents(chunk)) {
+            counts.merge(result.getOutcome(), 1L, Long::sum);
+            if (!result.isWritten() && reported[0] < MAX_REPORTED_BATCH_ERRORS) {
+                if (reported[0]++ > 0) {
+                    errors.append(',');
+                }
+                errors.append("{\"index\":").append(firstIndex + result.getIndex()).append(",\"student_id\":");
+                JsonText.writeString(errors, result.getStudentId());
+                errors.append(",\"outcome\":\"").append(result.getOutcome().name()).append("\",\"message\":");
+                JsonText.writeString(errors, result.getMessage());
+                errors.append('}');
+            }
+        }
+    }
+
+    /**
+     * Streams the table with chunked transfer encoding. Headers go out before the first row, so a
+     * failure half-way can only cut the response short (the client sees an incomplete body).
+     */
+    private void export(HttpExchange exchange) throws IOException, HttpError {
+        requireMethod(exchange, "GET");
+        String formatName = query(exchange).getOrDefault("format", "jsonl").toLowerCase(Locale.ROOT);
+        ExportFormat format;
+        String contentType;
+        switch (formatName) {
+            case "jsonl", "json" -> {
+                format = ExportFormat.JSON_LINES;
+                contentType = "application/x-ndjson; charset=utf-8";
+            }
+            case "csv" -> {
+                format = ExportFormat.CSV;
+                contentType = "text/csv; charset=utf-8";
+            }
+            case "columnar" -> {
+                format = ExportFormat.COLUMNAR;
+                contentType = "application/octet-stream";
+            }
+            default -> throw new HttpError(400, "Unknown format '" + formatName + "' (jsonl, csv or columnar)");
+        }
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, 0);
+        new StudentExporter(studentDAO).exportTable(exchange.getResponseBody(), format);
+    }
+
+    private void metrics(HttpExchange exchange) throws IOException, HttpError {
+        requireMethod(exchange, "GET");
+        StringBuilder json = new StringBuilder(4096);
+        json.append("{\"operations\":[");
+        boolean first = true;
+        for (OperationStats stats : Metrics.snapshot()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append("{\"name\":");
+            JsonText.writeString(json, stats.name());
+            json.append(",\"calls\":").append(stats.calls())
+                    .append(",\"errors\":").append(stats.errors())
+                    .append(",\"errorRate\":").append(stats.errorRate())
+                    .append(",\"meanMillis\":").append(stats.meanMillis())
+                    .append(",\"p50Millis\":").append(stats.p50Millis())
+                    .append(",\"p90Millis\":").append(stats.p90Millis())
+                    .append(",\"p99Millis\":").append(stats.p99Millis())
+                    .append(",\"p999Millis\":").append(stats.p999Millis())
+                    .append(",\"maxMillis\":").append(stats.maxMillis())
+                    .append('}');
+        }
+        json.append(']');
+        try {
+            ConnectionPool.Metrics pool = DatabaseUtil.getPool().getMetrics();
+            json.append(",\"pool\":{\"maxSize\":").append(pool.maxSize())
+                    .append(",\"open\":").append(pool.openCount())
+                    .append(",\"leased\":").append(pool.leasedCount())
+                    .append(",\"idle\":").append(pool.idleCount())
+                    .append(",\"borrows\":").append(pool.borrowCount())
+                    .append(",\"averageBorrowWaitNanos\":").append(pool.averageBorrowWaitNanos())
+                    .append(",\"maxBorrowWaitNanos\":").append(pool.maxBorrowWaitNanos())
+                    .append('}');
+        } catch (SQLException e) {
+            System.err.println("Error reading pool metrics: " + e.getMessage());
+        }
+        StudentCache.Stats cache = StudentDAO.getCacheStats();
+        json.append(",\"cache\":{\"capacity\":").append(cache.capacity())
+                .append(",\"size\":").append(cache.size())
+                .append(",\"hits\":").append(cache.hits())
+                .append(",\"misses\":").append(cache.misses())
+                .append(",\"hitRatio\":").append(cache.hitRatio())
+                .append('}');
+        GroupCommitWriter.Stats groupCommit = GroupCommitWriter.sharedStats();
+        if (groupCommit != null) {
+            json.append(",\"groupCommit\":{\"batches\":").append(groupCommit.batches())
+                    .append(",\"writes\":").append(groupCommit.writes())
+                    .append(",\"averageBatchSize\":").append(groupCommit.averageBatchSize())
+                    .append(",\"largestBatch\":").append(groupCommit.largestBatch())
+                    .append('}');
+        }
+        json.append('}');
+        sendJson(exchange, 200, json.toString());
+    }
+
+    // --- Request helpers ---
+
+    private static void requireMethod(HttpExchange exchange, String method) throws HttpError {
+        if (!exchange.getRequestMethod().equals(method)) {
+            exchange.getResponseHeaders().set("Allow", method);
+            throw new HttpError(405, "Use " + method);
+        }
+    }
+
+    private static Student readStudent(HttpExchange exchange) throws HttpError {
+        try (JsonStudentReader reader = new JsonStudentReader(
+                new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8))) {
+            ImportRecord record = reader.next();
+            if (record == null) {
+                throw new HttpError(400, "Expected a student object in the request body");
+            }
+            return record.toStudent();
+        } catch (IOException e) {
+            throw new HttpError(400, "Invalid JSON: " + e.getMessage());
+        }
+    }
+
+    private static void checkValid(ValidationResult result) throws HttpError {
+        if (result.isValid()) {
+            return;
+        }
+        StringBuilder json = new StringBuilder("{\"error\":\"Invalid student\",\"errors\":[");
+        List<ValidationResult.FieldError> errors = result.getErrors();
+        for (int i = 0; i < errors.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"field\":\"").append(errors.get(i).field().name()).append("\",\"message\":");
+            appendQuoted(json, errors.get(i).message());
+            json.append('}');
+        }
+        json.append("]}");
+        throw new HttpError(400, null, json.toString());
+    }
+
+    /**
+     * Works out why a validated add or update wrote nothing: the DAO only reports failure, so check
+     * for the usual causes (unknown ID, taken ID, taken email) before calling it a server error.
+     */
+    private HttpError writeFailure(Student student, boolean adding) {
+        boolean exists = studentDAO.findById(student.getStudentId()) != null;
+        if (adding && exists) {
+            return new HttpError(409, "Student ID " + student.getStudentId() + " already exists");
+        }
+        if (!adding && !exists) {
+            return new HttpError(404, "No student with ID " + student.getStudentId());
+        }
+        if (student.getEmail() != null && !student.getEmail().isBlank()) {
+            return new HttpError(409, "Could not save student " + student.getStudentId()
+                    + " (the email may already belong to another student)");
+        }
+        return new HttpError(500, "Could not save student " + student.getStudentId());
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null || raw.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : raw.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            parameters.putIfAbsent(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private static int intParameter(Map<String, String> query, String name, int defaultValue, int min, int max)
+            throws HttpError {
+        String value = query.get(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed < min || parsed > max) {
+                throw new HttpError(400, name + " must be between " + min + " and " + max);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new HttpError(400, name + " must be a number");
+        }
+    }
+
+    // Cursors are the page key (last name, first name, ID) joined with NULs, base64url-encoded
+    private static String encodeCursor(StudentPageKey key) {
+        String joined = key.lastName() + '\u0000' + key.firstName() + '\u0000' + key.studentId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static StudentPageKey decodeCursor(String cursor) throws HttpError {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\u0000", -1);
+            if (parts.length == 3) {
+                return new StudentPageKey(parts[0], parts[1], parts[2]);
+            }
+        } catch (IllegalArgumentException e) {
+            // Reported below
+        }
+        throw new HttpError(400, "Invalid cursor");
+    }
+
+    // --- Response helpers ---
+
+    private static String studentJson(Student student) throws IOException {
+        StringBuilder json = new StringBuilder(128);
+        appendStudent(json, student);
+        return json.toString();
+    }
+
+    private static void appendStudents(StringBuilder json, List<Student> students) throws IOException {
+        json.append('[');
+        for (int i = 0; i < students.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendStudent(json, students.get(i));
+        }
+        json.append(']');
+    }
+
+    private static void appendStudent(StringBuilder json, Student student) throws IOException {
+        JsonText.writeStudent(json, student.getStudentId(), student.getFirstName(), student.getLastName(),
+                student.getEmail(), student.getMajor());
+    }
+
+    private static void appendQuoted(StringBuilder json, String value) {
+        try {
+            JsonText.writeString(json, value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // StringBuilder doesn't throw
+        }
+    }
+
+    private static String errorBody(String message) {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        appendQuoted(json, message);
+        return json.append('}').toString();
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sendErrorQuietly(HttpExchange exchange, int status, String body) {
+        if (exchange.getResponseCode() != -1) {
+            return; // Headers already sent (e.g. a streamed export failed); nothing more can be said
+        }
+        try {
+            sendJson(exchange, status, body);
+        } catch (IOException e) {
+            System.err.println("Error sending error response: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A request that can't be served, with the status and JSON body to answer it with.
+     */
+    private static final class HttpError extends Exception {
+        private final int status;
+        private final String body;
+
+        HttpError(int status, String message) {
+            this(status, message, errorBody(message));
+        }
+
+        HttpError(int status, String message, String body) {
+            super(message, null, false, false);
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
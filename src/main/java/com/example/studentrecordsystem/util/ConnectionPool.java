@@ -0,0 +1,410 @@
+package com.example.studentrecordsystem.util;
+
+import com.example.studentrecordsystem.metrics.OperationMetrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A small, fixed-size pool of long-lived SQLite connections.
+ * <p>
+ * Callers borrow a connection with {@link #borrow()} and give it back simply by calling
+ * {@link Connection#close()} on it (the same thing the DAO already does through
+ * {@link DatabaseUtil#closeQuietly(AutoCloseable)}). The physical connection stays open
+ * and is handed to the next caller instead of re-opening the database file every time.
+ * <ul>
+ *     <li>Every new physical connection is set up once by the {@link ConnectionInitializer}.</li>
+ *     <li>Idle connections are validated before they are handed out.</li>
+ *     <li>Connections idle for longer than the idle timeout are closed by a background evictor,
+ *     keeping at least {@code minIdle} of them around.</li>
+ *     <li>Each physical connection keeps an LRU cache of prepared statements (see {@link StatementCache}).</li>
+ *     <li>Borrow wait time, open connection counts and statement cache hits are tracked, see {@link #getMetrics()}.</li>
+ * </ul>
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    private final String url;
+    private final int maxSize;
+    private final int minIdle;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+    private final ConnectionInitializer initializer;
+
+    // Idle connections, most recently returned first (LIFO keeps the "hot" ones busy
+    // and lets the cold ones at the tail age out)
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    // One permit per connection that may be leased at the same time
+    private final Semaphore permits;
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed = false;
+
+    // --- Metrics ---
+    // Latency distribution and failures of borrow(), across all pools (the nested Metrics record is per pool)
+    private static final OperationMetrics BORROW_METRICS =
+            com.example.studentrecordsystem.metrics.Metrics.operation("ConnectionPool.borrow");
+    private final AtomicInteger openCount = new AtomicInteger();
+    private final AtomicInteger leasedCount = new AtomicInteger();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowWaitNanos = new LongAdder();
+    private final AtomicLong maxBorrowWaitNanos = new AtomicLong();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final LongAdder statementCacheEvictions = new LongAdder();
+
+    public ConnectionPool(String url, int maxSize, int minIdle, long borrowTimeoutMillis,
+                          long idleTimeoutMillis, int validationTimeoutSeconds, int statementCacheSize,
+                          ConnectionInitializer initializer) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1, was " + maxSize);
+        }
+        this.url = url;
+        this.maxSize = maxSize;
+        this.minIdle = Math.max(0, Math.min(minIdle, maxSize));
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+        this.initializer = initializer;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sqlite-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        if (idleTimeoutMillis > 0) {
+            long period = Math.max(1000L, idleTimeoutMillis / 2);
+            evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // --- BORROW ---
+    /**
+     * Borrows a connection from the pool, waiting up to the borrow timeout if all
+     * connections are in use. Closing the returned connection gives it back to the pool.
+     * @return A validated connection.
+     * @throws SQLException if the pool is closed, the wait times out, or a new connection cannot be opened.
+     */
+    public Connection borrow() throws SQLException {
+        OperationMetrics.Sample sample = BORROW_METRICS.start();
+        try {
+            return acquire();
+        } catch (SQLException | RuntimeException e) {
+            sample.failed();
+            throw e;
+        } finally {
+            sample.close();
+        }
+    }
+
+    private Connection acquire() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed.");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + borrowTimeoutMillis + " ms waiting for a database connection.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        }
+
+        try {
+            PooledConnection pooled;
+            // Take idle connections until one passes validation, otherwise open a new one
+            while ((pooled = idle.pollFirst()) != null) {
+                if (pooled.isValid(validationTimeoutSeconds)) {
+                    break;
+                }
+                validationFailures.increment();
+                discard(pooled);
+            }
+            if (pooled == null) {
+                pooled = open();
+            }
+            recordBorrowWait(System.nanoTime() - start);
+            leasedCount.incrementAndGet();
+            return pooled.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Called by a leased connection handle when the caller closes it.
+     */
+    private void release(PooledConnection pooled) {
+        leasedCount.decrementAndGet();
+        try {
+            if (closed || !pooled.reset()) {
+                discard(pooled);
+            } else {
+                idle.offerFirst(pooled);
+                // The pool may have been closed while we were putting it back
+                if (closed && idle.remove(pooled)) {
+                    discard(pooled);
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection physical = DriverManager.getConnection(url);
+        if (initializer != null) {
+            try {
+                initializer.initialize(physical);
+            } catch (SQLException | RuntimeException e) {
+                DatabaseUtil.closeQuietly(physical);
+                throw e;
+            }
+        }
+        openCount.incrementAndGet();
+        createdCount.increment();
+        return new PooledConnection(physical);
+    }
+
+    private void discard(PooledConnection pooled) {
+        openCount.decrementAndGet();
+        pooled.closePhysical();
+    }
+
+    private void recordBorrowWait(long waitNanos) {
+        borrowCount.increment();
+        borrowWaitNanos.add(waitNanos);
+        maxBorrowWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    // --- EVICTION ---
+    /**
+     * Closes connections that have been idle for longer than the idle timeout,
+     * keeping at least {@code minIdle} connections open.
+     */
+    void evictIdle() {
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        // Oldest idle connections sit at the tail of the deque
+        Iterator<PooledConnection> oldestFirst = idle.descendingIterator();
+        while (oldestFirst.hasNext() && idle.size() > minIdle) {
+            PooledConnection pooled = oldestFirst.next();
+            if (now - pooled.lastReturnedNanos > timeoutNanos && idle.removeLastOccurrence(pooled)) {
+                evictedCount.increment();
+                discard(pooled);
+            }
+        }
+    }
+
+    // --- SHUTDOWN ---
+    /**
+     * Closes all idle connections and stops the evictor. Connections that are
+     * currently leased are closed as soon as they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        evictor.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    /**
+     * Per-connection setup (e.g. PRAGMAs) run once when a physical connection is opened.
+     */
+    @FunctionalInterface
+    public interface ConnectionInitializer {
+        void initialize(Connection conn) throws SQLException;
+    }
+
+    // --- METRICS ---
+    /**
+     * Returns a point-in-time snapshot of the pool metrics.
+     */
+    public Metrics getMetrics() {
+        long borrows = borrowCount.sum();
+        long totalWait = borrowWaitNanos.sum();
+        return new Metrics(
+                maxSize,
+                openCount.get(),
+                leasedCount.get(),
+                idle.size(),
+                borrows,
+                borrows == 0 ? 0 : totalWait / borrows,
+                maxBorrowWaitNanos.get(),
+                createdCount.sum(),
+                evictedCount.sum(),
+                validationFailures.sum(),
+                statementCacheHits.sum(),
+                statementCacheMisses.sum(),
+                statementCacheEvictions.sum());
+    }
+
+    /**
+     * Snapshot of pool metrics. Wait times are in nanoseconds.
+     */
+    public record Metrics(int maxSize, int openCount, int leasedCount, int idleCount,
+                          long borrowCount, long averageBorrowWaitNanos, long maxBorrowWaitNanos,
+                          long createdCount, long evictedCount, long validationFailures,
+                          long statementCacheHits, long statementCacheMisses, long statementCacheEvictions) {
+
+        /**
+         * Fraction of prepareStatement calls served from a statement cache (0 when unused).
+         */
+        public double statementCacheHitRatio() {
+            long lookups = statementCacheHits + statementCacheMisses;
+            return lookups == 0 ? 0.0 : (double) statementCacheHits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return "Pool{open=" + openCount + "/" + maxSize +
+                    ", leased=" + leasedCount +
+                    ", idle=" + idleCount +
+                    ", borrows=" + borrowCount +
+                    ", avgWait=" + TimeUnit.NANOSECONDS.toMicros(averageBorrowWaitNanos) + "us" +
+                    ", maxWait=" + TimeUnit.NANOSECONDS.toMicros(maxBorrowWaitNanos) + "us" +
+                    ", created=" + createdCount +
+                    ", evicted=" + evictedCount +
+                    ", validationFailures=" + validationFailures +
+                    ", stmtCacheHits=" + statementCacheHits +
+                    ", stmtCacheMisses=" + statementCacheMisses +
+                    ", stmtCacheEvictions=" + statementCacheEvictions +
+                    '}';
+        }
+    }
+
+    // --- Pooled connection wrapper ---
+    /**
+     * Holds one physical connection. Every lease hands out a fresh proxy, so a
+     * caller closing its handle twice (or using it after close) cannot affect the
+     * next borrower.
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private final StatementCache statementCache;
+        private volatile long lastReturnedNanos = System.nanoTime();
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statementCache = new StatementCache(statementCacheSize,
+                    statementCacheHits, statementCacheMisses, statementCacheEvictions);
+        }
+
+        boolean isValid(int timeoutSeconds) {
+            try {
+                return !physical.isClosed() && physical.isValid(timeoutSeconds);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new LeaseHandler(this));
+        }
+
+        /**
+         * Puts the connection back into a clean state before it goes back to the pool.
+         * @return false if the connection is broken and should be discarded.
+         */
+        boolean reset() {
+            try {
+                if (physical.isClosed()) {
+                    return false;
+                }
+                if (!physical.getAutoCommit()) {
+                    // Never let a half-finished transaction leak into the next borrower
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                physical.clearWarnings();
+                lastReturnedNanos = System.nanoTime();
+                return true;
+            } catch (SQLException e) {
+                System.err.println("Discarding pooled connection that could not be reset: " + e.getMessage());
+                return false;
+            }
+        }
+
+        void closePhysical() {
+            // Cached statements die with their connection
+            statementCache.clear();
+            DatabaseUtil.closeQuietly(physical);
+        }
+    }
+
+    /**
+     * The handle a caller actually sees. {@code close()} returns the connection to the
+     * pool, everything else is forwarded to the physical connection.
+     */
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean leaseClosed = false;
+
+        LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!leaseClosed) {
+                        leaseClosed = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return leaseClosed || pooled.physical.isClosed();
+                case "prepareStatement":
+                    if (args.length == 1 && !leaseClosed) {
+                        // Plain prepareStatement(sql) goes through the statement cache
+                        return pooled.statementCache.prepare(pooled.physical, (Connection) proxy, (String) args[0]);
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + (leaseClosed ? ", closed" : "") + "]";
+                default:
+                    break;
+            }
+            if (leaseClosed) {
+                throw new SQLException("Connection has already been returned to the pool.");
+            }
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -1,18 +1,66 @@
 package com.example.studentrecordsystem.util;
 
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.SQLiteConnectionConfig;
+
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class DatabaseUtil {
 
-    // Database file name (will be created in the project root directory)
-    private static final String DB_NAME = "student_records.db";
+    // Database file name (will be created in the project root directory); -Dsrs.db.file points elsewhere
+    private static final String DB_NAME = System.getProperty("srs.db.file", "student_records.db");
     private static final String CONNECTION_STRING = "jdbc:sqlite:" + DB_NAME;
 
+    // Pool settings, overridable with -D system properties
+    private static final int POOL_SIZE = Integer.getInteger("srs.pool.size", 4);
+    private static final int POOL_MIN_IDLE = Integer.getInteger("srs.pool.minIdle", 1);
+    private static final long POOL_BORROW_TIMEOUT_MS = Long.getLong("srs.pool.borrowTimeoutMs", 30_000L);
+    private static final long POOL_IDLE_TIMEOUT_MS = Long.getLong("srs.pool.idleTimeoutMs", 300_000L);
+    private static final int POOL_VALIDATION_TIMEOUT_SECONDS = Integer.getInteger("srs.pool.validationTimeoutSeconds", 2);
+    // Prepared statements kept per connection (0 disables the cache)
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("srs.pool.statementCacheSize", 32);
+
+    // Created lazily on first use, shared by every DAO
+    private static volatile ConnectionPool pool;
+    // PRAGMAs applied to every new connection (see database.properties)
+    private static volatile PragmaProfile pragmaProfile;
+    // Set while initializeDatabaseAsync is running; connections wait for it (see getConnection)
+    private static volatile CompletableFuture<Void> initialization;
+    private static volatile Thread initializingThread;
+
     // Initialize database - create table if it doesn't exist
     public static void initializeDatabase() {
+        boolean initialized = false;
+        try (Connection conn = getPool().borrow()) {
+            createSchema(conn);
+            System.out.println("Database initialized successfully (Table 'students' checked/created, schema version " +
+                    MigrationRunner.currentVersion(conn) + ").");
+            System.out.println("Applied SQLite " + getPragmaProfile() +
+                    " (effective journal_mode=" + PragmaProfile.effectiveJournalMode(conn) + ")");
+            initialized = true;
+        } catch (SQLException e) {
+            System.err.println("Error initializing database: " + e.getMessage());
+            // Handle exception appropriately - maybe exit app if DB is crucial
+        }
+        if (initialized) {
+            // Data backfills run in the background, after the connection above is back in the pool
+            MigrationRunner.startBackfills();
+        }
+    }
+
+    /**
+     * Creates the students table if needed, with its full-text index, and applies the schema
+     * migrations (not their backfills). Used by {@link #initializeDatabase()}, and by tests on a
+     * database of their own.
+     */
+    public static void createSchema(Connection conn) throws SQLException {
         String createTableSql = "CREATE TABLE IF NOT EXISTS students (" +
                 " student_id TEXT PRIMARY KEY NOT NULL," +
                 " first_name TEXT NOT NULL," +
@@ -20,28 +68,208 @@ public class DatabaseUtil {
                 " email TEXT," +
                 " major TEXT" +
                 ");";
-
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement()) {
+        try (Statement stmt = conn.createStatement()) {
             // Create table
             stmt.execute(createTableSql);
-            System.out.println("Database initialized successfully (Table 'students' checked/created).");
-        } catch (SQLException e) {
-            System.err.println("Error initializing database: " + e.getMessage());
-            // Handle exception appropriately - maybe exit app if DB is crucial
         }
+        initializeSearchIndex(conn);
+        // Indexes and later schema changes (see SchemaMigrations)
+        MigrationRunner.migrate(conn);
+    }
+
+    /**
+     * Creates the FTS5 full-text index over the students table and the triggers that keep it in sync.
+     * <p>
+     * students_fts is an external-content table: it stores only the index and reads the text from
+     * students by rowid. If the index is created on an existing database it is rebuilt once from
+     * the current rows. The rowid of students is its {@code id INTEGER PRIMARY KEY} (schema
+     * migration 6), so a VACUUM can't renumber the rows behind the index's back.
+     */
+    private static void initializeSearchIndex(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            boolean existed;
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'students_fts'")) {
+                existed = rs.next();
+            }
+
+            // Prefix indexes for 2 and 3 characters keep short "starts with" searches fast
+            stmt.execute("CREATE VIRTUAL TABLE IF NOT EXISTS students_fts USING fts5(" +
+                    " student_id, first_name, last_name, email, major," +
+                    " content='students', content_rowid='rowid'," +
+                    " tokenize='unicode61 remove_diacritics 2', prefix='2 3')");
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS students_fts_ai AFTER INSERT ON students BEGIN" +
+                    " INSERT INTO students_fts(rowid, student_id, first_name, last_name, email, major)" +
+                    " VALUES (new.rowid, new.student_id, new.first_name, new.last_name, new.email, new.major);" +
+                    " END");
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS students_fts_ad AFTER DELETE ON students BEGIN" +
+                    " INSERT INTO students_fts(students_fts, rowid, student_id, first_name, last_name, email, major)" +
+                    " VALUES ('delete', old.rowid, old.student_id, old.first_name, old.last_name, old.email, old.major);" +
+                    " END");
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS students_fts_au AFTER UPDATE ON students BEGIN" +
+                    " INSERT INTO students_fts(students_fts, rowid, student_id, first_name, last_name, email, major)" +
+                    " VALUES ('delete', old.rowid, old.student_id, old.first_name, old.last_name, old.email, old.major);" +
+                    " INSERT INTO students_fts(rowid, student_id, first_name, last_name, email, major)" +
+                    " VALUES (new.rowid, new.student_id, new.first_name, new.last_name, new.email, new.major);" +
+                    " END");
+
+            if (!existed) {
+                // Index the rows that were there before full-text search existed
+                stmt.execute("INSERT INTO students_fts(students_fts) VALUES ('rebuild')");
+                System.out.println("Full-text search index created.");
+            }
+        }
+    }
+
+    /**
+     * Runs {@link #initializeDatabase()} on the given executor, so startup can show the window while
+     * the schema is checked and migrated. Until it finishes, {@link #getConnection()} and
+     * {@link #openDedicatedConnection()} wait for it, so nothing queries a table that isn't there yet.
+     * @param executor Where to run the initialization.
+     * @return A future completed when the database is ready (also when initialization failed and
+     *         reported the error, like the synchronous version).
+     */
+    public static CompletableFuture<Void> initializeDatabaseAsync(Executor executor) {
+        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+            initializingThread = Thread.currentThread();
+            try {
+                initializeDatabase();
+            } finally {
+                initializingThread = null;
+            }
+        }, executor);
+        initialization = future;
+        return future;
+    }
+
+    /**
+     * Waits for an initialization started by {@link #initializeDatabaseAsync}, if one is still running.
+     * The initializing thread itself (e.g. migrations starting their backfills) doesn't wait.
+     */
+    private static void awaitInitialization() {
+        CompletableFuture<Void> pending = initialization;
+        if (pending == null || pending.isDone() || Thread.currentThread() == initializingThread) {
+            return;
+        }
+        pending.join();
     }
 
-    // Get a database connection
+    /**
+     * Gets a database connection from the shared pool.
+     * Closing the connection returns it to the pool rather than closing the database file.
+     */
     public static Connection getConnection() throws SQLException {
+        awaitInitialization();
+        return getPool().borrow();
+    }
+
+    /**
+     * Opens a connection outside the pool, with the same PRAGMAs, for work that needs one connection
+     * for a long time (PRAGMA data_version, for example, is per connection). The caller closes it.
+     */
+    public static Connection openDedicatedConnection() throws SQLException {
+        awaitInitialization();
+        getPool(); // Loads the driver
+        Connection conn = DriverManager.getConnection(CONNECTION_STRING);
+        try {
+            getPragmaProfile().applyTo(conn);
+        } catch (SQLException e) {
+            closeQuietly(conn);
+            throw e;
+        }
+        return conn;
+    }
+
+    /**
+     * @return The database file (srs.db.file), as configured.
+     */
+    public static String getDatabaseFile() {
+        return DB_NAME;
+    }
+
+    /**
+     * Returns the shared connection pool, creating it on first use.
+     */
+    public static ConnectionPool getPool() throws SQLException {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DatabaseUtil.class) {
+                current = pool;
+                if (current == null) {
+                    try {
+                        // Ensure the JDBC driver is loaded once, not on every connection request.
+                        Class.forName("org.sqlite.JDBC");
+                    } catch (ClassNotFoundException e) {
+                        System.err.println("SQLite JDBC driver not found.");
+                        throw new SQLException("SQLite JDBC driver not found.", e);
+                    }
+                    PragmaProfile profile = getPragmaProfile();
+                    current = new ConnectionPool(CONNECTION_STRING, POOL_SIZE, POOL_MIN_IDLE,
+                            POOL_BORROW_TIMEOUT_MS, POOL_IDLE_TIMEOUT_MS, POOL_VALIDATION_TIMEOUT_SECONDS,
+                            STATEMENT_CACHE_SIZE, profile::applyTo);
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Returns the PRAGMA profile applied to every connection, loading it on first use.
+     */
+    public static PragmaProfile getPragmaProfile() {
+        PragmaProfile current = pragmaProfile;
+        if (current == null) {
+            synchronized (DatabaseUtil.class) {
+                current = pragmaProfile;
+                if (current == null) {
+                    current = PragmaProfile.load();
+                    pragmaProfile = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Closes the shared pool and all of its connections. Called when the application exits.
+     */
+    public static void shutdown() {
+        // A running backfill saves its position and resumes on the next start
+        MigrationRunner.stopBackfills();
+        ConnectionPool current;
+        synchronized (DatabaseUtil.class) {
+            current = pool;
+            pool = null;
+        }
+        if (current != null) {
+            System.out.println("Closing database connections: " + current.getMetrics());
+            current.close();
+        }
+    }
+
+    /**
+     * Starts a write transaction with {@code BEGIN IMMEDIATE}, which takes the write lock up front
+     * (waiting up to busy_timeout for it). A transaction that reads before it writes needs this:
+     * begun DEFERRED, its first write fails with SQLITE_BUSY_SNAPSHOT at once, without waiting, if
+     * another connection committed after the read.
+     * <p>
+     * Only this transaction is immediate: the driver begins the next one (after commit or rollback)
+     * deferred as usual, so a connection kept out of autocommit doesn't hold the write lock.
+     * @param conn A connection in autocommit mode; it is left in a transaction, to be committed or
+     *             rolled back as usual.
+     */
+    public static void beginImmediate(Connection conn) throws SQLException {
+        if (!conn.getAutoCommit()) {
+            throw new SQLException("beginImmediate needs a connection in autocommit mode");
+        }
+        SQLiteConnectionConfig config = conn.unwrap(SQLiteConnection.class).getConnectionConfig();
+        SQLiteConfig.TransactionMode mode = config.getTransactionMode();
+        config.setTransactionMode(SQLiteConfig.TransactionMode.IMMEDIATE);
         try {
-            // Ensure the JDBC driver is loaded. Usually not needed with modern JDBC drivers,
-            // but good practice for older systems or specific configurations.
-            Class.forName("org.sqlite.JDBC");
-            return DriverManager.getConnection(CONNECTION_STRING);
-        } catch (ClassNotFoundException e) {
-            System.err.println("SQLite JDBC driver not found.");
-            throw new SQLException("SQLite JDBC driver not found.", e);
+            conn.setAutoCommit(false); // Issues the BEGIN
+        } finally {
+            config.setTransactionMode(mode);
         }
     }
 
@@ -0,0 +1,328 @@
+package com.example.studentrecordsystem.util;
+
+import com.example.studentrecordsystem.util.SchemaMigrations.Backfill;
+import com.example.studentrecordsystem.util.SchemaMigrations.Migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Brings the database schema up to date and runs data backfills without blocking the application.
+ * <p>
+ * Applied migrations are recorded in the {@code schema_migrations} table together with when they
+ * ran, how long they took and how far their backfill has got. At startup {@link #migrate} runs the
+ * schema step of every new migration, each in its own transaction with its metadata row, so a
+ * failed migration leaves the database at the previous version.
+ * <p>
+ * Backfills then run on a background thread ({@link #startBackfills}): a chunk of rows is updated
+ * and the position saved in one short transaction, followed by a pause so the application's own
+ * writes get the database lock in between. Each chunk begins IMMEDIATE, since it reads its bound
+ * before writing. A backfill interrupted by shutdown or a crash continues from the last committed
+ * chunk on the next start.
+ */
+public final class MigrationRunner {
+
+    // Rows per backfill transaction, and the pause after each one
+    private static final int BACKFILL_CHUNK_SIZE = Integer.getInteger("srs.migration.backfillChunkSize", 2000);
+    private static final long BACKFILL_PAUSE_MS = Long.getLong("srs.migration.backfillPauseMs", 50L);
+    // Chunk failures in a row (e.g. the write lock held past busy_timeout) before a backfill gives up until the next start
+    private static final int BACKFILL_MAX_RETRIES = 5;
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS schema_migrations (" +
+            " version INTEGER PRIMARY KEY NOT NULL," +
+            " description TEXT NOT NULL," +
+            " applied_at TEXT NOT NULL," +
+            " duration_ms INTEGER NOT NULL," +
+            " backfill_position INTEGER," +      // Last rowid done; NULL when there is nothing (left) to do
+            " backfill_rows INTEGER NOT NULL DEFAULT 0," +
+            " backfill_ms INTEGER NOT NULL DEFAULT 0," +
+            " backfill_done_at TEXT" +
+            ")";
+    private static final String INSERT_SQL = "INSERT INTO schema_migrations" +
+            "(version, description, applied_at, duration_ms, backfill_position, backfill_done_at) VALUES(?,?,?,?,?,?)";
+    private static final String PENDING_BACKFILLS_SQL = "SELECT version, backfill_position, backfill_rows, backfill_ms" +
+            " FROM schema_migrations WHERE backfill_position IS NOT NULL ORDER BY version";
+    private static final String SAVE_PROGRESS_SQL = "UPDATE schema_migrations" +
+            " SET backfill_position = ?, backfill_rows = backfill_rows + ?, backfill_ms = backfill_ms + ? WHERE version = ?";
+    private static final String FINISH_BACKFILL_SQL = "UPDATE schema_migrations" +
+            " SET backfill_position = NULL, backfill_done_at = ? WHERE version = ?";
+
+    private static volatile Thread backfillThread;
+    private static volatile boolean stopping;
+
+    private MigrationRunner() {
+    }
+
+    // --- Schema steps ---
+
+    /**
+     * Applies the schema step of every migration the database hasn't had yet. Each one checks the
+     * recorded version again once it holds the write lock, so another instance starting on the same
+     * database at the same time doesn't apply it twice.
+     * @return How many migrations were applied.
+     */
+    public static int migrate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(CREATE_TABLE_SQL);
+        }
+        int current = currentVersion(conn);
+        if (current > SchemaMigrations.latestVersion()) {
+            System.err.println("Warning: database schema version " + current +
+                    " is newer than this application supports (" + SchemaMigrations.latestVersion() + ").");
+        }
+
+        int applied = 0;
+        for (Migration migration : SchemaMigrations.MIGRATIONS) {
+            if (migration.version() <= current) {
+                continue;
+            }
+            long start = System.nanoTime();
+            // Steps read the schema (or rows) before changing it, so take the write lock first
+            DatabaseUtil.beginImmediate(conn);
+            try {
+                int recorded = currentVersion(conn);
+                if (recorded >= migration.version()) {
+                    conn.commit(); // Applied by another instance since the version was read
+                    current = recorded;
+                    continue;
+                }
+                if (migration.step() != null) {
+                    migration.step().apply(conn);
+                }
+                long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                // A backfill starts before the first rowid; without one the migration is complete
+                record(conn, migration, millis, migration.backfill() != null ? 0L : null);
+                conn.commit();
+                System.out.println("Applied schema migration " + migration.version() + " (" +
+                        migration.description() + ") in " + millis + " ms" +
+                        (migration.backfill() != null ? ", backfill pending" : ""));
+            } catch (SQLException e) {
+                conn.rollback();
+                throw new SQLException("Schema migration " + migration.version() + " (" +
+                        migration.description() + ") failed: " + e.getMessage(), e);
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            current = migration.version();
+            applied++;
+        }
+        return applied;
+    }
+
+    /**
+     * @return The highest applied migration version (0 for a new database).
+     */
+    public static int currentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_migrations")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void record(Connection conn, Migration migration, long millis, Long backfillPosition)
+            throws SQLException {
+        String now = Instant.now().toString();
+        try (PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
+            pstmt.setInt(1, migration.version());
+            pstmt.setString(2, migration.description());
+            pstmt.setString(3, now);
+            pstmt.setLong(4, millis);
+            if (backfillPosition != null) {
+                pstmt.setLong(5, backfillPosition);
+                pstmt.setString(6, null);
+            } else {
+                pstmt.setNull(5, Types.INTEGER);
+                pstmt.setString(6, now);
+            }
+            pstmt.executeUpdate();
+        }
+    }
+
+    // --- Backfills ---
+
+    /**
+     * Starts running unfinished backfills on a background thread (does nothing if there are none
+     * or they are already running).
+     */
+    public static synchronized void startBackfills() {
+        if (backfillThread != null && backfillThread.isAlive()) {
+            return;
+        }
+        List<long[]> pending;
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            pending = pendingBackfills(conn);
+        } catch (SQLException e) {
+            System.err.println("Error reading pending backfills: " + e.getMessage());
+            return;
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        stopping = false;
+        backfillThread = Thread.ofPlatform().daemon().name("srs-migration-backfill")
+                .start(() -> runBackfills(pending));
+    }
+
+    /**
+     * Stops the backfill thread after its current chunk; the next start continues where it stopped.
+     */
+    public static synchronized void stopBackfills() {
+        Thread thread = backfillThread;
+        if (thread == null) {
+            return;
+        }
+        stopping = true;
+        thread.interrupt();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        backfillThread = null;
+    }
+
+    // Each entry: version, position, rows done so far, milliseconds spent so far
+    private static List<long[]> pendingBackfills(Connection conn) throws SQLException {
+        List<long[]> pending = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(PENDING_BACKFILLS_SQL)) {
+            while (rs.next()) {
+                pending.add(new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)});
+            }
+        }
+        return pending;
+    }
+
+    private static void runBackfills(List<long[]> pending) {
+        for (long[] entry : pending) {
+            Migration migration = find((int) entry[0]);
+            if (migration == null || migration.backfill() == null) {
+                System.err.println("Skipping backfill for unknown migration " + entry[0]);
+                continue;
+            }
+            if (!runBackfill(migration, entry[1], entry[2], entry[3])) {
+                return; // Stopped or failed; later backfills wait for the next start
+            }
+        }
+    }
+
+    /**
+     * Runs one backfill to the end, a chunk per transaction.
+     * @return true if it finished.
+     */
+    private static boolean runBackfill(Migration migration, long position, long rowsDone, long millisDone) {
+        Backfill backfill = migration.backfill();
+        String label = "Backfill " + migration.version() + " (" + migration.description() + ")";
+        String boundSql = "SELECT MAX(rowid) FROM (SELECT rowid FROM " + backfill.table() +
+                " WHERE rowid > ? ORDER BY rowid LIMIT ?)";
+        long lastRowid = lastRowid(backfill.table());
+        long lastReport = System.nanoTime();
+        int failures = 0;
+        System.out.println(label + " starting at rowid " + position);
+
+        while (!stopping) {
+            long chunkStart = System.nanoTime();
+            try (Connection conn = DatabaseUtil.getConnection()) {
+                // The bound is read before the update, so the chunk holds the write lock from the start
+                DatabaseUtil.beginImmediate(conn);
+                try {
+                    Long upper = null;
+                    try (PreparedStatement bound = conn.prepareStatement(boundSql)) {
+                        bound.setLong(1, position);
+                        bound.setInt(2, BACKFILL_CHUNK_SIZE);
+                        try (ResultSet rs = bound.executeQuery()) {
+                            if (rs.next()) {
+                                long value = rs.getLong(1);
+                                upper = rs.wasNull() ? null : value;
+                            }
+                        }
+                    }
+                    if (upper == null) {
+                        try (PreparedStatement finish = conn.prepareStatement(FINISH_BACKFILL_SQL)) {
+                            finish.setString(1, Instant.now().toString());
+                            finish.setInt(2, migration.version());
+                            finish.executeUpdate();
+                        }
+                        conn.commit();
+                        System.out.println(label + " finished: " + String.format("%,d", rowsDone) +
+                                " rows changed in " + String.format("%.1f", millisDone / 1000.0) + " s");
+                        return true;
+                    }
+
+                    int changed;
+                    try (PreparedStatement update = conn.prepareStatement(backfill.updateSql())) {
+                        update.setLong(1, position);
+                        update.setLong(2, upper);
+                        changed = update.executeUpdate();
+                    }
+                    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - chunkStart);
+                    try (PreparedStatement save = conn.prepareStatement(SAVE_PROGRESS_SQL)) {
+                        save.setLong(1, upper);
+                        save.setInt(2, changed);
+                        save.setLong(3, millis);
+                        save.setInt(4, migration.version());
+                        save.executeUpdate();
+                    }
+                    conn.commit();
+                    position = upper;
+                    rowsDone += changed;
+                    millisDone += millis;
+                    failures = 0;
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            } catch (SQLException e) {
+                if (++failures > BACKFILL_MAX_RETRIES) {
+                    System.err.println(label + " stopped after repeated errors, will resume on next start: " +
+                            e.getMessage());
+                    return false;
+                }
+                System.err.println(label + " chunk failed, retrying: " + e.getMessage());
+            }
+
+            if (System.nanoTime() - lastReport >= PROGRESS_INTERVAL_NANOS) {
+                lastReport = System.nanoTime();
+                System.out.println(label + ": at rowid " + position +
+                        (lastRowid > 0 ? String.format(" (%.0f%%)", Math.min(100.0, 100.0 * position / lastRowid)) : "") +
+                        ", " + String.format("%,d", rowsDone) + " rows changed");
+            }
+            try {
+                // Leave the lock free for a moment; back off longer after a failure
+                Thread.sleep(BACKFILL_PAUSE_MS << Math.min(failures, 6));
+            } catch (InterruptedException e) {
+                break; // stopBackfills()
+            }
+        }
+        System.out.println(label + " paused at rowid " + position + ", will resume on next start");
+        return false;
+    }
+
+    private static long lastRowid(String table) {
+        try (Connection conn = DatabaseUtil.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(rowid) FROM " + table)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (SQLException e) {
+            return 0; // Only used for the progress percentage
+        }
+    }
+
+    private static Migration find(int version) {
+        for (Migration migration : SchemaMigrations.MIGRATIONS) {
+            if (migration.version() == version) {
+                return migration;
+            }
+        }
+        return null;
+    }
+}
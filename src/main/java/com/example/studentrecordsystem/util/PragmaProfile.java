@@ -0,0 +1,227 @@
+package com.example.studentrecordsystem.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * The set of SQLite PRAGMAs applied to every pooled connection when it is opened.
+ * <p>
+ * Values are resolved in this order, later sources overriding earlier ones:
+ * <ol>
+ *     <li>The built-in base profile named by {@code pragma.profile} ({@code default} or {@code wal}).</li>
+ *     <li>{@code database.properties} on the classpath.</li>
+ *     <li>An external properties file given with {@code -Dsrs.db.config=path}.</li>
+ *     <li>System properties such as {@code -Dsrs.pragma.journal_mode=DELETE}.</li>
+ * </ol>
+ * PRAGMA values can't be bound as parameters, so every value is checked against the
+ * values SQLite accepts before it is put into SQL.
+ */
+public class PragmaProfile {
+
+    private static final String RESOURCE = "/com/example/studentrecordsystem/database.properties";
+    private static final String PROPERTY_PREFIX = "pragma.";
+    private static final String SYSTEM_PROPERTY_PREFIX = "srs.pragma.";
+
+    private static final Set<String> JOURNAL_MODES = Set.of("DELETE", "TRUNCATE", "PERSIST", "MEMORY", "WAL", "OFF");
+    private static final Set<String> SYNCHRONOUS_MODES = Set.of("OFF", "NORMAL", "FULL", "EXTRA", "0", "1", "2", "3");
+    private static final Set<String> TEMP_STORE_MODES = Set.of("DEFAULT", "FILE", "MEMORY", "0", "1", "2");
+
+    private final String name;
+    private final String journalMode;
+    private final String synchronous;
+    private final long cacheSize;
+    private final long mmapSize;
+    private final String tempStore;
+    private final long busyTimeoutMillis;
+
+    public PragmaProfile(String name, String journalMode, String synchronous, long cacheSize,
+                         long mmapSize, String tempStore, long busyTimeoutMillis) {
+        this.name = name;
+        this.journalMode = checked("journal_mode", journalMode, JOURNAL_MODES);
+        this.synchronous = checked("synchronous", synchronous, SYNCHRONOUS_MODES);
+        this.cacheSize = cacheSize;
+        this.mmapSize = mmapSize;
+        this.tempStore = checked("temp_store", tempStore, TEMP_STORE_MODES);
+        this.busyTimeoutMillis = busyTimeoutMillis;
+    }
+
+    // --- Built-in profiles ---
+
+    /**
+     * SQLite's own defaults: rollback journal and a full fsync on every commit.
+     */
+    public static PragmaProfile sqliteDefaults() {
+        return new PragmaProfile("default", "DELETE", "FULL", -2000, 0, "DEFAULT", 3000);
+    }
+
+    /**
+     * Write-ahead logging: readers no longer block behind the writer, and with
+     * synchronous=NORMAL a commit only appends to the WAL instead of syncing the database.
+     */
+    public static PragmaProfile wal() {
+        return new PragmaProfile("wal", "WAL", "NORMAL", -20000, 268_435_456L, "MEMORY", 5000);
+    }
+
+    public static PragmaProfile named(String profileName) {
+        if ("default".equalsIgnoreCase(profileName)) {
+            return sqliteDefaults();
+        }
+        if ("wal".equalsIgnoreCase(profileName)) {
+            return wal();
+        }
+        throw new IllegalArgumentException("Unknown PRAGMA profile: " + profileName);
+    }
+
+    // --- Loading ---
+    /**
+     * Resolves the profile from the classpath file, the optional external file and system properties.
+     * Falls back to the WAL profile if the configuration is unusable.
+     */
+    public static PragmaProfile load() {
+        Properties props = new Properties();
+        try (InputStream in = PragmaProfile.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                props.load(in);
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading " + RESOURCE + ": " + e.getMessage());
+        }
+
+        String externalFile = System.getProperty("srs.db.config");
+        if (externalFile != null && !externalFile.isBlank()) {
+            try (Reader reader = Files.newBufferedReader(Path.of(externalFile))) {
+                props.load(reader);
+            } catch (IOException e) {
+                System.err.println("Error reading database config " + externalFile + ": " + e.getMessage());
+            }
+        }
+
+        // System properties win: -Dsrs.pragma.journal_mode=... becomes pragma.journal_mode
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith(SYSTEM_PROPERTY_PREFIX)) {
+                props.setProperty(PROPERTY_PREFIX + key.substring(SYSTEM_PROPERTY_PREFIX.length()),
+                        System.getProperty(key));
+            }
+        }
+
+        try {
+            return fromProperties(props);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid PRAGMA configuration, using the WAL profile: " + e.getMessage());
+            return wal();
+        }
+    }
+
+    /**
+     * Builds a profile from {@code pragma.*} keys, starting from the base profile named by {@code pragma.profile}.
+     */
+    public static PragmaProfile fromProperties(Properties props) {
+        PragmaProfile base = named(props.getProperty(PROPERTY_PREFIX + "profile", "wal").trim());
+        return new PragmaProfile(
+                base.name,
+                props.getProperty(PROPERTY_PREFIX + "journal_mode", base.journalMode),
+                props.getProperty(PROPERTY_PREFIX + "synchronous", base.synchronous),
+                longValue(props, "cache_size", base.cacheSize),
+                longValue(props, "mmap_size", base.mmapSize),
+                props.getProperty(PROPERTY_PREFIX + "temp_store", base.tempStore),
+                longValue(props, "busy_timeout", base.busyTimeoutMillis));
+    }
+
+    // --- Applying ---
+    /**
+     * Runs the PRAGMA statements on a freshly opened connection.
+     * busy_timeout goes first so the journal_mode switch can wait out another writer.
+     */
+    public void applyTo(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = " + busyTimeoutMillis);
+            stmt.execute("PRAGMA journal_mode = " + journalMode);
+            stmt.execute("PRAGMA synchronous = " + synchronous);
+            stmt.execute("PRAGMA cache_size = " + cacheSize);
+            stmt.execute("PRAGMA mmap_size = " + mmapSize);
+            stmt.execute("PRAGMA temp_store = " + tempStore);
+        }
+    }
+
+    /**
+     * Reads back the journal mode SQLite actually uses (it can refuse WAL, e.g. for in-memory databases).
+     */
+    public static String effectiveJournalMode(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA journal_mode")) {
+            return rs.next() ? rs.getString(1) : "unknown";
+        }
+    }
+
+    private static String checked(String pragma, String value, Set<String> allowed) {
+        String normalized = value == null ? "" : value.trim().toUpperCase(Locale.ROOT);
+        if (!allowed.contains(normalized)) {
+            throw new IllegalArgumentException(pragma + " must be one of " + allowed + ", was '" + value + "'");
+        }
+        return normalized;
+    }
+
+    private static long longValue(Properties props, String pragma, long defaultValue) {
+        String value = props.getProperty(PROPERTY_PREFIX + pragma);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(pragma + " must be a number, was '" + value + "'");
+        }
+    }
+
+    // --- Getters ---
+
+    public String getName() {
+        return name;
+    }
+
+    public String getJournalMode() {
+        return journalMode;
+    }
+
+    public String getSynchronous() {
+        return synchronous;
+    }
+
+    public long getCacheSize() {
+        return cacheSize;
+    }
+
+    public long getMmapSize() {
+        return mmapSize;
+    }
+
+    public String getTempStore() {
+        return tempStore;
+    }
+
+    public long getBusyTimeoutMillis() {
+        return busyTimeoutMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "PragmaProfile{" + name +
+                ": journal_mode=" + journalMode +
+                ", synchronous=" + synchronous +
+                ", cache_size=" + cacheSize +
+                ", mmap_size=" + mmapSize +
+                ", temp_store=" + tempStore +
+                ", busy_timeout=" + busyTimeoutMillis +
+                '}';
+    }
+}
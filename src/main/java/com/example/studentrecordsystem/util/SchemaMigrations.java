@@ -0,0 +1,179 @@
+package com.example.studentrecordsystem.util;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Numbered schema changes applied on top of the base students table (see {@link MigrationRunner}).
+ * <p>
+ * A migration has a schema step, run at startup in one transaction, and optionally a data
+ * backfill, run afterwards in the background in small resumable chunks. Keep schema steps
+ * cheap (DDL, no full-table rewrites) and put work over existing rows into the backfill; the one
+ * exception is migration 6, which can only change the primary key by rebuilding the table.
+ * Never edit a migration that has shipped: add a new one with the next version instead.
+ * <p>
+ * Steps that create objects use IF NOT EXISTS, so one applied to a database that already has them
+ * (e.g. an index created by hand) is recorded instead of failing.
+ */
+final class SchemaMigrations {
+
+    /**
+     * One schema change.
+     * @param step The schema work (may be null for a data-only migration).
+     * @param backfill Work over existing rows (may be null).
+     */
+    record Migration(int version, String description, Step step, Backfill backfill) {
+    }
+
+    /**
+     * The schema work of a migration, run inside its transaction.
+     */
+    @FunctionalInterface
+    interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    /**
+     * A data change applied to a table in rowid order, one chunk per transaction.
+     * @param updateSql Changes the rows with {@code rowid > ?1 AND rowid <= ?2}; must be safe to run
+     *                  twice on the same rows, since a chunk interrupted before its commit is redone.
+     */
+    record Backfill(String table, String updateSql) {
+    }
+
+    static final List<Migration> MIGRATIONS = List.of(
+            // Covers every column, so the display-order queries and keyset pages read only the index
+            // and never sort the table (ORDER BY last_name, first_name[, student_id])
+            new Migration(1, "Covering index for the display order", sql(
+                    "CREATE INDEX IF NOT EXISTS idx_students_name" +
+                    " ON students(last_name, first_name, student_id, email, major)"), null),
+            new Migration(2, "Unique index on email where present", SchemaMigrations::createEmailIndex, null),
+            new Migration(3, "Index on major", sql(
+                    "CREATE INDEX IF NOT EXISTS idx_students_major ON students(major)"), null),
+            // Older versions stored an untouched optional field as "" (or spaces); missing is NULL now
+            new Migration(4, "Store blank emails and majors as NULL", null, new Backfill("students",
+                    "UPDATE students SET" +
+                    " email = CASE WHEN trim(email) = '' THEN NULL ELSE email END," +
+                    " major = CASE WHEN trim(major) = '' THEN NULL ELSE major END" +
+                    " WHERE rowid > ?1 AND rowid <= ?2 AND (trim(email) = '' OR trim(major) = '')")),
+            // Every write to students, whichever program makes it, for the change feed (StudentChangeFeed).
+            // Updates and deletes keep the old values; the new ones are read from students.
+            // AUTOINCREMENT so sequence numbers are never reused after old entries are pruned.
+            new Migration(5, "Change log of student writes", sql(
+                    "CREATE TABLE IF NOT EXISTS student_changes (" +
+                    " seq INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    " op TEXT NOT NULL," +
+                    " student_id TEXT NOT NULL," +
+                    " old_first_name TEXT," +
+                    " old_last_name TEXT," +
+                    " old_email TEXT," +
+                    " old_major TEXT)",
+                    "CREATE TRIGGER IF NOT EXISTS student_changes_ai AFTER INSERT ON students BEGIN" +
+                    " INSERT INTO student_changes(op, student_id) VALUES ('I', NEW.student_id);" +
+                    " END",
+                    // A changed student_id logs the old ID as updated (it no longer exists) and the new one as inserted
+                    "CREATE TRIGGER IF NOT EXISTS student_changes_au AFTER UPDATE ON students BEGIN" +
+                    " INSERT INTO student_changes(op, student_id, old_first_name, old_last_name, old_email, old_major)" +
+                    " VALUES ('U', OLD.student_id, OLD.first_name, OLD.last_name, OLD.email, OLD.major);" +
+                    " INSERT INTO student_changes(op, student_id)" +
+                    " SELECT 'I', NEW.student_id WHERE NEW.student_id IS NOT OLD.student_id;" +
+                    " END",
+                    "CREATE TRIGGER IF NOT EXISTS student_changes_ad AFTER DELETE ON students BEGIN" +
+                    " INSERT INTO student_changes(op, student_id, old_first_name, old_last_name, old_email, old_major)" +
+                    " VALUES ('D', OLD.student_id, OLD.first_name, OLD.last_name, OLD.email, OLD.major);" +
+                    " END"), null),
+            // The full-text index (students_fts) finds rows by rowid, which a VACUUM may renumber in a
+            // table without an INTEGER PRIMARY KEY
+            new Migration(6, "Stable rowids for the full-text index", SchemaMigrations::addIntegerKey, null)
+    );
+
+    private SchemaMigrations() {
+    }
+
+    /**
+     * @return The latest schema version this build knows about.
+     */
+    static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version();
+    }
+
+    private static Step sql(String... statements) {
+        return conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                for (String statement : statements) {
+                    stmt.execute(statement);
+                }
+            }
+        };
+    }
+
+    /**
+     * Emails are optional (NULL or empty), so only the ones present have to be unique. A database
+     * that already holds duplicates gets a plain index instead, so startup doesn't fail; the
+     * duplicates are reported and the index can be rebuilt as unique once they are cleaned up.
+     */
+    private static void createEmailIndex(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            int duplicates;
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT COUNT(*) FROM (SELECT email FROM students WHERE email IS NOT NULL AND email <> ''" +
+                    " GROUP BY email HAVING COUNT(*) > 1)")) {
+                duplicates = rs.next() ? rs.getInt(1) : 0;
+            }
+            String unique = duplicates == 0 ? "UNIQUE " : "";
+            if (duplicates > 0) {
+                System.err.println("Warning: " + duplicates + " email address(es) are used by more than one student;" +
+                        " creating a non-unique email index. Remove the duplicates and recreate idx_students_email" +
+                        " as UNIQUE to enforce uniqueness.");
+            }
+            stmt.execute("CREATE " + unique + "INDEX IF NOT EXISTS idx_students_email" +
+                    " ON students(email) WHERE email IS NOT NULL AND email <> ''");
+        }
+    }
+
+    /**
+     * Rebuilds students with an {@code id INTEGER PRIMARY KEY} column, which makes the rowid an alias
+     * that VACUUM keeps. The copy keeps every row's current rowid, so the full-text index still
+     * matches; it is rebuilt anyway, in case a VACUUM already renumbered the rows. student_id stays
+     * unique and NOT NULL. The table's own indexes and triggers (change log, full-text index) are
+     * recreated from their stored definitions.
+     */
+    private static void addIntegerKey(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            List<String> dependents = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery("SELECT sql FROM sqlite_master" +
+                    " WHERE tbl_name = 'students' AND type IN ('index', 'trigger') AND sql IS NOT NULL" +
+                    " ORDER BY type")) {
+                while (rs.next()) {
+                    dependents.add(rs.getString(1));
+                }
+            }
+            stmt.execute("CREATE TABLE students_new (" +
+                    " id INTEGER PRIMARY KEY," +
+                    " student_id TEXT NOT NULL UNIQUE," +
+                    " first_name TEXT NOT NULL," +
+                    " last_name TEXT NOT NULL," +
+                    " email TEXT," +
+                    " major TEXT)");
+            stmt.execute("INSERT INTO students_new(id, student_id, first_name, last_name, email, major)" +
+                    " SELECT rowid, student_id, first_name, last_name, email, major FROM students ORDER BY rowid");
+            stmt.execute("DROP TABLE students");
+            stmt.execute("ALTER TABLE students_new RENAME TO students");
+            for (String sql : dependents) {
+                stmt.execute(sql);
+            }
+            boolean searchIndex;
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'students_fts'")) {
+                searchIndex = rs.next();
+            }
+            if (searchIndex) {
+                stmt.execute("INSERT INTO students_fts(students_fts) VALUES ('rebuild')");
+            }
+        }
+    }
+}
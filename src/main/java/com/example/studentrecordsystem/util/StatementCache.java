@@ -0,0 +1,185 @@
+package com.example.studentrecordsystem.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache of {@link PreparedStatement}s for one physical connection, keyed by SQL text.
+ * <p>
+ * A pooled connection outlives the DAO call that borrowed it, so the statements it
+ * prepared can be kept too. Callers still close the statement as usual; closing a
+ * cached statement only clears its parameters and makes it available for the next
+ * {@code prepareStatement} with the same SQL. The cache is cleared (and every
+ * statement really closed) when the physical connection is closed.
+ * <p>
+ * A connection is only ever used by one borrower at a time, so the cache is not
+ * shared between threads while it is being used; the methods are synchronized only
+ * so eviction and shutdown can never race with a late statement close.
+ */
+class StatementCache {
+
+    private final int capacity;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    // Access-ordered, so iteration starts at the least recently used statement
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    StatementCache(int capacity, LongAdder hits, LongAdder misses, LongAdder evictions) {
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    /**
+     * Returns a cached statement for the SQL, preparing (and caching) it on a miss.
+     * If the cached statement is already handed out (e.g. the same SQL prepared twice
+     * before the first one is closed), a plain uncached statement is returned instead.
+     */
+    synchronized PreparedStatement prepare(Connection physical, Connection owner, String sql) throws SQLException {
+        if (capacity <= 0) {
+            return physical.prepareStatement(sql);
+        }
+        Entry entry = entries.get(sql);
+        if (entry != null && !entry.inUse) {
+            hits.increment();
+            entry.inUse = true;
+            return entry.handle(owner);
+        }
+        misses.increment();
+        PreparedStatement statement = physical.prepareStatement(sql);
+        if (entry != null) {
+            // Same SQL is still open by this borrower, don't share the statement
+            return statement;
+        }
+        entry = new Entry(sql, statement);
+        entry.inUse = true;
+        entries.put(sql, entry);
+        evictOverflow();
+        return entry.handle(owner);
+    }
+
+    /**
+     * Closes every cached statement. Statements still handed out are closed when returned.
+     */
+    synchronized void clear() {
+        for (Entry entry : entries.values()) {
+            entry.evicted = true;
+            if (!entry.inUse) {
+                DatabaseUtil.closeQuietly(entry.statement);
+            }
+        }
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+        while (entries.size() > capacity && leastRecentlyUsed.hasNext()) {
+            Entry eldest = leastRecentlyUsed.next();
+            if (eldest.inUse) {
+                continue; // Can't evict a statement someone is using right now
+            }
+            leastRecentlyUsed.remove();
+            eldest.evicted = true;
+            evictions.increment();
+            DatabaseUtil.closeQuietly(eldest.statement);
+        }
+    }
+
+    private synchronized void release(Entry entry) {
+        entry.inUse = false;
+        if (entry.evicted) {
+            DatabaseUtil.closeQuietly(entry.statement);
+            return;
+        }
+        try {
+            // Leave nothing behind for the next caller
+            entry.statement.clearParameters();
+            entry.statement.clearBatch();
+        } catch (SQLException e) {
+            // A statement that can't be reset is not worth keeping
+            entries.remove(entry.sql);
+            entry.evicted = true;
+            DatabaseUtil.closeQuietly(entry.statement);
+        }
+    }
+
+    // --- Cache entry ---
+    private final class Entry {
+        private final String sql;
+        private final PreparedStatement statement;
+        private boolean inUse = false;
+        private boolean evicted = false;
+
+        Entry(String sql, PreparedStatement statement) {
+            this.sql = sql;
+            this.statement = statement;
+        }
+
+        PreparedStatement handle(Connection owner) {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new HandleInvocationHandler(this, owner));
+        }
+    }
+
+    /**
+     * The statement handle a caller sees. {@code close()} hands the statement back to
+     * the cache; everything else goes to the real statement.
+     */
+    private final class HandleInvocationHandler implements InvocationHandler {
+        private final Entry entry;
+        private final Connection owner;
+        private boolean handleClosed = false;
+
+        HandleInvocationHandler(Entry entry, Connection owner) {
+            this.entry = entry;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!handleClosed) {
+                        handleClosed = true;
+                        release(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return handleClosed || entry.statement.isClosed();
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + entry.sql + "]";
+                default:
+                    if (handleClosed) {
+                        throw new SQLException("Statement has already been closed.");
+                    }
+                    try {
+                        return method.invoke(entry.statement, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.studentrecordsystem.view;
+
+import javafx.concurrent.Task;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Runs work off the JavaFX Application Thread and reflects it in the status bar.
+ * <p>
+ * Each piece of work is wrapped in a {@link Task} and submitted to the given executor.
+ * Task callbacks are delivered on the FX thread, so {@code onSuccess}/{@code onFailure}
+ * can touch the UI directly. While anything is running, the progress bar and status label
+ * follow the most recently started task; the cancel button shows while a task it can cancel runs.
+ * Work started with {@link #runUncancellable} can't be cancelled, for when {@code onSuccess} must
+ * run: interrupting a write after its commit would skip it, so the view would never apply a change
+ * that is in the database; likewise a read the view has to catch up from.
+ * All methods must be called on the FX thread.
+ */
+public class BackgroundTaskRunner {
+
+    private final Executor executor;
+    private final ProgressBar progressBar;
+    private final Label statusLabel;
+    private final Button cancelButton;
+    private final List<Task<?>> running = new ArrayList<>();
+    private final Set<Task<?>> uncancellable = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public BackgroundTaskRunner(Executor executor, ProgressBar progressBar, Label statusLabel, Button cancelButton) {
+        this.executor = executor;
+        this.progressBar = progressBar;
+        this.statusLabel = statusLabel;
+        this.cancelButton = cancelButton;
+        this.cancelButton.setOnAction(event -> cancelAll());
+        updateIndicators();
+    }
+
+    /**
+     * Runs a simple callable in the background.
+     * @param description Shown in the status bar while the work runs.
+     * @param work The work to run off the FX thread.
+     * @param onSuccess Called on the FX thread with the result.
+     * @param onFailure Called on the FX thread if the work throws (not when it is cancelled).
+     * @return The task, e.g. to cancel it.
+     */
+    public <T> Task<T> run(String description, Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                updateMessage(description);
+                return work.call();
+            }
+        };
+        return run(task, onSuccess, onFailure);
+    }
+
+    /**
+     * Runs work in the background that {@link #cancelAll()} leaves alone, so it always ends in
+     * {@code onSuccess} or {@code onFailure}; e.g. a database write.
+     * @param description Shown in the status bar while the work runs.
+     * @param work The work to run off the FX thread.
+     * @param onSuccess Called on the FX thread with the result.
+     * @param onFailure Called on the FX thread if the work throws.
+     * @return The task.
+     */
+    public <T> Task<T> runUncancellable(String description, Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                updateMessage(description);
+                return work.call();
+            }
+        };
+        uncancellable.add(task);
+        return run(task, onSuccess, onFailure);
+    }
+
+    /**
+     * Runs a task that reports its own message and progress (e.g. a bulk import).
+     */
+    public <T> Task<T> run(Task<T> task, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        task.setOnSucceeded(event -> {
+            finished(task);
+            if (onSuccess != null) {
+                onSuccess.accept(task.getValue());
+            }
+        });
+        task.setOnFailed(event -> {
+            finished(task);
+            if (onFailure != null) {
+                onFailure.accept(task.getException());
+            } else {
+                System.err.println("Background task failed: " + task.getException());
+            }
+        });
+        task.setOnCancelled(event -> finished(task));
+
+        running.add(task);
+        updateIndicators();
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Cancels every running task (interrupting the thread running it), except those started with
+     * {@link #runUncancellable}.
+     */
+    public void cancelAll() {
+        for (Task<?> task : new ArrayList<>(running)) {
+            if (!uncancellable.contains(task)) {
+                task.cancel();
+            }
+        }
+    }
+
+    /**
+     * @return true if any background work is still running.
+     */
+    public boolean isBusy() {
+        return !running.isEmpty();
+    }
+
+    private void finished(Task<?> task) {
+        running.remove(task);
+        uncancellable.remove(task);
+        updateIndicators();
+    }
+
+    private void updateIndicators() {
+        boolean busy = !running.isEmpty();
+        progressBar.setVisible(busy);
+        cancelButton.setVisible(uncancellable.size() < running.size());
+        statusLabel.setVisible(busy);
+        progressBar.progressProperty().unbind();
+        statusLabel.textProperty().unbind();
+        if (busy) {
+            Task<?> latest = running.get(running.size() - 1);
+            progressBar.progressProperty().bind(latest.progressProperty());
+            statusLabel.textProperty().bind(latest.messageProperty());
+        } else {
+            statusLabel.setText("");
+        }
+    }
+}
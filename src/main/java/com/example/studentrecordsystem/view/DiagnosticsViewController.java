@@ -0,0 +1,126 @@
+package com.example.studentrecordsystem.view;
+
+import com.example.studentrecordsystem.dao.StudentDAO;
+import com.example.studentrecordsystem.metrics.Metrics;
+import com.example.studentrecordsystem.metrics.OperationStats;
+import com.example.studentrecordsystem.util.DatabaseUtil;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.fxml.FXML;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import java.sql.SQLException;
+import java.util.function.Function;
+
+/**
+ * Live view of the operation metrics (see {@link Metrics}), the connection pool and the ID lookup
+ * cache. Refreshes itself while the window is showing.
+ */
+public class DiagnosticsViewController {
+
+    private static final int REFRESH_MS = Integer.getInteger("srs.diagnostics.refreshMs", 1000);
+
+    @FXML
+    private TableView<OperationStats> operationsTable;
+    @FXML
+    private TableColumn<OperationStats, String> operationColumn;
+    @FXML
+    private TableColumn<OperationStats, Number> callsColumn;
+    @FXML
+    private TableColumn<OperationStats, Number> errorsColumn;
+    @FXML
+    private TableColumn<OperationStats, Number> errorRateColumn;
+    @FXML
+    private TableColumn<OperationStats, Number> meanColumn;
+    @FXML
+    private TableColumn<OperationStats, Number> p50Column;
+    @FXML
+    private TableColumn<OperationStats, Number> p90Column;
+    @FXML
+    private TableColumn<OperationStats, Number> p99Column;
+    @FXML
+    private TableColumn<OperationStats, Number> p999Column;
+    @FXML
+    private TableColumn<OperationStats, Number> maxColumn;
+    @FXML
+    private Label poolLabel;
+    @FXML
+    private Label cacheLabel;
+
+    private Stage stage;
+    private Timeline refreshTimeline;
+
+    @FXML
+    private void initialize() {
+        // OperationStats is a record, so the columns read its accessors instead of using PropertyValueFactory
+        operationColumn.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(cell.getValue().name()));
+        numberColumn(callsColumn, OperationStats::calls, "%,d");
+        numberColumn(errorsColumn, OperationStats::errors, "%,d");
+        numberColumn(errorRateColumn, stats -> stats.errorRate() * 100, "%.2f");
+        numberColumn(meanColumn, OperationStats::meanMillis, "%.3f");
+        numberColumn(p50Column, OperationStats::p50Millis, "%.3f");
+        numberColumn(p90Column, OperationStats::p90Millis, "%.3f");
+        numberColumn(p99Column, OperationStats::p99Millis, "%.3f");
+        numberColumn(p999Column, OperationStats::p999Millis, "%.3f");
+        numberColumn(maxColumn, OperationStats::maxMillis, "%.3f");
+
+        refreshTimeline = new Timeline(new KeyFrame(Duration.millis(REFRESH_MS), event -> refresh()));
+        refreshTimeline.setCycleCount(Animation.INDEFINITE);
+    }
+
+    /**
+     * Sets the window this view is shown in; refreshing runs only while it is showing.
+     */
+    public void setStage(Stage stage) {
+        this.stage = stage;
+        stage.setOnShown(event -> {
+            refresh();
+            refreshTimeline.play();
+        });
+        stage.setOnHidden(event -> refreshTimeline.stop());
+    }
+
+    /**
+     * Reads the current numbers into the table and labels.
+     */
+    public void refresh() {
+        operationsTable.getItems().setAll(Metrics.snapshot());
+        operationsTable.sort(); // Keep the user's column sort across refreshes
+        try {
+            poolLabel.setText("Connections: " + DatabaseUtil.getPool().getMetrics());
+        } catch (SQLException e) {
+            poolLabel.setText("Connections: unavailable (" + e.getMessage() + ")");
+        }
+        cacheLabel.setText("Student lookups: " + StudentDAO.getCacheStats());
+    }
+
+    @FXML
+    private void handleReset() {
+        Metrics.reset();
+        refresh();
+    }
+
+    @FXML
+    private void handleClose() {
+        stage.close();
+    }
+
+    private static void numberColumn(TableColumn<OperationStats, Number> column,
+                                     Function<OperationStats, Number> value, String format) {
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(value.apply(cell.getValue())));
+        column.setCellFactory(c -> new TableCell<>() {
+            @Override
+            protected void updateItem(Number item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : String.format(format, item));
+            }
+        });
+    }
+}
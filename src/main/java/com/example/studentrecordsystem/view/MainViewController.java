@@ -1,24 +1,56 @@
 package com.example.studentrecordsystem.view; // Use your correct package
 
+import com.example.studentrecordsystem.dao.DaoExecutor;
+import com.example.studentrecordsystem.dao.StudentChangeFeed;
 import com.example.studentrecordsystem.dao.StudentDAO;
+import com.example.studentrecordsystem.dao.StudentSnapshotStore;
+import com.example.studentrecordsystem.dao.StudentStatistics;
+import com.example.studentrecordsystem.dao.StudentStatisticsDAO;
+import com.example.studentrecordsystem.io.ExportFormat;
+import com.example.studentrecordsystem.io.ImportFormat;
+import com.example.studentrecordsystem.io.ImportReport;
+import com.example.studentrecordsystem.io.StudentExporter;
+import com.example.studentrecordsystem.io.StudentImporter;
+import com.example.studentrecordsystem.metrics.Metrics;
+import com.example.studentrecordsystem.metrics.OperationMetrics;
+import com.example.studentrecordsystem.metrics.StartupTimes;
 import com.example.studentrecordsystem.model.Student;
+import com.example.studentrecordsystem.model.StudentSearchIndex;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList; // Import FilteredList
 import javafx.collections.transformation.SortedList;   // Import SortedList
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.AnchorPane;
+import javafx.scene.layout.BorderPane;
+import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
+import java.io.File;
 import java.io.IOException;
-import java.util.Comparator;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 public class MainViewController {
 
@@ -45,6 +77,16 @@ public class MainViewController {
     private TextField searchField;
     // ------------------------
 
+    // --- Background work indicator ---
+    @FXML
+    private ProgressBar progressBar;
+    @FXML
+    private Label statusLabel;
+    @FXML
+    private Button cancelButton;
+    private BackgroundTaskRunner taskRunner; // Runs every DAO call off the FX thread
+    // ------------------------
+
     private StudentDAO studentDAO;
     // --- Modify Data Lists for Filtering ---
     private ObservableList<Student> studentData; // Master list
@@ -52,6 +94,70 @@ public class MainViewController {
     private SortedList<Student> sortedData;      // Sorted view (bound to table)
     // ----------------------------------------
 
+    // --- Paged mode for large tables ---
+    // Above this many rows the table reads pages on demand instead of loading everything
+    private static final int IN_MEMORY_ROW_LIMIT = Integer.getInteger("srs.view.inMemoryLimit", 50_000);
+    private static final int PAGE_SIZE = Integer.getInteger("srs.view.pageSize", 200);
+    private static final int MAX_CACHED_PAGES = Integer.getInteger("srs.view.cachedPages", 20);
+    private PagedStudentList pagedData;          // Page-cached view of the whole table
+    private boolean pagedMode = false;
+    // ----------------------------------------
+
+    // --- Full-text search ---
+    // The search field queries the FTS index instead of scanning every row in memory
+    private static final int SEARCH_LIMIT = Integer.getInteger("srs.search.limit", 1000);
+    private static final int SEARCH_DEBOUNCE_MS = Integer.getInteger("srs.search.debounceMs", 250);
+    private ObservableList<Student> searchResults;     // Matches for the active search
+    private SortedList<Student> sortedSearchResults;   // Sorted view of the matches (bound to table while searching)
+    private PauseTransition searchDebounce;            // Waits for typing to pause before querying
+    private String activeSearch = null;                // null when the table shows all students
+    private int searchSequence = 0;                    // Discards results of searches that were superseded
+    // While every row is in memory, the search field filters through a trigram index instead
+    // (instant, substring matches); -Dsrs.search.inMemoryIndex=false always uses the FTS index
+    private static final boolean IN_MEMORY_SEARCH =
+            Boolean.parseBoolean(System.getProperty("srs.search.inMemoryIndex", "true"));
+    private StudentSearchIndex searchIndex;            // Index over the master list
+    private StudentPositions studentPositions;         // Row of each student ID in the master list
+    // Time spent re-filtering and re-sorting the table on the FX thread (see Metrics)
+    private static final OperationMetrics FILTER_METRICS = Metrics.operation("MainView.filter");
+    private static final OperationMetrics SORT_METRICS = Metrics.operation("MainView.sort");
+    // ----------------------------------------
+
+    // --- Statistics panel ---
+    @FXML
+    private Label totalStudentsLabel;
+    @FXML
+    private Label missingFieldsLabel;
+    @FXML
+    private ListView<String> majorCountsList;
+    @FXML
+    private ListView<String> emailDomainsList;
+    private static final int STATISTICS_DEBOUNCE_MS = Integer.getInteger("srs.statistics.debounceMs", 1000);
+    private static final int TOP_EMAIL_DOMAINS = Integer.getInteger("srs.statistics.topDomains", 20);
+    private StudentStatisticsDAO statisticsDAO;        // Aggregates computed in SQLite once, then adjusted on every write
+    private PauseTransition statisticsDebounce;        // Turns a burst of writes into one panel update
+    private int statisticsSequence = 0;                // Discards statistics that arrive out of order
+    // ----------------------------------------
+
+    private Stage diagnosticsStage;                    // Metrics window, kept once opened
+
+    // --- Edit dialog ---
+    // Parsed once in the background after the first load, then reused for every add and edit
+    private CompletableFuture<EditDialog> editDialogLoad;
+    private Stage editDialogStage;
+    private StudentEditDialogController editDialogController;
+    private boolean firstDataShown = false;
+
+    private record EditDialog(AnchorPane page, StudentEditDialogController controller) {
+    }
+    // ----------------------------------------
+
+    // Applies rows other programs write to the same database file (see StudentChangeFeed);
+    // -Dsrs.changes.watch=false leaves them until the next refresh
+    private static final boolean WATCH_CHANGES =
+            Boolean.parseBoolean(System.getProperty("srs.changes.watch", "true"));
+    private StudentChangeFeed changeFeed;              // Null when not watching
+
 
     public MainViewController() {
         studentDAO = new StudentDAO();
@@ -67,75 +173,71 @@ public class MainViewController {
 
         // --- Custom Setup for Student ID Column with Natural Sorting ---
         studentIdColumn.setCellValueFactory(new PropertyValueFactory<>("studentId"));
-        // Add a custom comparator for natural sorting attempt
-        studentIdColumn.setComparator(new Comparator<String>() {
-            @Override
-            public int compare(String s1, String s2) {
-                if (s1 == null && s2 == null) return 0;
-                if (s1 == null) return -1;
-                if (s2 == null) return 1;
-
-                // Attempt to extract numeric and non-numeric parts
-                String numStr1 = s1.replaceAll("[^0-9]", ""); // Get only digits
-                String numStr2 = s2.replaceAll("[^0-9]", "");
-                String alphaStr1 = s1.replaceAll("[0-9]", ""); // Get only non-digits
-                String alphaStr2 = s2.replaceAll("[0-9]", "");
-
-                // Compare non-numeric parts first (e.g., 'S' in 'S100')
-                int alphaCompare = alphaStr1.compareToIgnoreCase(alphaStr2);
-                if (alphaCompare != 0) {
-                    return alphaCompare;
-                }
-
-                // If non-numeric parts are the same, compare numeric parts
-                if (!numStr1.isEmpty() && !numStr2.isEmpty()) {
-                    try {
-                        long num1 = Long.parseLong(numStr1);
-                        long num2 = Long.parseLong(numStr2);
-                        if (num1 != num2) {
-                            return Long.compare(num1, num2); // Numerical comparison
-                        }
-                        // If numbers are also the same, fall through to full string compare
-                    } catch (NumberFormatException e) {
-                        // One or both numeric parts couldn't be parsed as long, fall back
-                    }
-                } else if (!numStr1.isEmpty()) { // s1 has number, s2 doesn't
-                    return 1; // Typically number comes after letter part if prefixes match
-                } else if (!numStr2.isEmpty()) { // s2 has number, s1 doesn't
-                    return -1;
-                }
-                // If all else fails (e.g., both non-numeric, or parsing failed), compare original strings
-                return s1.compareToIgnoreCase(s2);
-            }
-        });
+        // Natural sorting (S2 before S10), without allocating per comparison
+        studentIdColumn.setComparator(NaturalIdComparator.INSTANCE);
         // -------------------------------------------------------------
 
         // --- Initialize Lists and Filtering Logic ---
+        // No extractor: it would create all five properties of every row up front. Edits come back
+        // from the DAO as replacement rows, which the search index picks up like any other change.
         studentData = FXCollections.observableArrayList();
+        searchIndex = new StudentSearchIndex();
+        studentData.addListener(searchIndex); // Registered first so it is current before the FilteredList re-filters
+        studentPositions = new StudentPositions();
+        studentData.addListener(studentPositions);
         filteredData = new FilteredList<>(studentData, p -> true);
 
+        // In memory the index answers each keystroke directly; otherwise search goes through
+        // StudentDAO.search (full-text index) once typing pauses
+        searchResults = FXCollections.observableArrayList();
+        sortedSearchResults = new SortedList<>(searchResults);
+        followTableSortOrder(sortedSearchResults);
+        searchDebounce = new PauseTransition(Duration.millis(SEARCH_DEBOUNCE_MS));
+        searchDebounce.setOnFinished(event -> runSearch(searchField.getText()));
         searchField.textProperty().addListener((observable, oldValue, newValue) -> {
-            filteredData.setPredicate(student -> {
-                if (newValue == null || newValue.isEmpty() || newValue.isBlank()) {
-                    return true;
-                }
-                String lowerCaseFilter = newValue.toLowerCase();
-                // Perform null checks before accessing fields
-                return (student.getStudentId() != null && student.getStudentId().toLowerCase().contains(lowerCaseFilter)) ||
-                        (student.getFirstName() != null && student.getFirstName().toLowerCase().contains(lowerCaseFilter)) ||
-                        (student.getLastName() != null && student.getLastName().toLowerCase().contains(lowerCaseFilter)) ||
-                        (student.getEmail() != null && student.getEmail().toLowerCase().contains(lowerCaseFilter)) ||
-                        (student.getMajor() != null && student.getMajor().toLowerCase().contains(lowerCaseFilter));
-            });
+            if (usesInMemorySearch()) {
+                applyFilter(newValue);
+            } else if (newValue == null || newValue.isBlank()) {
+                searchDebounce.stop();
+                runSearch(null); // Clearing the field shows everything again right away
+            } else {
+                searchDebounce.playFromStart();
+            }
         });
 
         sortedData = new SortedList<>(filteredData);
-        sortedData.comparatorProperty().bind(studentTable.comparatorProperty());
+        followTableSortOrder(sortedData);
         studentTable.setItems(sortedData);
+        pagedData = new PagedStudentList(studentDAO, PAGE_SIZE, MAX_CACHED_PAGES,
+                DaoExecutor.get(), Platform::runLater);
+        taskRunner = new BackgroundTaskRunner(DaoExecutor.get(), progressBar, statusLabel, cancelButton);
+        // ----------------------------------------
+
+        // --- Changes from other instances ---
+        // Started before the first load, which then tells it the log position it read (followChanges)
+        if (WATCH_CHANGES) {
+            changeFeed = StudentChangeFeed.start();
+            changeFeed.addListener(changes -> Platform.runLater(() -> applyExternalChanges(changes)));
+        }
         // ----------------------------------------
 
         // --- Load initial data ---
-        loadStudentData();
+        // From the snapshot of the last run when there is one (see StudentSnapshotStore)
+        if (StudentSnapshotStore.ENABLED) {
+            loadFromSnapshot();
+            StudentSnapshotStore.startPeriodicSaves();
+        } else {
+            loadStudentData();
+        }
+        // ----------------------------------------
+
+        // --- Statistics panel ---
+        statisticsDAO = new StudentStatisticsDAO();
+        StudentDAO.addChangeListener(statisticsDAO);
+        statisticsDebounce = new PauseTransition(Duration.millis(STATISTICS_DEBOUNCE_MS));
+        statisticsDebounce.setOnFinished(event -> refreshStatistics());
+        statisticsDAO.addListener(() -> Platform.runLater(statisticsDebounce::playFromStart));
+        refreshStatistics();
         // ----------------------------------------
 
         // --- Selection Listener and Button States ---
@@ -148,7 +250,7 @@ public class MainViewController {
         addButton.setTooltip(new Tooltip("Add a new student record"));
         editButton.setTooltip(new Tooltip("Edit the selected student record"));
         deleteButton.setTooltip(new Tooltip("Delete the selected student record"));
-        searchField.setTooltip(new Tooltip("Filter students by ID, Name, Email, or Major"));
+        searchField.setTooltip(new Tooltip("Search students by ID, Name, Email, or Major"));
         // ----------------------------------------
     }
 
@@ -157,12 +259,233 @@ public class MainViewController {
      * Loads student data from the DAO into the master studentData list.
      * The table updates automatically because it's bound to the SortedList
      * which wraps the FilteredList which wraps studentData.
+     * Tables larger than IN_MEMORY_ROW_LIMIT are shown through the PagedStudentList instead.
+     * The queries run in the background; the lists are updated on the FX thread when they finish.
      */
     private void loadStudentData() {
-        // Fetch fresh data
-        ObservableList<Student> freshData = studentDAO.getAllStudents();
-        // Update the source list - this triggers updates in Filtered/Sorted lists
-        studentData.setAll(freshData);
+        // Only reads every row when the table is small enough to keep in memory
+        taskRunner.run("Loading students...", () -> studentDAO.loadTable(IN_MEMORY_ROW_LIMIT),
+                result -> {
+                    if (result.students() == null) {
+                        showPagedView();
+                        pagedData.reset(result.total());
+                    } else {
+                        showInMemoryView();
+                        // Update the source list - this triggers updates in Filtered/Sorted lists
+                        studentData.setAll(result.students());
+                    }
+                    refreshSearch();
+                    firstDataLoaded();
+                    followChanges(result.changeSeq());
+                },
+                error -> showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to load students: " + error.getMessage()));
+    }
+
+    /**
+     * Fills the table from the snapshot file, which needs no database, then checks it against the
+     * database in the background and applies what changed since like edits from another instance.
+     * Falls back to loadStudentData when there is no usable snapshot. Neither step can be cancelled:
+     * the table would be left empty, or showing the snapshot without ever catching up.
+     */
+    private void loadFromSnapshot() {
+        taskRunner.runUncancellable("Loading students...", StudentSnapshotStore::load,
+                snapshot -> {
+                    if (snapshot == null) {
+                        loadStudentData();
+                        return;
+                    }
+                    showInMemoryView();
+                    studentData.setAll(snapshot.getStudents());
+                    refreshSearch();
+                    firstDataLoaded();
+                    taskRunner.runUncancellable("Checking for changes...", () -> StudentSnapshotStore.reconcile(snapshot),
+                            reconciled -> {
+                                StudentChangeFeed.Changes changes = reconciled.changes();
+                                if (changes.reload()) {
+                                    loadStudentData(); // Whose own read tells the feed where to start
+                                    return;
+                                }
+                                if (!changes.changed().isEmpty() || !changes.deletedIds().isEmpty()) {
+                                    applyExternalChanges(changes);
+                                }
+                                followChanges(reconciled.changeSeq());
+                            },
+                            error -> loadStudentData());
+                },
+                error -> loadStudentData());
+    }
+
+    /**
+     * Records when the first load is laid out in the table (see StartupTimes), then parses the edit
+     * dialog in the background, now that it no longer competes with startup.
+     */
+    private void firstDataLoaded() {
+        if (firstDataShown) {
+            return;
+        }
+        firstDataShown = true;
+        Scene scene = studentTable.getScene();
+        Runnable shown = () -> {
+            StartupTimes.mark(StartupTimes.FIRST_DATA);
+            if (StartupTimes.exitAfterFirstData()) {
+                Platform.exit();
+                return;
+            }
+            preloadEditDialog();
+        };
+        if (scene == null) {
+            shown.run();
+            return;
+        }
+        scene.addPostLayoutPulseListener(new Runnable() {
+            private boolean done = false;
+
+            @Override
+            public void run() {
+                if (!done) {
+                    done = true;
+                    Platform.runLater(() -> scene.removePostLayoutPulseListener(this)); // Not during the pulse
+                    shown.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Lets the change feed report what was committed after the given log position, which the rows
+     * now in the view were read with. Only the first load's position counts (see StudentChangeFeed).
+     */
+    private void followChanges(long changeSeq) {
+        if (changeFeed != null) {
+            changeFeed.readFrom(changeSeq);
+        }
+    }
+
+    /**
+     * Switches the table to the page-cached list. Rows come in the database's display
+     * order (last name, first name, ID), so column sorting is off (search results can still be sorted).
+     */
+    private void showPagedView() {
+        if (pagedMode) {
+            return;
+        }
+        pagedMode = true;
+        studentData.clear(); // Don't keep a second copy of the data around
+        updateTableItems();
+    }
+
+    /**
+     * Switches the table back to the in-memory filtered and sorted list.
+     */
+    private void showInMemoryView() {
+        if (!pagedMode) {
+            return;
+        }
+        pagedMode = false;
+        pagedData.reset(0); // Release the cached pages
+        updateTableItems();
+    }
+
+    /**
+     * Points the table at the right list: search matches while a search is active,
+     * otherwise the paged or in-memory view of all students.
+     */
+    private void updateTableItems() {
+        ObservableList<Student> items = activeSearch != null ? sortedSearchResults
+                : pagedMode ? pagedData : sortedData;
+        if (studentTable.getItems() != items) {
+            studentTable.setItems(items);
+        }
+        boolean sortable = activeSearch != null || !pagedMode;
+        if (!sortable) {
+            studentTable.getSortOrder().clear();
+        }
+        for (TableColumn<Student, ?> column : studentTable.getColumns()) {
+            column.setSortable(sortable);
+        }
+    }
+
+    // --- Search ---
+    /**
+     * Runs a full-text search in the background and shows the matches (at most SEARCH_LIMIT).
+     * A blank query goes back to showing all students.
+     */
+    private void runSearch(String query) {
+        int sequence = ++searchSequence;
+        if (query == null || query.isBlank()) {
+            activeSearch = null;
+            searchResults.clear();
+            updateTableItems();
+            return;
+        }
+        String trimmed = query.trim();
+        activeSearch = trimmed;
+        taskRunner.run("Searching...", () -> studentDAO.search(trimmed, SEARCH_LIMIT),
+                matches -> {
+                    if (sequence != searchSequence) {
+                        return; // A newer search has started since
+                    }
+                    searchResults.setAll(matches);
+                    updateTableItems();
+                },
+                error -> showAlert(Alert.AlertType.ERROR, "Search Error", "Search failed: " + error.getMessage()));
+    }
+
+    /**
+     * Re-applies the search field so the results reflect a change to the data (or to the view mode):
+     * rebuilds the in-memory filter, or re-runs the full-text search.
+     */
+    private void refreshSearch() {
+        String text = searchField.getText();
+        if (usesInMemorySearch()) {
+            if (activeSearch != null) {
+                runSearch(null); // Back from paged mode: drop the full-text results
+            }
+            applyFilter(text);
+        } else if (activeSearch != null || (text != null && !text.isBlank())) {
+            runSearch(text);
+        }
+    }
+
+    /**
+     * Filters the in-memory list through the search index. The FilteredList, the sorted view and
+     * the table all update within the call, so the time recorded is what a keystroke costs.
+     */
+    private void applyFilter(String text) {
+        OperationMetrics.Sample sample = FILTER_METRICS.start();
+        try {
+            filteredData.setPredicate(searchIndex.predicateFor(text));
+        } finally {
+            sample.close();
+        }
+    }
+
+    /**
+     * Keeps a sorted view in the table's sort order, like binding its comparator to the table's
+     * (the table's default sort policy only checks that the two are equal), but times the re-sort
+     * of whichever view the table is showing.
+     */
+    private void followTableSortOrder(SortedList<Student> list) {
+        list.setComparator(studentTable.getComparator());
+        studentTable.comparatorProperty().addListener((observable, oldComparator, newComparator) -> {
+            if (studentTable.getItems() != list) {
+                list.setComparator(newComparator);
+                return;
+            }
+            OperationMetrics.Sample sample = SORT_METRICS.start();
+            try {
+                list.setComparator(newComparator);
+            } finally {
+                sample.close();
+            }
+        });
+    }
+
+    /**
+     * @return true when the search field filters the in-memory list through the trigram index.
+     */
+    private boolean usesInMemorySearch() {
+        return IN_MEMORY_SEARCH && !pagedMode;
     }
 
 
@@ -173,36 +496,215 @@ public class MainViewController {
         deleteButton.setDisable(!studentIsSelected);
     }
 
+    // --- handleRefresh ---
+    // Explicit full reload, e.g. to pick up changes made outside this window
+    @FXML
+    private void handleRefresh() {
+        loadStudentData();
+        statisticsDAO.invalidate(); // Recounted from the table, which also updates the panel
+    }
+
+    // --- Statistics ---
+    /**
+     * Shows the current statistics in the panel. They are read from the table only the first time
+     * (and after a refresh or a batch upsert); otherwise they come from memory.
+     */
+    private void refreshStatistics() {
+        int sequence = ++statisticsSequence;
+        DaoExecutor.supplyAsync(statisticsDAO::getStatistics).whenComplete((statistics, error) ->
+                Platform.runLater(() -> {
+                    if (sequence != statisticsSequence) {
+                        return; // A newer refresh has started since
+                    }
+                    if (error != null) {
+                        System.err.println("Error loading statistics: " + error.getMessage());
+                        return;
+                    }
+                    showStatistics(statistics);
+                }));
+    }
+
+    private void showStatistics(StudentStatistics statistics) {
+        totalStudentsLabel.setText(String.format("Students: %,d", statistics.totalStudents()));
+        missingFieldsLabel.setText(String.format("Missing email: %,d%nMissing major: %,d%nMissing name: %,d",
+                statistics.missingEmail(), statistics.missingMajor(), statistics.missingName()));
+
+        List<String> majors = new ArrayList<>(statistics.majors().size());
+        for (StudentStatistics.Count count : statistics.majors()) {
+            majors.add(String.format("%s: %,d", count.value(), count.count()));
+        }
+        majorCountsList.getItems().setAll(majors);
+
+        List<StudentStatistics.Count> domainCounts = statistics.emailDomains();
+        List<String> domains = new ArrayList<>(Math.min(domainCounts.size(), TOP_EMAIL_DOMAINS) + 1);
+        for (int i = 0; i < domainCounts.size() && i < TOP_EMAIL_DOMAINS; i++) {
+            domains.add(String.format("%s: %,d", domainCounts.get(i).value(), domainCounts.get(i).count()));
+        }
+        if (domainCounts.size() > TOP_EMAIL_DOMAINS) {
+            domains.add(String.format("(%,d more domains)", domainCounts.size() - TOP_EMAIL_DOMAINS));
+        }
+        emailDomainsList.getItems().setAll(domains);
+    }
+
+    // --- handleImport ---
+    // Streams a CSV/JSON file into the database in the background; the status bar shows progress
+    @FXML
+    private void handleImport() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Students");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV or JSON files", "*.csv", "*.json", "*.jsonl", "*.ndjson", "*.gz"),
+                new FileChooser.ExtensionFilter("All files", "*.*"));
+        File selected = chooser.showOpenDialog(studentTable.getScene().getWindow());
+        if (selected == null) {
+            return;
+        }
+
+        ButtonType addNewOnly = new ButtonType("Add New Only");
+        ButtonType addOrUpdate = new ButtonType("Add or Update");
+        Alert modeAlert = new Alert(Alert.AlertType.CONFIRMATION,
+                "Students whose ID already exists can be skipped (and listed in the reject file) or overwritten.",
+                addNewOnly, addOrUpdate, ButtonType.CANCEL);
+        modeAlert.setTitle("Import Students");
+        modeAlert.setHeaderText("How should existing students be handled?");
+        Optional<ButtonType> mode = modeAlert.showAndWait();
+        if (mode.isEmpty() || mode.get() == ButtonType.CANCEL) {
+            return;
+        }
+
+        Path file = selected.toPath();
+        Path rejectFile = file.resolveSibling(file.getFileName() + ".rejects.csv");
+        StudentImporter importer = new StudentImporter(studentDAO, mode.get() == addOrUpdate);
+        Task<ImportReport> task = new Task<>() {
+            @Override
+            protected ImportReport call() throws Exception {
+                updateMessage("Importing " + file.getFileName() + "...");
+                try {
+                    return importer.importFile(file, ImportFormat.fromFileName(file), rejectFile,
+                            (bytesRead, totalBytes, rowsRead) -> {
+                                updateProgress(bytesRead, totalBytes);
+                                updateMessage(String.format("Importing %s: %,d rows", file.getFileName(), rowsRead));
+                            });
+                } finally {
+                    if (isCancelled()) {
+                        // The batches committed before the cancel are in the table
+                        Platform.runLater(MainViewController.this::loadStudentData);
+                    }
+                }
+            }
+
+            @Override
+            protected void cancelled() {
+                importer.cancel();
+            }
+        };
+        taskRunner.run(task,
+                report -> {
+                    loadStudentData();
+                    showAlert(Alert.AlertType.INFORMATION, "Import", report.summary());
+                },
+                error -> {
+                    loadStudentData(); // Some batches may have been committed before the failure
+                    showAlert(Alert.AlertType.ERROR, "Import Error", "Import failed: " + error.getMessage());
+                });
+    }
+
+    // --- handleExport ---
+    // Writes the current view (as filtered and sorted) or the whole table to a file in the background
+    @FXML
+    private void handleExport() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Students");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV", "*.csv", "*.csv.gz"),
+                new FileChooser.ExtensionFilter("JSON Lines", "*.jsonl", "*.jsonl.gz"),
+                new FileChooser.ExtensionFilter("Columnar", "*.srsc", "*.srsc.gz"));
+        File selected = chooser.showSaveDialog(studentTable.getScene().getWindow());
+        if (selected == null) {
+            return;
+        }
+
+        // In paged mode without a search, the view already is the whole table in display order
+        boolean wholeTable = pagedMode && activeSearch == null;
+        if (!wholeTable) {
+            ButtonType currentView = new ButtonType("Current View");
+            ButtonType allStudents = new ButtonType("Whole Table");
+            Alert scopeAlert = new Alert(Alert.AlertType.CONFIRMATION,
+                    "Export the rows shown in the table (filtered and sorted), or every student in the database?",
+                    currentView, allStudents, ButtonType.CANCEL);
+            scopeAlert.setTitle("Export Students");
+            scopeAlert.setHeaderText("What should be exported?");
+            Optional<ButtonType> scope = scopeAlert.showAndWait();
+            if (scope.isEmpty() || scope.get() == ButtonType.CANCEL) {
+                return;
+            }
+            wholeTable = scope.get() == allStudents;
+        }
+
+        Path file = selected.toPath();
+        ExportFormat format = ExportFormat.fromFileName(file);
+        boolean gzip = StudentExporter.isGzip(file);
+        StudentExporter exporter = new StudentExporter(studentDAO);
+        boolean exportTable = wholeTable;
+        // Copy the visible rows now; the list may change while the export runs
+        List<Student> snapshot = exportTable ? null : new ArrayList<>(studentTable.getItems());
+        Task<Long> task = new Task<>() {
+            @Override
+            protected Long call() throws Exception {
+                updateMessage("Exporting to " + file.getFileName() + "...");
+                long total = exportTable ? studentDAO.countStudents() : snapshot.size();
+                LongConsumer progress = written -> {
+                    updateProgress(written, total);
+                    updateMessage(String.format("Exporting to %s: %,d rows", file.getFileName(), written));
+                };
+                return exportTable
+                        ? exporter.exportTable(file, format, gzip, progress)
+                        : exporter.exportRows(snapshot, file, format, gzip, progress);
+            }
+        };
+        taskRunner.run(task,
+                rows -> showAlert(Alert.AlertType.INFORMATION, "Export",
+                        String.format("Exported %,d students to %s", rows, file)),
+                error -> showAlert(Alert.AlertType.ERROR, "Export Error", "Export failed: " + error.getMessage()));
+    }
+
     // --- handleAddStudent ---
-    // Now just needs to call loadStudentData() after successful add
+    // Adds only the stored row to the master list; no full reload
     @FXML
     private void handleAddStudent() {
         Student tempStudent = new Student();
         boolean okClicked = showStudentEditDialog(tempStudent, "Add Student");
         if (okClicked) {
-            if (studentDAO.addStudent(tempStudent)) {
-                loadStudentData(); // Reload all data to update the master list
-                showAlert(Alert.AlertType.INFORMATION, "Success", "Student added successfully.");
-            } else {
-                showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add student. Student ID might already exist.");
-            }
+            runDaoWrite("Adding student...", () -> studentDAO.addStudentReturning(tempStudent), added -> {
+                if (added != null) {
+                    applyAdded(added);
+                    showAlert(Alert.AlertType.INFORMATION, "Success", "Student added successfully.");
+                } else {
+                    showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to add student. Student ID or email might already be in use.");
+                }
+            });
         }
     }
 
     // --- handleEditStudent ---
-    // Now just needs to call loadStudentData() after successful update
+    // Replaces only the edited row in the master list. The dialog edits a copy, so the row (and the
+    // search index) keeps the stored values until the update has gone through.
     @FXML
     private void handleEditStudent() {
         Student selectedStudent = studentTable.getSelectionModel().getSelectedItem();
         if (selectedStudent != null) {
-            boolean okClicked = showStudentEditDialog(selectedStudent, "Edit Student");
+            Student edited = new Student(selectedStudent.getStudentId(), selectedStudent.getFirstName(),
+                    selectedStudent.getLastName(), selectedStudent.getEmail(), selectedStudent.getMajor());
+            boolean okClicked = showStudentEditDialog(edited, "Edit Student");
             if (okClicked) {
-                if(studentDAO.updateStudent(selectedStudent)) {
-                    loadStudentData(); // Reload all data to update the master list
-                    showAlert(Alert.AlertType.INFORMATION, "Success", "Student updated successfully.");
-                } else {
-                    showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to update student.");
-                }
+                runDaoWrite("Updating student...", () -> studentDAO.updateStudentReturning(edited), updated -> {
+                    if (updated != null) {
+                        applyUpdated(selectedStudent, updated);
+                        showAlert(Alert.AlertType.INFORMATION, "Success", "Student updated successfully.");
+                    } else {
+                        showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to update student. The email might already be in use.");
+                    }
+                });
             }
         } else {
             showAlert(Alert.AlertType.WARNING, "No Selection", "Please select a student in the table to edit.");
@@ -210,7 +712,7 @@ public class MainViewController {
     }
 
     // --- handleDeleteStudent ---
-    // Now just needs to call loadStudentData() after successful delete
+    // Removes only the deleted row from the master list
     @FXML
     private void handleDeleteStudent() {
         Student selectedStudent = studentTable.getSelectionModel().getSelectedItem();
@@ -223,52 +725,220 @@ public class MainViewController {
 
             Optional<ButtonType> result = confirmationAlert.showAndWait();
             if (result.isPresent() && result.get() == ButtonType.OK) {
-                if (studentDAO.deleteStudent(selectedStudent.getStudentId())) {
-                    loadStudentData(); // Reload all data to update the master list
-                    showAlert(Alert.AlertType.INFORMATION, "Success", "Student deleted successfully.");
-                } else {
-                    showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to delete student.");
-                }
+                String studentId = selectedStudent.getStudentId();
+                runDaoWrite("Deleting student...", () -> studentDAO.deleteStudentReturning(studentId), deleted -> {
+                    if (deleted != null) {
+                        applyRemoved(selectedStudent);
+                        showAlert(Alert.AlertType.INFORMATION, "Success", "Student deleted successfully.");
+                    } else {
+                        showAlert(Alert.AlertType.ERROR, "Database Error", "Failed to delete student.");
+                    }
+                });
             }
         } else {
             showAlert(Alert.AlertType.WARNING, "No Selection", "Please select a student in the table to delete.");
         }
     }
 
-    // --- showStudentEditDialog (Same as before) ---
-    public boolean showStudentEditDialog(Student student, String title) {
-        try {
-            FXMLLoader loader = new FXMLLoader();
-            // Ensure this path is correct for your structure
-            loader.setLocation(Objects.requireNonNull(getClass().getResource("/com/example/studentrecordsystem/StudentEditDialog.fxml")));
-            AnchorPane page = loader.load();
+    // --- Incremental list updates ---
+    // A single add/edit/delete touches one element of the master list; the Filtered/Sorted
+    // lists only re-evaluate that element instead of rebuilding and re-sorting everything.
+    // In paged mode the page cache is dropped and the visible page is re-read.
 
-            Stage dialogStage = new Stage();
-            dialogStage.setTitle(title);
-            dialogStage.initModality(Modality.WINDOW_MODAL);
-            // dialogStage.initOwner(searchField.getScene().getWindow()); // Set owner if desired
-            Scene scene = new Scene(page);
-            dialogStage.setScene(scene);
+    private void applyAdded(Student added) {
+        if (pagedMode) {
+            pagedData.reset(pagedData.size() + 1);
+        } else {
+            studentData.add(added);
+            studentTable.getSelectionModel().select(added);
+        }
+        refreshSearch();
+    }
 
-            StudentEditDialogController controller = loader.getController();
-            controller.setDialogStage(dialogStage);
-            controller.setStudent(student);
+    private void applyUpdated(Student original, Student updated) {
+        if (pagedMode) {
+            pagedData.reset(pagedData.size());
+        } else {
+            int index = studentPositions.indexOf(original.getStudentId());
+            if (index >= 0) {
+                studentData.set(index, updated); // Replace in place
+                studentTable.getSelectionModel().select(updated);
+            } else {
+                studentData.add(updated);
+            }
+        }
+        refreshSearch();
+    }
 
-            dialogStage.showAndWait();
+    private void applyRemoved(Student removed) {
+        if (pagedMode) {
+            pagedData.reset(Math.max(0, pagedData.size() - 1));
+        } else {
+            int index = studentPositions.indexOf(removed.getStudentId());
+            if (index >= 0) {
+                studentData.remove(index);
+            }
+        }
+        refreshSearch();
+    }
 
-            return controller.isOkClicked();
-        } catch (IOException e) {
-            e.printStackTrace();
-            showAlert(Alert.AlertType.ERROR, "Error", "Could not load the edit dialog: " + e.getMessage());
+    /**
+     * Applies rows written by another program. In memory, each student concerned is found by ID:
+     * changed rows are replaced in place, new ones appended and deleted ones removed in one pass,
+     * so the filtered and sorted views only re-evaluate those rows. Rows that already hold the
+     * stored values (e.g. our own edits, when the feed couldn't tell them apart) are left alone.
+     * Paged mode just re-reads.
+     */
+    private void applyExternalChanges(StudentChangeFeed.Changes changes) {
+        if (changes.reload() || pagedMode) {
+            loadStudentData();
+            return;
+        }
+        Student selected = studentTable.getSelectionModel().getSelectedItem();
+        Student reselect = null;
+        List<Student> inserted = new ArrayList<>();
+        for (Student stored : changes.changed()) {
+            int index = studentPositions.indexOf(stored.getStudentId());
+            if (index < 0) {
+                inserted.add(stored); // Not in the list yet: inserted elsewhere
+                continue;
+            }
+            Student row = studentData.get(index);
+            if (!sameValues(row, stored)) {
+                studentData.set(index, stored);
+                if (row == selected) {
+                    reselect = stored;
+                }
+            }
+        }
+        Set<Student> deleted = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (String studentId : changes.deletedIds()) {
+            int index = studentPositions.indexOf(studentId);
+            if (index >= 0) {
+                deleted.add(studentData.get(index));
+            }
+        }
+        if (!deleted.isEmpty()) {
+            studentData.removeAll(deleted); // One pass, however many
+        }
+        studentData.addAll(inserted);
+        if (reselect != null) {
+            studentTable.getSelectionModel().select(reselect);
+        }
+        refreshSearch();
+    }
+
+    private static boolean sameValues(Student a, Student b) {
+        return Objects.equals(a.getFirstName(), b.getFirstName())
+                && Objects.equals(a.getLastName(), b.getLastName())
+                && Objects.equals(a.getEmail(), b.getEmail())
+                && Objects.equals(a.getMajor(), b.getMajor());
+    }
+
+    // --- showStudentEditDialog ---
+    // Reuses one dialog; only the first call creates its window (the layout is normally parsed already)
+    public boolean showStudentEditDialog(Student student, String title) {
+        try {
+            if (editDialogStage == null) {
+                preloadEditDialog(); // In case the first load hasn't finished yet
+                EditDialog dialog = editDialogLoad.join();
+
+                Stage dialogStage = new Stage();
+                dialogStage.initModality(Modality.WINDOW_MODAL);
+                // dialogStage.initOwner(searchField.getScene().getWindow()); // Set owner if desired
+                dialogStage.setScene(new Scene(dialog.page()));
+                dialog.controller().setDialogStage(dialogStage);
+                editDialogController = dialog.controller();
+                editDialogStage = dialogStage;
+            }
+            editDialogStage.setTitle(title);
+            editDialogController.setStudent(student);
+
+            editDialogStage.showAndWait();
+
+            return editDialogController.isOkClicked();
+        } catch (CompletionException e) {
+            editDialogLoad = null; // Parse again next time
+            Throwable cause = e.getCause() instanceof UncheckedIOException io ? io.getCause() : e.getCause();
+            if (cause instanceof NullPointerException) {
+                System.err.println("Error: Could not find StudentEditDialog.fxml file. Check the path.");
+                cause.printStackTrace();
+                showAlert(Alert.AlertType.ERROR, "Error", "Could not find the edit dialog layout file.");
+            } else {
+                cause.printStackTrace();
+                showAlert(Alert.AlertType.ERROR, "Error", "Could not load the edit dialog: " + cause.getMessage());
+            }
             return false;
-        } catch (NullPointerException e) {
-            System.err.println("Error: Could not find StudentEditDialog.fxml file. Check the path.");
+        }
+    }
+
+    /**
+     * Starts parsing StudentEditDialog.fxml on a background thread, unless it already has been.
+     * Nothing in it is shown until showStudentEditDialog puts it in a window on the FX thread.
+     */
+    private void preloadEditDialog() {
+        if (editDialogLoad == null) {
+            editDialogLoad = CompletableFuture.supplyAsync(MainViewController::loadEditDialog,
+                    runnable -> Thread.ofVirtual().name("edit-dialog-preload").start(runnable));
+        }
+    }
+
+    private static EditDialog loadEditDialog() {
+        FXMLLoader loader = new FXMLLoader();
+        // Ensure this path is correct for your structure
+        loader.setLocation(Objects.requireNonNull(
+                MainViewController.class.getResource("/com/example/studentrecordsystem/StudentEditDialog.fxml")));
+        try {
+            AnchorPane page = loader.load();
+            return new EditDialog(page, loader.getController());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // --- handleDiagnostics ---
+    // Opens the metrics window, or brings it to the front if it is already open
+    @FXML
+    private void handleDiagnostics() {
+        if (diagnosticsStage != null) {
+            diagnosticsStage.show();
+            diagnosticsStage.toFront();
+            return;
+        }
+        try {
+            FXMLLoader loader = new FXMLLoader();
+            loader.setLocation(Objects.requireNonNull(getClass().getResource("/com/example/studentrecordsystem/DiagnosticsView.fxml")));
+            BorderPane page = loader.load();
+
+            Stage stage = new Stage();
+            stage.setTitle("Diagnostics");
+            stage.setScene(new Scene(page));
+            DiagnosticsViewController controller = loader.getController();
+            controller.setStage(stage);
+            diagnosticsStage = stage;
+            stage.show();
+        } catch (IOException | NullPointerException e) {
             e.printStackTrace();
-            showAlert(Alert.AlertType.ERROR, "Error", "Could not find the edit dialog layout file.");
-            return false;
+            showAlert(Alert.AlertType.ERROR, "Error", "Could not load the diagnostics view: " + e.getMessage());
         }
     }
 
+    /**
+     * Runs a DAO call in the background and hands its result to {@code onDone} on the FX thread.
+     */
+    private <T> void runDaoCall(String description, Callable<T> call, Consumer<T> onDone) {
+        taskRunner.run(description, call, onDone,
+                error -> showAlert(Alert.AlertType.ERROR, "Database Error", description + " failed: " + error.getMessage()));
+    }
+
+    /**
+     * Like {@link #runDaoCall}, for a write: the status bar's Cancel button doesn't stop it.
+     */
+    private <T> void runDaoWrite(String description, Callable<T> call, Consumer<T> onDone) {
+        taskRunner.runUncancellable(description, call, onDone,
+                error -> showAlert(Alert.AlertType.ERROR, "Database Error", description + " failed: " + error.getMessage()));
+    }
+
     // --- showAlert (Same as before) ---
     private void showAlert(Alert.AlertType alertType, String title, String content) {
         Alert alert = new Alert(alertType);
@@ -0,0 +1,167 @@
+package com.example.studentrecordsystem.view;
+
+import java.util.Comparator;
+
+/**
+ * "Natural" ordering for student IDs, so S2 sorts before S10.
+ * <p>
+ * Same rules the ID column has always used:
+ * <ol>
+ *     <li>nulls first;</li>
+ *     <li>the non-digit characters of each ID, compared ignoring case;</li>
+ *     <li>then all digits of each ID read as one number (an ID with digits sorts after one without);</li>
+ *     <li>then the whole IDs, compared ignoring case.</li>
+ * </ol>
+ * The old comparator built those parts with {@code replaceAll} (four regex passes and four new
+ * strings per comparison). This one walks both strings in place and allocates nothing.
+ * Numbers are compared by their digits (ignoring leading zeros, then length, then digit by digit),
+ * so they can be any length. Numbers that fit in a long order exactly as before. Numbers longer
+ * than a long used to fall back to the whole-ID comparison; now they compare as numbers too.
+ */
+public final class NaturalIdComparator implements Comparator<String> {
+
+    public static final NaturalIdComparator INSTANCE = new NaturalIdComparator();
+
+    // firstSignificantDigit results
+    private static final int NO_DIGITS = -2;   // The string has no digits at all
+    private static final int ALL_ZEROS = -1;   // Only zeros: the number is 0
+
+    private NaturalIdComparator() {
+    }
+
+    @Override
+    public int compare(String s1, String s2) {
+        if (s1 == null && s2 == null) return 0;
+        if (s1 == null) return -1;
+        if (s2 == null) return 1;
+
+        // Compare non-numeric parts first (e.g., 'S' in 'S100')
+        int alphaCompare = compareNonDigitsIgnoreCase(s1, s2);
+        if (alphaCompare != 0) {
+            return alphaCompare;
+        }
+
+        // If non-numeric parts are the same, compare numeric parts
+        int firstSignificant1 = firstSignificantDigit(s1);
+        int firstSignificant2 = firstSignificantDigit(s2);
+        boolean hasDigits1 = firstSignificant1 != NO_DIGITS;
+        boolean hasDigits2 = firstSignificant2 != NO_DIGITS;
+        if (hasDigits1 && hasDigits2) {
+            int numberCompare = compareNumbers(s1, firstSignificant1, s2, firstSignificant2);
+            if (numberCompare != 0) {
+                return numberCompare;
+            }
+            // If numbers are also the same, fall through to full string compare
+        } else if (hasDigits1) {
+            return 1; // s1 has a number, s2 doesn't
+        } else if (hasDigits2) {
+            return -1;
+        }
+        return s1.compareToIgnoreCase(s2);
+    }
+
+    // --- Helpers ---
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Same result sign as {@code nonDigits(s1).compareToIgnoreCase(nonDigits(s2))}, without building the strings.
+     */
+    private static int compareNonDigitsIgnoreCase(String s1, String s2) {
+        int n1 = s1.length(), n2 = s2.length();
+        int i = 0, j = 0;
+        while (true) {
+            while (i < n1 && isDigit(s1.charAt(i))) i++;
+            while (j < n2 && isDigit(s2.charAt(j))) j++;
+            if (i == n1 || j == n2) {
+                break;
+            }
+            char c1 = s1.charAt(i++);
+            char c2 = s2.charAt(j++);
+            if (c1 != c2) {
+                // Same folding as String.compareToIgnoreCase
+                c1 = Character.toUpperCase(c1);
+                c2 = Character.toUpperCase(c2);
+                if (c1 != c2) {
+                    c1 = Character.toLowerCase(c1);
+                    c2 = Character.toLowerCase(c2);
+                    if (c1 != c2) {
+                        return c1 - c2;
+                    }
+                }
+            }
+        }
+        // One side ran out; the other is "longer" if it has any non-digits left
+        boolean more1 = hasNonDigit(s1, i);
+        boolean more2 = hasNonDigit(s2, j);
+        return more1 == more2 ? 0 : more1 ? 1 : -1;
+    }
+
+    private static boolean hasNonDigit(String s, int from) {
+        for (int i = from; i < s.length(); i++) {
+            if (!isDigit(s.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Index of the first non-zero digit, ALL_ZEROS if every digit is 0, or NO_DIGITS.
+     */
+    private static int firstSignificantDigit(String s) {
+        int result = NO_DIGITS;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (isDigit(c)) {
+                if (c != '0') {
+                    return i;
+                }
+                result = ALL_ZEROS;
+            }
+        }
+        return result;
+    }
+
+    private static int countDigits(String s, int from) {
+        int count = 0;
+        for (int i = from; i < s.length(); i++) {
+            if (isDigit(s.charAt(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Compares the numbers formed by all digits of each string, starting at their first non-zero digit.
+     */
+    private static int compareNumbers(String s1, int from1, String s2, int from2) {
+        if (from1 == ALL_ZEROS || from2 == ALL_ZEROS) {
+            return from1 == from2 ? 0 : from1 == ALL_ZEROS ? -1 : 1;
+        }
+        // More significant digits means a bigger number
+        int length1 = countDigits(s1, from1);
+        int length2 = countDigits(s2, from2);
+        if (length1 != length2) {
+            return length1 < length2 ? -1 : 1;
+        }
+        // Same length: the first differing digit decides
+        int i = from1, j = from2;
+        int n1 = s1.length(), n2 = s2.length();
+        while (true) {
+            while (i < n1 && !isDigit(s1.charAt(i))) i++;
+            while (j < n2 && !isDigit(s2.charAt(j))) j++;
+            if (i == n1 || j == n2) {
+                return 0;
+            }
+            char d1 = s1.charAt(i++);
+            char d2 = s2.charAt(j++);
+            if (d1 != d2) {
+                return d1 < d2 ? -1 : 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.studentrecordsystem.view;
+
+import com.example.studentrecordsystem.dao.StudentDAO;
+import com.example.studentrecordsystem.dao.StudentPageKey;
+import com.example.studentrecordsystem.model.Student;
+import javafx.collections.ObservableListBase;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+/**
+ * A read-only ObservableList over the whole students table that only keeps a few pages in memory.
+ * <p>
+ * The TableView only asks for the rows it is about to draw, so {@link #get(int)} loads the
+ * page containing that row from the DAO (keyset pagination in display order) and keeps it in
+ * a small LRU page cache. The full dataset is never held in memory: only the cached pages and
+ * one key per visited page boundary.
+ * <p>
+ * Pages are fetched on the background executor. Until a page arrives its rows read as
+ * {@code null} (an empty table row); when it lands, the rows are replaced and the table redraws.
+ * All list methods must be called on the FX thread.
+ */
+public class PagedStudentList extends ObservableListBase<Student> {
+
+    private final StudentDAO studentDAO;
+    private final int pageSize;
+    private final int maxCachedPages;
+    private final Executor backgroundExecutor;
+    private final Executor fxExecutor;
+
+    private int size = 0;
+    // page number -> key of the last row before that page (page 0 starts at the beginning of the table)
+    private final TreeMap<Integer, StudentPageKey> pageStartKeys = new TreeMap<>();
+    // Access-ordered so the least recently viewed page is dropped first
+    private final LinkedHashMap<Integer, List<Student>> pages;
+    // Pages currently being fetched, so scrolling doesn't request the same page twice
+    private final Set<Integer> loading = new HashSet<>();
+    // Bumped on every reset so pages fetched for old data are thrown away
+    private int generation = 0;
+
+    /**
+     * @param backgroundExecutor Runs the DAO queries (e.g. the DAO executor).
+     * @param fxExecutor Delivers fetched pages back to the FX thread (e.g. Platform::runLater).
+     */
+    public PagedStudentList(StudentDAO studentDAO, int pageSize, int maxCachedPages,
+                            Executor backgroundExecutor, Executor fxExecutor) {
+        this.studentDAO = studentDAO;
+        this.backgroundExecutor = backgroundExecutor;
+        this.fxExecutor = fxExecutor;
+        this.pageSize = Math.max(1, pageSize);
+        this.maxCachedPages = Math.max(1, maxCachedPages);
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Student>> eldest) {
+                return size() > PagedStudentList.this.maxCachedPages;
+            }
+        };
+    }
+
+    @Override
+    public Student get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        int page = index / pageSize;
+        List<Student> rows = pages.get(page);
+        if (rows == null) {
+            requestPage(page);
+            return null; // Placeholder until the page arrives
+        }
+        int offset = index % pageSize;
+        // The table may have shrunk since it was counted; show an empty row until the next refresh
+        return offset < rows.size() ? rows.get(offset) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Drops every cached page and tells listeners the list now has {@code newSize} rows.
+     */
+    public void reset(int newSize) {
+        int oldSize = size;
+        generation++;
+        pages.clear();
+        pageStartKeys.clear();
+        loading.clear();
+        size = Math.max(0, newSize);
+
+        beginChange();
+        if (oldSize > 0) {
+            // Listeners only need the count of removed rows; no need to materialize them
+            nextRemove(0, Collections.nCopies(oldSize, (Student) null));
+        }
+        if (size > 0) {
+            nextAdd(0, size);
+        }
+        endChange();
+    }
+
+    /**
+     * @return How many pages are currently held in memory.
+     */
+    public int getCachedPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * Starts fetching a page in the background unless it is already on its way.
+     * The starting point is worked out here from what is already known; only the
+     * queries run on the background executor.
+     */
+    private void requestPage(int page) {
+        if (!loading.add(page)) {
+            return;
+        }
+        int requestGeneration = generation;
+
+        // Where to start: the known key just before the page, or the nearest known boundary to jump from
+        StudentPageKey knownStart = page == 0 ? null : pageStartKeys.get(page);
+        List<Student> previous = pages.get(page - 1);
+        if (knownStart == null && previous != null && previous.size() == pageSize) {
+            knownStart = StudentPageKey.of(previous.get(previous.size() - 1));
+        }
+        boolean startKnown = page == 0 || knownStart != null;
+        Map.Entry<Integer, StudentPageKey> floor = startKnown ? null : pageStartKeys.floorEntry(page);
+        int fromPage = floor == null ? 0 : floor.getKey();
+        StudentPageKey fromKey = floor == null ? null : floor.getValue();
+        StudentPageKey start = knownStart;
+
+        backgroundExecutor.execute(() -> {
+            StudentPageKey after = startKnown
+                    ? start
+                    : studentDAO.getPageBoundary(fromKey, (page - fromPage) * pageSize);
+            List<Student> rows = (page > 0 && after == null)
+                    ? Collections.emptyList() // Past the end of the table
+                    : studentDAO.getStudentsPage(after, pageSize);
+            fxExecutor.execute(() -> pageLoaded(requestGeneration, page, after, rows));
+        });
+    }
+
+    /**
+     * Stores a fetched page (on the FX thread) and tells the table its rows changed.
+     */
+    private void pageLoaded(int requestGeneration, int page, StudentPageKey after, List<Student> rows) {
+        if (requestGeneration != generation) {
+            return; // The list was reset while this page was loading
+        }
+        loading.remove(page);
+        pages.put(page, rows);
+        if (page > 0 && after != null) {
+            pageStartKeys.put(page, after);
+        }
+        if (rows.size() == pageSize) {
+            // The next page starts right after our last row; remember it so scrolling down is a single query
+            pageStartKeys.put(page + 1, StudentPageKey.of(rows.get(rows.size() - 1)));
+        }
+
+        int from = page * pageSize;
+        int to = Math.min(size, from + pageSize);
+        if (from < to) {
+            beginChange();
+            // The rows read as null placeholders until now
+            nextReplace(from, to, Collections.nCopies(to - from, (Student) null));
+            endChange();
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.example.studentrecordsystem.view;
 
 import com.example.studentrecordsystem.model.Student;
+import com.example.studentrecordsystem.model.StudentValidator;
+import com.example.studentrecordsystem.model.ValidationResult;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 
+
 public class StudentEditDialogController {
 
     @FXML
@@ -45,11 +48,13 @@ public class StudentEditDialogController {
 
     /**
      * Sets the student to be edited in the dialog.
+     * The dialog is reused, so this also clears what the previous add or edit left behind.
      *
      * @param student
      */
     public void setStudent(Student student) {
         this.student = student;
+        okClicked = false;
 
         if (student.getStudentId() != null && !student.getStudentId().isEmpty()) {
             // If student has an ID, we are likely in Edit mode
@@ -64,6 +69,11 @@ public class StudentEditDialogController {
             // Add mode
             isEditMode = false;
             studentIdField.setEditable(true);
+            studentIdField.clear();
+            firstNameField.clear();
+            lastNameField.clear();
+            emailField.clear();
+            majorField.clear();
         }
     }
 
@@ -108,59 +118,15 @@ public class StudentEditDialogController {
      * @return true if the input is valid
      */
     private boolean isInputValid() {
-        String errorMessage = "";
-
-        // Define validation patterns
-        String namePattern = "^[a-zA-Z\\s'-]+$"; // Allows letters (upper/lower), spaces, apostrophe, hyphen
-        // Basic email pattern - allows most common formats but not fully RFC compliant
-        String emailPattern = "^[\\w!#$%&'*+/=?`{|}~^-]+(?:\\.[\\w!#$%&'*+/=?`{|}~^-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,6}$";
-        // Simple ID pattern - allows letters and numbers, at least one character
-        String idPattern = "^[a-zA-Z0-9]+$";
-        // Simple major pattern - avoid only numbers/dots, allow most other things (adjust if needed)
-        String majorAvoidOnlyNumbersPattern = "^(?!^\\d*\\.?\\d*$).*$"; // Asserts string is not just digits/dot
-
-
-        // 1. Student ID Validation (Not Empty + Pattern if adding)
-        String studentId = studentIdField.getText();
-        if (studentId == null || studentId.trim().isEmpty()) {
-            errorMessage += "Student ID cannot be empty!\n";
-        } else if (studentIdField.isEditable() && !studentId.trim().matches(idPattern)) {
-            // Only check pattern in Add mode (when field is editable)
-            errorMessage += "Student ID must contain only letters and numbers!\n";
-        }
-
-        // 2. First Name Validation (Not Empty + Pattern)
-        String firstName = firstNameField.getText();
-        if (firstName == null || firstName.trim().isEmpty()) {
-            errorMessage += "First name cannot be empty!\n";
-        } else if (!firstName.trim().matches(namePattern)) {
-            errorMessage += "First name contains invalid characters (use only letters, spaces, ', -).\n";
-        }
-
-        // 3. Last Name Validation (Not Empty + Pattern)
-        String lastName = lastNameField.getText();
-        if (lastName == null || lastName.trim().isEmpty()) {
-            errorMessage += "Last name cannot be empty!\n";
-        } else if (!lastName.trim().matches(namePattern)) {
-            errorMessage += "Last name contains invalid characters (use only letters, spaces, ', -).\n";
-        }
-
-        // 4. Email Validation (Optional Field + Pattern Check if not empty)
-        String email = emailField.getText();
-        if (email != null && !email.trim().isEmpty() && !email.trim().matches(emailPattern)) {
-            errorMessage += "Invalid email address format!\n";
-        }
-
-        // 5. Major Validation (Optional Field + Pattern Check if not empty)
-        String major = majorField.getText();
-        if (major != null && !major.trim().isEmpty() && !major.trim().matches(majorAvoidOnlyNumbersPattern)) {
-            errorMessage += "Major cannot consist only of numbers or be empty if typed.\n";
-            // Or add a more specific pattern if required, e.g., like namePattern:
-            // if (major != null && !major.trim().isEmpty() && !major.trim().matches(namePattern)) {
-            //     errorMessage += "Major contains invalid characters!\n";
-            // }
-        }
-
+        // Same rules the bulk import applies (see StudentValidator)
+        ValidationResult result = StudentValidator.validate(
+                studentIdField.getText(),
+                firstNameField.getText(),
+                lastNameField.getText(),
+                emailField.getText(),
+                majorField.getText(),
+                studentIdField.isEditable()); // Only check the ID pattern in Add mode (when field is editable)
+        String errorMessage = result.isValid() ? "" : result.getMessage("\n") + "\n";
 
         // --- Check if any errors were found ---
         if (errorMessage.isEmpty()) {
@@ -0,0 +1,52 @@
+package com.example.studentrecordsystem.view;
+
+import com.example.studentrecordsystem.model.Student;
+import javafx.collections.ListChangeListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The position of every student in a list, by student ID, so a change to a few students finds
+ * their rows without scanning the list.
+ * <p>
+ * Register it as a listener on the list and it stays up to date: a replaced or appended row costs
+ * one map update, and only a change that moves rows (a removal, an insert before the end, a
+ * permutation) renumbers the rows after it, as the list itself shifts them anyway. Student IDs are
+ * assumed unique within the list. Not thread-safe; use it from the FX thread like the list.
+ */
+final class StudentPositions implements ListChangeListener<Student> {
+
+    private final Map<String, Integer> positions = new HashMap<>();
+
+    /**
+     * @return The index of the student with this ID, or -1 if the list has none.
+     */
+    int indexOf(String studentId) {
+        Integer index = positions.get(studentId);
+        return index == null ? -1 : index;
+    }
+
+    @Override
+    public void onChanged(Change<? extends Student> change) {
+        List<? extends Student> list = change.getList();
+        int renumberFrom = Integer.MAX_VALUE;
+        while (change.next()) {
+            if (change.wasPermutated() || change.getRemovedSize() != change.getAddedSize()) {
+                renumberFrom = Math.min(renumberFrom, change.getFrom()); // Rows after this one moved
+            }
+            for (Student removed : change.getRemoved()) {
+                positions.remove(removed.getStudentId());
+            }
+            if (change.wasAdded()) {
+                for (int i = change.getFrom(); i < change.getTo(); i++) {
+                    positions.put(list.get(i).getStudentId(), i);
+                }
+            }
+        }
+        for (int i = renumberFrom; i < list.size(); i++) {
+            positions.put(list.get(i).getStudentId(), i);
+        }
+    }
+}
@@ -2,10 +2,16 @@ module com.example.studentrecordsystem {
     requires javafx.controls;
     requires javafx.fxml;
     requires java.sql;
+    requires org.xerial.sqlitejdbc; // Transaction mode (DatabaseUtil.beginImmediate)
+    requires java.management;
+    requires jdk.jfr;
+    requires jdk.httpserver;
 
     opens com.example.studentrecordsystem to javafx.fxml;
     opens com.example.studentrecordsystem.view to javafx.fxml;
     opens com.example.studentrecordsystem.model to javafx.base;
 
     exports com.example.studentrecordsystem;
+    // MXBean interfaces are read reflectively by the platform MBean server
+    exports com.example.studentrecordsystem.metrics;
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.example.studentrecordsystem.dao;
+
+import com.example.studentrecordsystem.util.DatabaseUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Every DAO query must be served by an index on a freshly migrated database (see QueryPlanCheck).
+ */
+class QueryPlanCheckTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void everyQueryUsesAnIndex() throws SQLException {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dir.resolve("plans.db"))) {
+            DatabaseUtil.createSchema(conn);
+            assertEquals(List.of(), QueryPlanCheck.check(conn));
+        }
+    }
+}
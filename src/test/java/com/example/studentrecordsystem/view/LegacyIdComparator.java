@@ -0,0 +1,52 @@
+package com.example.studentrecordsystem.view;
+
+import java.util.Comparator;
+
+/**
+ * The ID column's comparator before NaturalIdComparator, unchanged: strips the digits and the
+ * non-digits out of each ID with regular expressions on every comparison.
+ * <p>
+ * Kept as the reference NaturalIdComparatorTest checks against and the baseline
+ * IdComparatorBenchmark measures, which gets it from this module's test jar.
+ */
+public final class LegacyIdComparator implements Comparator<String> {
+
+    public static final LegacyIdComparator INSTANCE = new LegacyIdComparator();
+
+    private LegacyIdComparator() {
+    }
+
+    @Override
+    public int compare(String s1, String s2) {
+        if (s1 == null && s2 == null) return 0;
+        if (s1 == null) return -1;
+        if (s2 == null) return 1;
+
+        String numStr1 = s1.replaceAll("[^0-9]", "");
+        String numStr2 = s2.replaceAll("[^0-9]", "");
+        String alphaStr1 = s1.replaceAll("[0-9]", "");
+        String alphaStr2 = s2.replaceAll("[0-9]", "");
+
+        int alphaCompare = alphaStr1.compareToIgnoreCase(alphaStr2);
+        if (alphaCompare != 0) {
+            return alphaCompare;
+        }
+
+        if (!numStr1.isEmpty() && !numStr2.isEmpty()) {
+            try {
+                long num1 = Long.parseLong(numStr1);
+                long num2 = Long.parseLong(numStr2);
+                if (num1 != num2) {
+                    return Long.compare(num1, num2);
+                }
+            } catch (NumberFormatException e) {
+                // Fall back to the whole strings
+            }
+        } else if (!numStr1.isEmpty()) {
+            return 1;
+        } else if (!numStr2.isEmpty()) {
+            return -1;
+        }
+        return s1.compareToIgnoreCase(s2);
+    }
+}
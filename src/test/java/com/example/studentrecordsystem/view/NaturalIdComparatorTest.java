@@ -0,0 +1,174 @@
+package com.example.studentrecordsystem.view;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks NaturalIdComparator against the regex-based comparator the ID column used before it
+ * ({@link LegacyIdComparator}), on random IDs, and pins down where the two deliberately differ
+ * (digit runs too long for a long).
+ */
+class NaturalIdComparatorTest {
+
+    private static final NaturalIdComparator NATURAL = NaturalIdComparator.INSTANCE;
+    // Characters IDs are drawn from: digits, both cases, punctuation and a few non-ASCII letters
+    private static final String ALPHABET = "0123456789000111999SsTtAaZz-_ ./#éÉßİı";
+    private static final int PAIRS = 200_000;
+
+    private static final Comparator<String> BASELINE = LegacyIdComparator.INSTANCE;
+
+    @Test
+    void matchesBaselineOnRandomIds() {
+        Random random = new Random(20_240_601L);
+        for (int n = 0; n < PAIRS; n++) {
+            String a = randomId(random);
+            // Half the pairs share most of their shape, so the numeric and tie-break steps get exercised
+            String b = random.nextBoolean() ? randomId(random) : mutate(a, random);
+            assertEquals(Integer.signum(BASELINE.compare(a, b)), Integer.signum(NATURAL.compare(a, b)),
+                    () -> "compare(\"" + a + "\", \"" + b + "\")");
+        }
+    }
+
+    @Test
+    void matchesBaselineOnTypicalIds() {
+        String[] ids = {null, "", "S", "s", "S1", "s1", "S01", "S001", "S2", "S10", "S100", "S0", "S00",
+                "A9", "B1", "1", "01", "10", "S-1", "S 1", "S1a", "S1A", "1S", "S1S2", "S12"};
+        for (String a : ids) {
+            for (String b : ids) {
+                assertEquals(Integer.signum(BASELINE.compare(a, b)), Integer.signum(NATURAL.compare(a, b)),
+                        () -> "compare(\"" + a + "\", \"" + b + "\")");
+            }
+        }
+    }
+
+    @Test
+    void ordersNumbersNaturally() {
+        assertTrue(NATURAL.compare("S2", "S10") < 0);
+        assertTrue(NATURAL.compare("S10", "S100") < 0);
+        assertTrue(NATURAL.compare("S", "S1") < 0);
+        assertTrue(NATURAL.compare(null, "S1") < 0);
+        assertEquals(0, NATURAL.compare("S1", "S1"));
+        assertEquals(0, NATURAL.compare("s1", "S1"));
+    }
+
+    // --- Documented divergence: digit runs longer than a long ---
+
+    @Test
+    void comparesOverLongNumbersNumerically() {
+        String nineteenNines = "S" + "9".repeat(19);  // Over Long.MAX_VALUE: the baseline can't parse it
+        String twentyDigits = "S1" + "0".repeat(19);
+        assertTrue(NATURAL.compare(nineteenNines, twentyDigits) < 0);
+        // The baseline falls back to the whole strings, where "S9..." sorts after "S1..."
+        assertTrue(BASELINE.compare(nineteenNines, twentyDigits) > 0);
+
+        String a = "S" + "1".repeat(30) + "2";
+        String b = "S" + "1".repeat(30) + "3";
+        assertTrue(NATURAL.compare(a, b) < 0);
+        assertTrue(NATURAL.compare(b, a) > 0);
+        // Leading zeros don't make a number longer
+        assertTrue(NATURAL.compare("S" + "0".repeat(40) + "5", "S6") < 0);
+        assertTrue(BASELINE.compare("S" + "0".repeat(40) + "5", "S6") < 0);
+    }
+
+    @Test
+    void overLongNumbersCompareLikeBigIntegers() {
+        Random random = new Random(7L);
+        for (int n = 0; n < 20_000; n++) {
+            String digits1 = randomDigits(random, 15 + random.nextInt(30));
+            String digits2 = random.nextBoolean() ? randomDigits(random, 15 + random.nextInt(30)) : tweak(digits1, random);
+            int expected = new BigInteger(digits1).compareTo(new BigInteger(digits2));
+            String a = "S" + digits1;
+            String b = "S" + digits2;
+            int actual = NATURAL.compare(a, b);
+            if (expected != 0) {
+                assertEquals(Integer.signum(expected), Integer.signum(actual), () -> "compare(" + a + ", " + b + ")");
+            } else {
+                // Same number: the whole IDs decide, e.g. different leading zeros
+                assertEquals(Integer.signum(a.compareToIgnoreCase(b)), Integer.signum(actual));
+            }
+        }
+    }
+
+    @Test
+    void isAConsistentOrderIncludingOverLongNumbers() {
+        Random random = new Random(11L);
+        List<String> ids = new ArrayList<>();
+        for (int n = 0; n < 2_000; n++) {
+            ids.add(random.nextInt(4) == 0 ? "S" + randomDigits(random, 18 + random.nextInt(10)) : randomId(random));
+        }
+        ids.sort(NATURAL); // TimSort reports some contract violations itself
+        for (int i = 0; i + 1 < ids.size(); i++) {
+            assertTrue(NATURAL.compare(ids.get(i), ids.get(i + 1)) <= 0);
+        }
+        for (int n = 0; n < 50_000; n++) {
+            String a = ids.get(random.nextInt(ids.size()));
+            String b = ids.get(random.nextInt(ids.size()));
+            assertEquals(Integer.signum(NATURAL.compare(a, b)), -Integer.signum(NATURAL.compare(b, a)));
+        }
+    }
+
+    // --- Generators ---
+
+    // Up to 12 characters, so the digits of an ID always fit in a long (where both comparators agree)
+    private static String randomId(Random random) {
+        int length = random.nextInt(13);
+        StringBuilder id = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            id.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return id.toString();
+    }
+
+    // Changes, inserts or removes one character, or changes the case of the whole ID
+    private static String mutate(String id, Random random) {
+        StringBuilder copy = new StringBuilder(id);
+        int position = copy.isEmpty() ? 0 : random.nextInt(copy.length());
+        switch (random.nextInt(4)) {
+            case 0 -> {
+                if (!copy.isEmpty()) {
+                    copy.setCharAt(position, ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                }
+            }
+            case 1 -> {
+                if (copy.length() < 12) {
+                    copy.insert(position, ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                }
+            }
+            case 2 -> {
+                if (!copy.isEmpty()) {
+                    copy.deleteCharAt(position);
+                }
+            }
+            default -> {
+                return random.nextBoolean() ? id.toUpperCase() : id.toLowerCase();
+            }
+        }
+        return copy.toString();
+    }
+
+    private static String randomDigits(Random random, int length) {
+        StringBuilder digits = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            digits.append((char) ('0' + random.nextInt(10)));
+        }
+        return digits.toString();
+    }
+
+    // Same length, one digit changed, or a leading zero added
+    private static String tweak(String digits, Random random) {
+        if (random.nextInt(4) == 0) {
+            return "0" + digits;
+        }
+        StringBuilder copy = new StringBuilder(digits);
+        copy.setCharAt(random.nextInt(copy.length()), (char) ('0' + random.nextInt(10)));
+        return copy.toString();
+    }
+}